@@ -2,6 +2,9 @@ package study.studygroup.account;
 
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Controller;
@@ -12,6 +15,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import study.studygroup.domain.Account;
 
@@ -19,11 +23,14 @@ import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.validation.Valid;
 import java.time.LocalDateTime;
+import java.util.Base64;
 
 @Controller
 @RequiredArgsConstructor
 public class AccountController {
 
+    private static final String PROFILE_IMAGE_CACHE_CONTROL = "private, max-age=31536000, immutable";
+
     private final SignUpFormValidator signUpFormValidator;
     private final AccountService accountService;
     private final AccountRepository accountRepository;
@@ -52,35 +59,28 @@ public class AccountController {
     }
 
     @GetMapping("/check-email-token")
-    public String checkEmailToken(String token, String email, Model model) {
-        Account account = accountRepository.findByEmail(email);
+    public String checkEmailToken(String token, Model model) {
+        Account account = accountService.completeSignUp(token);
         String view = "account/checked-email";
         if (account == null) {
-            model.addAttribute("error", "wrong.email");
-            return view;
-        }
-
-        if (!account.isValidToken(token)) {
             model.addAttribute("error", "wrong.token");
             return view;
         }
 
-        accountService.completeSignUp(account);
-
         model.addAttribute("numberOfUser", accountRepository.count());
         model.addAttribute("nickname", account.getNickname());
         return view;
     }
 
     @GetMapping("/check-email")
-    public String checkEmail(@CurrentUser Account account, Model model) {
+    public String checkEmail(@CurrentUserSnapshot AccountSnapshot account, Model model) {
         model.addAttribute("email", account.getEmail());
         return "account/check-email";
     }
 
     @GetMapping("/resend-confirm-email")
     public String resendConfirmEmail(@CurrentUser Account account, Model model) {
-        if (!account.canSendConfirmEmail()) {
+        if (!accountService.canSendConfirmEmail(account)) {
             model.addAttribute("error", "인증 이메일은 1시간에 한번만 전송 할 수 있습니다.");
             model.addAttribute("email", account.getEmail());
             return "account/check-email";
@@ -92,16 +92,36 @@ public class AccountController {
     }
 
     @GetMapping("/profile/{username}")
-    public String profile(@CurrentUser Account account, @PathVariable("username") String username, Model model) {
+    public String profile(@CurrentUserSnapshot AccountSnapshot account, @PathVariable("username") String username, Model model) {
         Account findAccount = accountRepository.findByNickname(username);
         if (findAccount == null) {
             throw new IllegalArgumentException(username + "에 해당하는 사용자가 없습니다.");
         }  
         model.addAttribute("account", findAccount);
-        model.addAttribute("isOwner", account.equals(findAccount));
+        model.addAttribute("isOwner", account != null && account.isSameAccount(findAccount));
         return "account/profile";
     }
 
+    /**
+     * 내비게이션 바의 프로필 이미지. 저장된 data URL 을 풀어서 이미지로 내려준다.
+     * 주소에 붙은 버전이 지금 이미지와 같으면 내용이 바뀌지 않으므로 1년 immutable 로 캐시하게 한다.
+     */
+    @GetMapping("/profile-image/{id}")
+    public ResponseEntity<byte[]> profileImage(@PathVariable Long id, @RequestParam(value = "v", required = false) String version) {
+        String profileImage = accountRepository.findProfileImageById(id);
+        String currentVersion = AccountSnapshot.profileImageVersion(profileImage);
+        int comma = currentVersion != null ? profileImage.indexOf(',') : -1;
+        if (comma < 0 || !profileImage.startsWith("data:") || !profileImage.substring(0, comma).endsWith(";base64")) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String contentType = profileImage.substring("data:".length(), comma - ";base64".length());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, currentVersion.equals(version) ? PROFILE_IMAGE_CACHE_CONTROL : "no-cache")
+                .contentType(MediaType.parseMediaType(contentType))
+                .body(Base64.getDecoder().decode(profileImage.substring(comma + 1)));
+    }
+
     @GetMapping("/email-login")
     public String emailLoginForm(Model model) {
 //        model.addAttribute(new EmailLoginForm());
@@ -116,7 +136,7 @@ public class AccountController {
             return "account/email-login";
         }
 
-        if (!account.canSendConfirmEmail()) {
+        if (!accountService.canSendLoginLink(account)) {
             model.addAttribute("error", "이메일 로그인은 1시간 뒤에 사용 할 수 있습니다.");
 //            return "account/email-login";
         }
@@ -128,14 +148,10 @@ public class AccountController {
 
     @GetMapping("/login-by-email")
     public String loginByEmail(String token, String email, Model model) {
-        Account account = accountRepository.findByEmail(email);
         String view = "account/logged-in-by-email";
-        if (account == null || !account.isValidToken(token)) {
+        if (!accountService.loginByEmail(token, email)) {
             model.addAttribute("error", "로그인 할 수 없습니다.");
-            return view;
         }
-
-        accountService.login(account);
         return view;
     }
 
@@ -0,0 +1,134 @@
+package study.studygroup.account;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 태그와 지역별로 관심을 등록한 계정 id 를 압축 비트맵으로 들고 있는 역색인.
+ * 스터디를 공개할 때 알림 받을 계정은 조인 대신 비트맵 합집합/교집합으로 구한다.
+ */
+public class AccountInterestIndex {
+
+    private final Map<Long, RoaringBitmap> accountsByTag = new HashMap<>();
+    private final Map<Long, RoaringBitmap> accountsByZone = new HashMap<>();
+    private final Map<Integer, Interests> interests = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Long accountId, Set<Long> tagIds, Set<Long> zoneIds) {
+        lock.writeLock().lock();
+        try {
+            int key = toKey(accountId);
+            removeInternal(key);
+            addInternal(key, new Interests(tagIds, zoneIds));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replaceAll(Map<Long, Set<Long>> tagIdsByAccount, Map<Long, Set<Long>> zoneIdsByAccount) {
+        lock.writeLock().lock();
+        try {
+            accountsByTag.clear();
+            accountsByZone.clear();
+            interests.clear();
+            tagIdsByAccount.forEach((accountId, tagIds) ->
+                    addInternal(toKey(accountId), new Interests(tagIds, zoneIdsByAccount.getOrDefault(accountId, Set.of()))));
+            zoneIdsByAccount.forEach((accountId, zoneIds) -> {
+                if (!tagIdsByAccount.containsKey(accountId)) {
+                    addInternal(toKey(accountId), new Interests(Set.of(), zoneIds));
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long accountId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(toKey(accountId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addInternal(int key, Interests added) {
+        if (added.tagIds.isEmpty() && added.zoneIds.isEmpty()) {
+            return;
+        }
+        interests.put(key, added);
+        added.tagIds.forEach(tagId -> accountsByTag.computeIfAbsent(tagId, t -> new RoaringBitmap()).add(key));
+        added.zoneIds.forEach(zoneId -> accountsByZone.computeIfAbsent(zoneId, z -> new RoaringBitmap()).add(key));
+    }
+
+    private void removeInternal(int key) {
+        Interests previous = interests.remove(key);
+        if (previous == null) {
+            return;
+        }
+        previous.tagIds.forEach(tagId -> removeFrom(accountsByTag, tagId, key));
+        previous.zoneIds.forEach(zoneId -> removeFrom(accountsByZone, zoneId, key));
+    }
+
+    private void removeFrom(Map<Long, RoaringBitmap> bitmaps, Long facet, int key) {
+        RoaringBitmap bitmap = bitmaps.get(facet);
+        if (bitmap != null) {
+            bitmap.remove(key);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(facet);
+            }
+        }
+    }
+
+    /**
+     * 태그 중 하나 이상, 그리고 지역 중 하나 이상에 관심을 둔 계정 id 비트맵. 항상 새 비트맵을 돌려준다.
+     */
+    public RoaringBitmap match(Collection<Long> tagIds, Collection<Long> zoneIds) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = union(accountsByTag, tagIds);
+            result.and(union(accountsByZone, zoneIds));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap union(Map<Long, RoaringBitmap> bitmaps, Collection<Long> facets) {
+        List<RoaringBitmap> matched = new ArrayList<>(facets.size());
+        facets.stream().map(bitmaps::get).filter(bitmap -> bitmap != null).forEach(matched::add);
+        return RoaringBitmap.or(matched.iterator());
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return interests.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int toKey(Long accountId) {
+        return Math.toIntExact(accountId);
+    }
+
+    private static class Interests {
+
+        private final Set<Long> tagIds;
+        private final Set<Long> zoneIds;
+
+        private Interests(Set<Long> tagIds, Set<Long> zoneIds) {
+            this.tagIds = tagIds;
+            this.zoneIds = zoneIds;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package study.studygroup.account;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import study.studygroup.account.event.AccountInterestChangedEvent;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccountInterestService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountInterestIndex interestIndex = new AccountInterestIndex();
+    private final Set<Long> pendingAccountIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    /**
+     * 애플리케이션이 뜰 때 계정별 관심 태그/지역을 조인 테이블에서 바로 읽어 한 번에 색인한다.
+     * 다시 만드는 동안 관심사를 바꾼 계정은 대기 목록에 모아 두었다가 새 색인으로 바꾼 뒤 다시 읽는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        pendingAccountIds.clear();
+        rebuilding = true;
+        try {
+            replaceAll();
+        } finally {
+            rebuilding = false;
+        }
+        for (Long accountId : pendingAccountIds) {
+            if (pendingAccountIds.remove(accountId)) {
+                refresh(accountId);
+            }
+        }
+        log.info("indexed interests of {} accounts in {} ms", interestIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    private void replaceAll() {
+        Map<Long, Set<Long>> tagIdsByAccount = new HashMap<>();
+        Map<Long, Set<Long>> zoneIdsByAccount = new HashMap<>();
+        jdbcTemplate.query("select account_id, tags_id from account_tags", rs -> {
+            tagIdsByAccount.computeIfAbsent(rs.getLong(1), id -> new HashSet<>()).add(rs.getLong(2));
+        });
+        jdbcTemplate.query("select account_id, zones_id from account_zones", rs -> {
+            zoneIdsByAccount.computeIfAbsent(rs.getLong(1), id -> new HashSet<>()).add(rs.getLong(2));
+        });
+        interestIndex.replaceAll(tagIdsByAccount, zoneIdsByAccount);
+    }
+
+    /**
+     * 색인을 다시 만드는 중이면 대기 목록에 넣는다. 넣은 뒤에도 아직 만드는 중이면 다 만든 뒤에 그쪽에서 읽는다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInterestChanged(AccountInterestChangedEvent event) {
+        Long accountId = event.getAccountId();
+        if (rebuilding) {
+            pendingAccountIds.add(accountId);
+            if (rebuilding) {
+                return;
+            }
+        }
+        refresh(accountId);
+    }
+
+    private void refresh(Long accountId) {
+        Set<Long> tagIds = new HashSet<>(jdbcTemplate.queryForList(
+                "select tags_id from account_tags where account_id = ?", Long.class, accountId));
+        Set<Long> zoneIds = new HashSet<>(jdbcTemplate.queryForList(
+                "select zones_id from account_zones where account_id = ?", Long.class, accountId));
+        interestIndex.put(accountId, tagIds, zoneIds);
+    }
+
+    /**
+     * 태그 중 하나 이상, 그리고 지역 중 하나 이상에 관심을 둔 계정 id.
+     */
+    public RoaringBitmap findInterestedAccountIds(Collection<Long> tagIds, Collection<Long> zoneIds) {
+        return interestIndex.match(tagIds, zoneIds);
+    }
+}
@@ -1,8 +1,14 @@
 package study.studygroup.account;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 import study.studygroup.domain.Account;
+import study.studygroup.domain.Tag;
+import study.studygroup.domain.Zone;
+
+import java.util.List;
+import java.util.Set;
 
 @Transactional(readOnly = true)
 public interface AccountRepository extends JpaRepository<Account, Long> {
@@ -13,6 +19,23 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     Account findByEmail(String email);
 
     Account findByNickname(String emailOrNickname);
+
+    /**
+     * 로그인 아이디로 이메일과 닉네임을 한 번에 찾는다. 두 컬럼 모두 유니크 인덱스가 있다.
+     */
+    List<Account> findByEmailOrNickname(String email, String nickname);
+
+    /**
+     * 프로필 이미지 컬럼만 읽는다. Account 를 읽으면 EAGER 로 걸린 다른 값까지 딸려 온다.
+     */
+    @Query("select a.profileImage from Account a where a.id = :id")
+    String findProfileImageById(Long id);
+
+    @Query("select t from Account a join a.tags t where a.id = :accountId")
+    Set<Tag> findTagsByAccountId(Long accountId);
+
+    @Query("select z from Account a join a.zones z where a.id = :accountId")
+    Set<Zone> findZonesByAccountId(Long accountId);
 }
 
 
@@ -3,6 +3,7 @@ package study.studygroup.account;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
@@ -10,25 +11,29 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
-import study.studygroup.config.AppProperties;
+import study.studygroup.account.event.AccountInterestChangedEvent;
+import study.studygroup.account.event.AccountPrincipalChangedEvent;
 import study.studygroup.domain.Account;
 import study.studygroup.domain.Tag;
 import study.studygroup.domain.Zone;
 import study.studygroup.mail.EmailMessage;
 import study.studygroup.mail.EmailService;
+import study.studygroup.mail.MailTemplate;
+import study.studygroup.mail.MailTemplateRenderer;
 import study.studygroup.settings.form.Notifications;
 import study.studygroup.settings.form.Profile;
 
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -36,14 +41,16 @@ import java.util.Set;
 @RequiredArgsConstructor
 @Transactional
 @Slf4j
-public class AccountService implements UserDetailsService {
+public class AccountService implements UserDetailsService, UserDetailsPasswordService {
 
     private final AccountRepository accountRepository;
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
     private final ModelMapper modelMapper;
-    private final TemplateEngine templateEngine;
-    private final AppProperties appProperties;
+    private final MailTemplateRenderer mailTemplateRenderer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PrincipalCache principalCache;
+    private final EmailTokenStore emailTokenStore;
 
 
     public Account processNewAccount(SignUpForm signUpForm) {
@@ -55,22 +62,17 @@ public class AccountService implements UserDetailsService {
     private Account saveNewAccount(SignUpForm signUpForm) {
         signUpForm.setPassword(passwordEncoder.encode(signUpForm.getPassword()));
         Account account = modelMapper.map(signUpForm, Account.class);
-        account.generateEmailCheckToken();
         return accountRepository.save(account);
     }
 
     public void sendSignUpConfirmEmail(Account newAccount) {
+        String token = emailTokenStore.issue(newAccount.getId(), EmailTokenPurpose.SIGN_UP);
 
-        Context context = new Context();
-        context.setVariable("link", "/check-email-token?token=" + newAccount.getEmailCheckToken() +
-                "&email=" + newAccount.getEmail());
-        context.setVariable("nickname", newAccount.getNickname());
-        context.setVariable("linkName", "이메일 인증하기");
-        context.setVariable("message", "스터디올래 서비스를 사용하려면 링크를 클릭하세");
-        context.setVariable("host", appProperties.getHost());
-
-        String message = templateEngine.process("mail/simple-link", context);
-
+        String message = mailTemplateRenderer.render(MailTemplate.SIMPLE_LINK, Map.of(
+                "link", "/check-email-token?token=" + token,
+                "nickname", newAccount.getNickname(),
+                "linkName", "이메일 인증하기",
+                "message", "스터디올래 서비스를 사용하려면 링크를 클릭하세"));
 
         EmailMessage emailMessage = EmailMessage.builder()
                 .to(newAccount.getEmail())
@@ -83,70 +85,141 @@ public class AccountService implements UserDetailsService {
 
 
     public void login(Account account) {
+        login(new UserAccount(account));
+    }
+
+    private void login(UserAccount userAccount) {
         UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(
-                new UserAccount(account),
-                account.getPassword(),
+                userAccount,
+                userAccount.getPassword(),
                 List.of(new SimpleGrantedAuthority("ROLE_USER")));
 
         SecurityContextHolder.getContext().setAuthentication(token);
     }
 
+    /**
+     * 트랜잭션 없이 캐시부터 본다. 캐시에 없을 때만 이메일과 닉네임을 한 번의 쿼리로 찾는다.
+     */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public UserDetails loadUserByUsername(String emailOrNickname) throws UsernameNotFoundException {
-        Account account = accountRepository.findByEmail(emailOrNickname);
-        if (account == null) {
-            account = accountRepository.findByNickname(emailOrNickname);
-        }
-
-        if(account == null) {
+        UserAccount userAccount = principalCache.get(emailOrNickname, this::findByEmailOrNickname);
+        if (userAccount == null) {
             throw new UsernameNotFoundException(emailOrNickname);
         }
+        return userAccount;
+    }
 
+    private Account findByEmailOrNickname(String emailOrNickname) {
+        List<Account> accounts = accountRepository.findByEmailOrNickname(emailOrNickname, emailOrNickname);
+        return accounts.stream()
+                .filter(account -> emailOrNickname.equals(account.getEmail()))
+                .findFirst()
+                .orElse(accounts.isEmpty() ? null : accounts.get(0));
+    }
+
+    /**
+     * 로그인에 성공했는데 저장된 해시의 bcrypt cost 가 지금 설정보다 낮으면 Spring Security 가 새로 만든 해시를 넘겨준다.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newEncodedPassword) {
+        Account account = accountRepository.findByNickname(user.getUsername());
+        account.setPassword(newEncodedPassword);
+        principalChanged(account);
         return new UserAccount(account);
     }
 
+    public boolean canSendConfirmEmail(Account account) {
+        return emailTokenStore.canIssue(account.getId(), EmailTokenPurpose.SIGN_UP);
+    }
+
+    public boolean canSendLoginLink(Account account) {
+        return emailTokenStore.canIssue(account.getId(), EmailTokenPurpose.LOGIN_LINK);
+    }
+
+    /**
+     * 가입 인증 토큰을 쓰고 가입을 끝낸다. 쓸 수 없는 토큰이면 null 을 돌려준다.
+     * 토큰은 이 트랜잭션에서 쓰므로 가입 처리가 실패하면 다시 쓸 수 있다.
+     */
+    public Account completeSignUp(String token) {
+        Long accountId = emailTokenStore.consume(token, EmailTokenPurpose.SIGN_UP);
+        if (accountId == null) {
+            return null;
+        }
+
+        Account account = accountRepository.findById(accountId).orElseThrow();
+        completeSignUp(account);
+        return account;
+    }
+
+    /**
+     * 로그인 링크의 토큰을 쓰고 로그인한다. 로그인 정보는 principal 캐시에서 읽으므로 Account 를 읽지 않는다.
+     */
+    public boolean loginByEmail(String token, String email) {
+        Long accountId = emailTokenStore.consume(token, EmailTokenPurpose.LOGIN_LINK);
+        if (accountId == null || email == null) {
+            return false;
+        }
+
+        UserAccount userAccount = principalCache.get(email, this::findByEmailOrNickname);
+        if (userAccount == null || !accountId.equals(userAccount.getAccount().getId())) {
+            return false;
+        }
+        login(userAccount);
+        return true;
+    }
+
     public void completeSignUp(Account account) {
         account.completeSignUp();
+        principalChanged(account);
         login(account);
     }
 
     public void updateProfile(Account account, Profile profile) {
         modelMapper.map(profile, account);
         accountRepository.save(account);
-        // TODO 문제가 하나 더 남았습니다.
+        principalChanged(account);
+        // 내비게이션 바의 프로필 이미지 주소가 세션의 AccountSnapshot 에 있으므로 다시 넣는다.
+        login(account);
     }
 
     public void updatePassword(Account account, String newPassword) {
         account.setPassword(passwordEncoder.encode(newPassword));
         accountRepository.save(account);
+        principalChanged(account);
     }
 
 
     public void updateNotification(Account account, Notifications notifications) {
         modelMapper.map(notifications, account);
         accountRepository.save(account);
+        principalChanged(account);
+        login(account);
 
     }
 
     public void updateNickname(Account account, String nickname) {
+        String oldNickname = account.getNickname();
         account.setNickname(nickname);
         accountRepository.save(account);
+        eventPublisher.publishEvent(new AccountPrincipalChangedEvent(account.getId(),
+                account.getEmail(), oldNickname, nickname));
         login(account);
     }
 
-    public void sendLoginLink(Account account) {
-        account.generateEmailCheckToken();
+    private void principalChanged(Account account) {
+        eventPublisher.publishEvent(new AccountPrincipalChangedEvent(account.getId(),
+                account.getEmail(), account.getNickname()));
+    }
 
-        Context context = new Context();
-        context.setVariable("link", "/login-by-email?token="+ account.getEmailCheckToken()+
-                "&email="+ account.getEmail());
-        context.setVariable("nickname", account.getNickname());
-        context.setVariable("linkName", "스터디올래 로그인하기");
-        context.setVariable("message", "로그인 하려면 아래 링크를 클릭하세");
-        context.setVariable("host", appProperties.getHost());
+    public void sendLoginLink(Account account) {
+        String token = emailTokenStore.issue(account.getId(), EmailTokenPurpose.LOGIN_LINK);
 
-        String message = templateEngine.process("mail.simple-link", context);
+        String message = mailTemplateRenderer.render(MailTemplate.SIMPLE_LINK, Map.of(
+                "link", "/login-by-email?token=" + token + "&email=" + account.getEmail(),
+                "nickname", account.getNickname(),
+                "linkName", "스터디올래 로그인하기",
+                "message", "로그인 하려면 아래 링크를 클릭하세"));
 
         EmailMessage emailMessage = EmailMessage.builder()
                 .to(account.getEmail())
@@ -157,34 +230,44 @@ public class AccountService implements UserDetailsService {
         emailService.sendEmail(emailMessage);
     }
 
-    public void addTag(Account account, Tag tag) {
-        Optional<Account> byId = accountRepository.findById(account.getId());
-        byId.ifPresent(a -> a.getTags().add(tag));
+    public void addTag(Long accountId, Tag tag) {
+        Optional<Account> byId = accountRepository.findById(accountId);
+        byId.ifPresent(a -> {
+            a.getTags().add(tag);
+            eventPublisher.publishEvent(new AccountInterestChangedEvent(a.getId()));
+        });
     }
 
-    public Set<Tag> getTags(Account account) {
-        Optional<Account> byId = accountRepository.findById(account.getId());
-        return byId.orElseThrow().getTags();
+    public Set<Tag> getTags(Long accountId) {
+        return accountRepository.findTagsByAccountId(accountId);
     }
 
-    public void removeTag(Account account, Tag tag) {
-        Optional<Account> byId = accountRepository.findById(account.getId());
-        byId.ifPresent(a -> a.getTags().remove(tag));
+    public void removeTag(Long accountId, Tag tag) {
+        Optional<Account> byId = accountRepository.findById(accountId);
+        byId.ifPresent(a -> {
+            a.getTags().remove(tag);
+            eventPublisher.publishEvent(new AccountInterestChangedEvent(a.getId()));
+        });
     }
 
-    public Set<Zone> getZones(Account account) {
-        Optional<Account> byId = accountRepository.findById(account.getId());
-        return byId.orElseThrow().getZones();
+    public Set<Zone> getZones(Long accountId) {
+        return accountRepository.findZonesByAccountId(accountId);
     }
 
-    public void addZone(Account account, Zone zone) {
-        Optional<Account> byId = accountRepository.findById(account.getId());
-        byId.ifPresent(a -> a.getZones().add(zone));
+    public void addZone(Long accountId, Zone zone) {
+        Optional<Account> byId = accountRepository.findById(accountId);
+        byId.ifPresent(a -> {
+            a.getZones().add(zone);
+            eventPublisher.publishEvent(new AccountInterestChangedEvent(a.getId()));
+        });
     }
 
-    public void removeZone(Account account, Zone zone) {
-        Optional<Account> byId = accountRepository.findById(account.getId());
-        byId.ifPresent(a -> a.getZones().remove(zone));
+    public void removeZone(Long accountId, Zone zone) {
+        Optional<Account> byId = accountRepository.findById(accountId);
+        byId.ifPresent(a -> {
+            a.getZones().remove(zone);
+            eventPublisher.publishEvent(new AccountInterestChangedEvent(a.getId()));
+        });
     }
 
     public Account getAccount(Long accountId) {
@@ -0,0 +1,61 @@
+package study.studygroup.account;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+import study.studygroup.domain.Account;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 세션의 SecurityContext 에 들어가는 로그인 사용자 정보.
+ * 프로필 이미지나 관심 태그 같은 큰 값은 담지 않고, 필요하면 id 로 Account 를 다시 읽는다.
+ * 프로필 이미지는 내용의 해시만 담아서 화면에서는 {@link #getProfileImageUrl()} 로 따로 받아 가게 한다.
+ */
+@Getter
+@EqualsAndHashCode(of = "id")
+@RequiredArgsConstructor
+public class AccountSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 2L;
+
+    private final Long id;
+    private final String nickname;
+    private final String email;
+    private final boolean emailVerified;
+    private final boolean studyCreatedByEmail;
+    private final boolean studyCreatedByWeb;
+    private final boolean studyEnrollmentResultByEmail;
+    private final boolean studyEnrollmentResultByWeb;
+    private final boolean studyUpdatedByEmail;
+    private final boolean studyUpdatedByWeb;
+    private final String profileImageVersion;
+
+    public static AccountSnapshot from(Account account) {
+        return new AccountSnapshot(account.getId(), account.getNickname(), account.getEmail(),
+                account.isEmailVerified(),
+                account.isStudyCreatedByEmail(), account.isStudyCreatedByWeb(),
+                account.isStudyEnrollmentResultByEmail(), account.isStudyEnrollmentResultByWeb(),
+                account.isStudyUpdatedByEmail(), account.isStudyUpdatedByWeb(),
+                profileImageVersion(account.getProfileImage()));
+    }
+
+    static String profileImageVersion(String profileImage) {
+        return StringUtils.hasText(profileImage)
+                ? DigestUtils.md5DigestAsHex(profileImage.getBytes(StandardCharsets.UTF_8)) : null;
+    }
+
+    /**
+     * 프로필 이미지 주소. 이미지가 바뀌면 주소도 바뀌므로 브라우저가 오래 캐시해도 된다. 이미지가 없으면 null 이다.
+     */
+    public String getProfileImageUrl() {
+        return profileImageVersion != null ? "/profile-image/" + id + "?v=" + profileImageVersion : null;
+    }
+
+    public boolean isSameAccount(Account account) {
+        return account != null && id.equals(account.getId());
+    }
+}
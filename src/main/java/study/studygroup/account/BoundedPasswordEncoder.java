@@ -0,0 +1,101 @@
+package study.studygroup.account;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 해시와 비교를 전용 스레드 풀에서 하는 PasswordEncoder. 로그인이 몰려도 BCrypt 가 쓰는 CPU 는 풀 크기만큼으로 묶이고,
+ * 대기 큐까지 가득 차면 기다리지 않고 {@link PasswordHashingBusyException} 을 던진다.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    static final int MIN_COST = 10;
+    static final int MAX_COST = 14;
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity) {
+        this.delegate = delegate;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "PasswordHasher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 목표 시간 안에 해시 하나를 만들 수 있는 가장 큰 BCrypt cost 를 고른다. 기본값인 {@value #MIN_COST} 보다 약하게는 하지 않는다.
+     */
+    public static int calibrateCost(long targetMillis) {
+        new BCryptPasswordEncoder(MIN_COST).encode("warm-up");
+        int cost = MIN_COST;
+        while (cost < MAX_COST) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(cost + 1).encode("calibration");
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (elapsedMillis > targetMillis) {
+                break;
+            }
+            cost++;
+        }
+        log.info("bcrypt cost {} for target {} ms", cost, targetMillis);
+        return cost;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 해시의 cost 가 지금 설정보다 낮으면 true. 로그인에 성공했을 때 Spring Security 가 새 해시로 바꿔 저장한다.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(Callable<T> task) {
+        try {
+            return executor.submit(task).get();
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    int queuedTasks() {
+        return executor.getQueue().size();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
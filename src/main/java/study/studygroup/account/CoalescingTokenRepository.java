@@ -0,0 +1,144 @@
+package study.studygroup.account;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.authentication.rememberme.AbstractRememberMeServices;
+import org.springframework.security.web.authentication.rememberme.PersistentRememberMeToken;
+import org.springframework.security.web.authentication.rememberme.PersistentTokenRepository;
+import study.studygroup.config.AppProperties;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * remember-me 토큰 저장소. 자동 로그인마다 JdbcTokenRepositoryImpl 이 하던 SELECT 와 UPDATE 를 줄이려고
+ * series 로 읽은 토큰은 메모리에 두고, 자동 로그인이 바꾼 토큰 값과 마지막 사용 시각은 모아 두었다가 {@link #flush()} 에서
+ * 한 번의 배치 UPDATE 로 쓴다. 같은 series 가 그 사이에 여러 번 바뀌면 마지막 값만 쓴다.
+ * 아직 쓰지 않은 토큰은 이 서버의 메모리에만 있으므로, 여러 서버가 같은 쿠키를 받는다면 세션 고정(sticky session)이 필요하다.
+ * 로그인(새 토큰)과 로그아웃(토큰 삭제)은 바로 쓴다.
+ */
+@Slf4j
+public class CoalescingTokenRepository implements PersistentTokenRepository {
+
+    /**
+     * remember-me 쿠키 유효 기간. SecurityConfig 와 만료 토큰 정리 작업이 같은 값을 쓴다.
+     */
+    public static final int TOKEN_VALIDITY_SECONDS = AbstractRememberMeServices.TWO_WEEKS_S;
+
+    private static final int MAXIMUM_SIZE = 10_000;
+    private static final Duration EXPIRE_AFTER_ACCESS = Duration.ofMinutes(30);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AppProperties appProperties;
+    private final Cache<String, PersistentRememberMeToken> tokens = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfterAccess(EXPIRE_AFTER_ACCESS)
+            .build();
+    private final ConcurrentMap<String, PersistentRememberMeToken> pendingUpdates = new ConcurrentHashMap<>();
+
+    public CoalescingTokenRepository(JdbcTemplate jdbcTemplate, AppProperties appProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.appProperties = appProperties;
+    }
+
+    @Override
+    public void createNewToken(PersistentRememberMeToken token) {
+        jdbcTemplate.update("insert into persistent_logins (username, series, token, last_used) values (?, ?, ?, ?)",
+                token.getUsername(), token.getSeries(), token.getTokenValue(), new Timestamp(token.getDate().getTime()));
+        tokens.put(token.getSeries(), token);
+    }
+
+    @Override
+    public void updateToken(String series, String tokenValue, Date lastUsed) {
+        PersistentRememberMeToken current = getTokenForSeries(series);
+        if (current == null) {
+            return;
+        }
+
+        PersistentRememberMeToken updated = new PersistentRememberMeToken(current.getUsername(), series, tokenValue, lastUsed);
+        tokens.put(series, updated);
+        pendingUpdates.put(series, updated);
+    }
+
+    @Override
+    public PersistentRememberMeToken getTokenForSeries(String seriesId) {
+        return tokens.get(seriesId, this::load);
+    }
+
+    private PersistentRememberMeToken load(String series) {
+        List<PersistentRememberMeToken> found = jdbcTemplate.query(
+                "select username, series, token, last_used from persistent_logins where series = ?",
+                (rs, rowNum) -> new PersistentRememberMeToken(rs.getString(1), rs.getString(2), rs.getString(3),
+                        rs.getTimestamp(4)),
+                series);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    /**
+     * 로그아웃이나 쿠키 도용이 의심될 때 불린다. 아직 쓰지 않은 갱신도 함께 버린다.
+     */
+    @Override
+    public void removeUserTokens(String username) {
+        tokens.asMap().values().removeIf(token -> token.getUsername().equals(username));
+        pendingUpdates.values().removeIf(token -> token.getUsername().equals(username));
+        jdbcTemplate.update("delete from persistent_logins where username = ?", username);
+    }
+
+    /**
+     * 모아 둔 갱신을 쓴다. 쓰는 동안 같은 series 가 다시 바뀌었다면 그 값은 남겨 두었다가 다음에 쓴다.
+     */
+    @Scheduled(fixedDelayString = "${app.remember-me-flush-interval:1000}")
+    public synchronized int flush() {
+        if (pendingUpdates.isEmpty()) {
+            return 0;
+        }
+
+        List<PersistentRememberMeToken> batch = new ArrayList<>(pendingUpdates.values());
+        jdbcTemplate.batchUpdate("update persistent_logins set token = ?, last_used = ? where series = ?", batch,
+                batch.size(), (ps, token) -> {
+                    ps.setString(1, token.getTokenValue());
+                    ps.setTimestamp(2, new Timestamp(token.getDate().getTime()));
+                    ps.setString(3, token.getSeries());
+                });
+        batch.forEach(token -> pendingUpdates.remove(token.getSeries(), token));
+        return batch.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * 쿠키 유효 기간이 지난 series 를 묶음 단위로 지운다. 한 번에 큰 DELETE 를 하지 않으려고 묶음마다 따로 커밋한다.
+     */
+    @Scheduled(initialDelayString = "${app.remember-me-purge-initial-delay:60000}",
+            fixedDelayString = "${app.remember-me-purge-interval:3600000}")
+    public int purgeExpired() {
+        flush();
+        Timestamp expiredBefore = new Timestamp(System.currentTimeMillis() - TOKEN_VALIDITY_SECONDS * 1000L);
+        int chunkSize = appProperties.getRememberMePurgeChunkSize();
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update("delete from persistent_logins where series in " +
+                    "(select series from persistent_logins where last_used < ? limit ?)", expiredBefore, chunkSize);
+            purged += deleted;
+        } while (deleted == chunkSize);
+
+        tokens.asMap().values().removeIf(token -> token.getDate().before(expiredBefore));
+        if (purged > 0) {
+            log.info("purged {} expired remember-me tokens", purged);
+        }
+        return purged;
+    }
+}
@@ -7,8 +7,12 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * 로그인한 사용자의 Account. 세션에는 {@link AccountSnapshot} 만 들어 있으므로 요청마다 id 로 다시 읽어온다.
+ * 프로필 이미지까지 함께 읽으므로 계정을 바꾸거나 프로필을 그리는 핸들러에서만 쓰고, 나머지는 {@link CurrentUserSnapshot} 을 쓴다.
+ */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.PARAMETER)
-@AuthenticationPrincipal(expression = "#this == 'anonymousUser' ? null : account")
+@AuthenticationPrincipal(expression = "#this == 'anonymousUser' ? null : @accountRepository.findById(account.id).orElse(null)")
 public @interface CurrentUser {
 }
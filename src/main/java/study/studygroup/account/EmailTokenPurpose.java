@@ -0,0 +1,7 @@
+package study.studygroup.account;
+
+public enum EmailTokenPurpose {
+
+    SIGN_UP, LOGIN_LINK
+
+}
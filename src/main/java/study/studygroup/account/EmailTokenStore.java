@@ -0,0 +1,197 @@
+package study.studygroup.account;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import study.studygroup.config.AppProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 메일로 보내는 가입 인증/로그인 링크 토큰 저장소. 토큰은 email_token 테이블에 해시로 두고, 한 번 쓰면 다시 쓸 수 없다.
+ * 이 서버가 발급한 토큰은 만료될 때까지 메모리에도 두어서 확인할 때 Account 는 물론 토큰 행도 읽지 않고
+ * 기본 키로 한 번 UPDATE 하는 것으로 끝낸다. 메모리의 토큰은 {@link TimingWheel} 로 만료 시각에 맞춰 지운다.
+ */
+@Slf4j
+@Component
+public class EmailTokenStore {
+
+    /**
+     * 같은 용도의 토큰은 이 시간에 한 번만 발급한다.
+     */
+    public static final Duration RESEND_INTERVAL = Duration.ofHours(1);
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 4;
+    private static final int MAXIMUM_SIZE = 100_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AppProperties appProperties;
+    private final ConcurrentMap<String, IssuedToken> issuedTokens = new ConcurrentHashMap<>();
+    private final TimingWheel<String> expirations =
+            new TimingWheel<>(TICK_MILLIS, WHEEL_SIZE, WHEEL_LEVELS, System.currentTimeMillis());
+
+    public EmailTokenStore(JdbcTemplate jdbcTemplate, AppProperties appProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.appProperties = appProperties;
+    }
+
+    /**
+     * 새 토큰을 발급한다. 돌려주는 값은 메일 링크에만 넣고, 저장소에는 해시만 남는다.
+     */
+    public String issue(Long accountId, EmailTokenPurpose purpose) {
+        String token = UUID.randomUUID().toString();
+        String tokenHash = hash(token);
+        LocalDateTime issuedAt = LocalDateTime.now();
+        LocalDateTime expiresAt = issuedAt.plus(ttlOf(purpose));
+        jdbcTemplate.update("insert into email_token (token_hash, account_id, purpose, issued_at, expires_at, used) " +
+                        "values (?, ?, ?, ?, ?, false)",
+                tokenHash, accountId, purpose.name(), Timestamp.valueOf(issuedAt), Timestamp.valueOf(expiresAt));
+        remember(tokenHash, new IssuedToken(accountId, purpose, expiresAt));
+        return token;
+    }
+
+    /**
+     * 토큰을 쓰고 주인의 id 를 돌려준다. 없거나, 용도가 다르거나, 만료됐거나, 이미 쓴 토큰이면 null 이다.
+     * 여러 요청이 같은 토큰을 동시에 써도 used 를 바꾼 한 요청만 성공한다.
+     */
+    public Long consume(String token, EmailTokenPurpose purpose) {
+        if (!StringUtils.hasText(token)) {
+            return null;
+        }
+
+        String tokenHash = hash(token);
+        LocalDateTime now = LocalDateTime.now();
+        IssuedToken issued = issuedTokens.get(tokenHash);
+        Long accountId;
+        if (issued != null) {
+            if (issued.purpose != purpose || !issued.expiresAt.isAfter(now)) {
+                return null;
+            }
+            accountId = issued.accountId;
+        } else {
+            List<Long> found = jdbcTemplate.queryForList("select account_id from email_token " +
+                            "where token_hash = ? and purpose = ? and used = false and expires_at > ?",
+                    Long.class, tokenHash, purpose.name(), Timestamp.valueOf(now));
+            if (found.isEmpty()) {
+                return null;
+            }
+            accountId = found.get(0);
+        }
+
+        int claimed = jdbcTemplate.update("update email_token set used = true " +
+                "where token_hash = ? and used = false and expires_at > ?", tokenHash, Timestamp.valueOf(now));
+        issuedTokens.remove(tokenHash);
+        return claimed == 1 ? accountId : null;
+    }
+
+    public boolean canIssue(Long accountId, EmailTokenPurpose purpose) {
+        Integer issued = jdbcTemplate.queryForObject("select count(*) from email_token " +
+                        "where account_id = ? and purpose = ? and issued_at > ?", Integer.class,
+                accountId, purpose.name(), Timestamp.valueOf(LocalDateTime.now().minus(RESEND_INTERVAL)));
+        return issued == null || issued == 0;
+    }
+
+    /**
+     * 지금 트랜잭션이 되돌려지면 없는 토큰이 되므로 커밋한 뒤에 메모리에 올린다.
+     * 휠에는 쓴 토큰도 만료될 때까지 남아 있으므로 휠 크기로 메모리를 제한한다. 가득 차면 올리지 않는다.
+     * 그 토큰은 확인할 때 테이블에서 읽는다.
+     */
+    private void remember(String tokenHash, IssuedToken issued) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(tokenHash, issued);
+                }
+            });
+        } else {
+            put(tokenHash, issued);
+        }
+    }
+
+    private void put(String tokenHash, IssuedToken issued) {
+        long deadline = Timestamp.valueOf(issued.expiresAt).getTime();
+        if (expirations.size() < MAXIMUM_SIZE && expirations.schedule(tokenHash, deadline)) {
+            issuedTokens.put(tokenHash, issued);
+        }
+    }
+
+    /**
+     * 만료 시각이 지난 토큰을 메모리에서 지운다. 쓴 토큰은 이미 지웠으므로 남은 것만 지운다.
+     */
+    @Scheduled(fixedDelay = TICK_MILLIS)
+    public int expireTokens() {
+        return expirations.advance(System.currentTimeMillis(), issuedTokens::remove);
+    }
+
+    /**
+     * 만료된 지 {@link #RESEND_INTERVAL} 이 지난 토큰을 묶음 단위로 지운다. 그보다 최근 것은 재발송 제한에 쓰므로 남긴다.
+     */
+    @Scheduled(initialDelayString = "${app.email-token-purge-initial-delay:60000}",
+            fixedDelayString = "${app.email-token-purge-interval:3600000}")
+    public int purgeExpired() {
+        Timestamp expiredBefore = Timestamp.valueOf(LocalDateTime.now().minus(RESEND_INTERVAL));
+        int chunkSize = appProperties.getEmailTokenPurgeChunkSize();
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update("delete from email_token where token_hash in " +
+                    "(select token_hash from email_token where expires_at < ? limit ?)", expiredBefore, chunkSize);
+            purged += deleted;
+        } while (deleted == chunkSize);
+
+        if (purged > 0) {
+            log.info("purged {} expired email tokens", purged);
+        }
+        return purged;
+    }
+
+    int cachedTokens() {
+        return issuedTokens.size();
+    }
+
+    private Duration ttlOf(EmailTokenPurpose purpose) {
+        return purpose == EmailTokenPurpose.SIGN_UP ? appProperties.getSignUpTokenTtl() : appProperties.getLoginLinkTokenTtl();
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class IssuedToken {
+
+        private final Long accountId;
+        private final EmailTokenPurpose purpose;
+        private final LocalDateTime expiresAt;
+
+        private IssuedToken(Long accountId, EmailTokenPurpose purpose, LocalDateTime expiresAt) {
+            this.accountId = accountId;
+            this.purpose = purpose;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
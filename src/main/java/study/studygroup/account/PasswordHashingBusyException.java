@@ -0,0 +1,11 @@
+package study.studygroup.account;
+
+/**
+ * 비밀번호 해시 작업 큐가 가득 찼을 때 던진다. 요청은 503 으로 돌려보내고 잠시 뒤 다시 시도하게 한다.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("비밀번호 처리 요청이 많습니다. 잠시 뒤 다시 시도하세요.");
+    }
+}
@@ -0,0 +1,40 @@
+package study.studygroup.account;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 폼 로그인처럼 컨트롤러 밖(시큐리티 필터)에서 비밀번호를 확인하다 해시 큐가 가득 차면 503 으로 응답한다.
+ * 컨트롤러에서 난 경우는 ExceptionAdvice 가 처리한다.
+ */
+public class PasswordHashingBusyFilter extends OncePerRequestFilter {
+
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } catch (PasswordHashingBusyException e) {
+            sendServiceUnavailable(response);
+        } catch (ServletException e) {
+            if (!(e.getRootCause() instanceof PasswordHashingBusyException)) {
+                throw e;
+            }
+            sendServiceUnavailable(response);
+        }
+    }
+
+    static void sendServiceUnavailable(HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+    }
+}
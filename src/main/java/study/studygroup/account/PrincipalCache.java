@@ -0,0 +1,79 @@
+package study.studygroup.account;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import study.studygroup.account.event.AccountPrincipalChangedEvent;
+import study.studygroup.domain.Account;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 이메일이나 닉네임으로 읽은 로그인 정보 캐시. 자동 로그인(remember-me)은 요청마다 사용자를 다시 읽으므로 그 조회를 줄인다.
+ * 로그인 뒤 Spring Security 가 UserAccount 의 비밀번호를 지우기 때문에 UserAccount 대신 스냅샷과 비밀번호 해시를 담아 두고
+ * 꺼낼 때마다 새로 만든다. 캐시 적중률은 cache.gets{cache=principal} 로, 조회 시간은 principal.lookup 으로 본다.
+ */
+@Component
+public class PrincipalCache {
+
+    private static final int MAXIMUM_SIZE = 10_000;
+    private static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(5);
+
+    private final Cache<String, CachedPrincipal> principals;
+    private final Timer lookupTimer;
+
+    public PrincipalCache(MeterRegistry meterRegistry) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfterWrite(EXPIRE_AFTER_WRITE)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "principal");
+        this.lookupTimer = Timer.builder("principal.lookup")
+                .description("이메일이나 닉네임으로 로그인 정보를 찾는 시간(캐시 포함)")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시에 없으면 loader 로 읽는다. 없는 사용자는 캐시하지 않고 null 을 돌려준다.
+     */
+    public UserAccount get(String emailOrNickname, Function<String, Account> loader) {
+        CachedPrincipal principal = lookupTimer.record(() -> principals.get(emailOrNickname, key -> {
+            Account account = loader.apply(key);
+            return account != null ? new CachedPrincipal(AccountSnapshot.from(account), account.getPassword()) : null;
+        }));
+        return principal != null ? new UserAccount(principal.account, principal.password) : null;
+    }
+
+    /**
+     * 이메일과 닉네임으로 지운다. invalidate 는 같은 키를 읽고 있는 중이면 그 읽기가 끝날 때까지 기다렸다 지우므로,
+     * 커밋 전 정보를 읽던 조회가 지운 뒤에 들어와 남는 일이 없다. 키가 없는 이벤트는 id 로 찾아 지운다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onPrincipalChanged(AccountPrincipalChangedEvent event) {
+        if (event.getUsernames().isEmpty()) {
+            principals.asMap().values().removeIf(principal -> principal.account.getId().equals(event.getAccountId()));
+            return;
+        }
+        principals.invalidateAll(event.getUsernames());
+    }
+
+    public void invalidateAll() {
+        principals.invalidateAll();
+    }
+
+    @RequiredArgsConstructor
+    private static class CachedPrincipal {
+
+        private final AccountSnapshot account;
+        private final String password;
+    }
+}
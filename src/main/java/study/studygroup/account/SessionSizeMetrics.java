@@ -0,0 +1,78 @@
+package study.studygroup.account;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpSessionAttributeListener;
+import javax.servlet.http.HttpSessionBindingEvent;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+
+/**
+ * 세션에 SecurityContext 가 저장될 때마다 직렬화한 크기를 session.security-context.size 로 기록한다.
+ * 세션 복제나 영속화를 할 때 실제로 오가는 크기와 같다.
+ */
+@Slf4j
+@Component
+public class SessionSizeMetrics implements HttpSessionAttributeListener {
+
+    private final DistributionSummary securityContextSize;
+
+    public SessionSizeMetrics(MeterRegistry meterRegistry) {
+        this.securityContextSize = DistributionSummary.builder("session.security-context.size")
+                .description("직렬화한 세션 SecurityContext 크기")
+                .baseUnit("bytes")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void attributeAdded(HttpSessionBindingEvent event) {
+        record(event);
+    }
+
+    @Override
+    public void attributeReplaced(HttpSessionBindingEvent event) {
+        record(event);
+    }
+
+    private void record(HttpSessionBindingEvent event) {
+        if (!HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY.equals(event.getName())) {
+            return;
+        }
+
+        Object value = event.getSession().getAttribute(event.getName());
+        try {
+            securityContextSize.record(serializedSize(value));
+        } catch (IOException e) {
+            log.warn("could not serialize session attribute {}", event.getName(), e);
+        }
+    }
+
+    static long serializedSize(Object value) throws IOException {
+        CountingOutputStream counter = new CountingOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(counter)) {
+            out.writeObject(value);
+        }
+        return counter.count;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package study.studygroup.account;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 계층형 타이밍 휠. 만료 시각이 된 키를 정렬이나 전체 순회 없이 골라낸다.
+ * 단계마다 칸이 wheelSize 개 있고, 한 단계 위의 칸 하나는 아래 단계 한 바퀴와 길이가 같다.
+ * 먼 만료 시각은 위 단계에 두었다가 그 칸의 차례가 오면 아래 단계로 내려 보낸다.
+ * 만료 시각은 tick 단위로 올림하므로 키는 만료 시각보다 최대 tick 만큼 늦게 나온다.
+ */
+class TimingWheel<K> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] levelTicks;
+    private final List<Timeout<K>>[][] slots;
+    private long currentTime;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levelTicks = new long[levels];
+        this.slots = new List[levels][wheelSize];
+        long levelTick = tickMillis;
+        for (int level = 0; level < levels; level++) {
+            levelTicks[level] = levelTick;
+            levelTick *= wheelSize;
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots[level][slot] = new ArrayList<>();
+            }
+        }
+        this.currentTime = startMillis / tickMillis * tickMillis;
+    }
+
+    /**
+     * 만료 시각이 이미 지났거나 가장 위 단계 한 바퀴보다 멀면 넣지 않고 false 를 돌려준다.
+     */
+    synchronized boolean schedule(K key, long deadlineMillis) {
+        long deadline = (deadlineMillis + tickMillis - 1) / tickMillis * tickMillis;
+        long span = levelTicks[levelTicks.length - 1] * wheelSize;
+        if (deadline <= currentTime || deadline - currentTime >= span) {
+            return false;
+        }
+        place(new Timeout<>(key, deadline));
+        size++;
+        return true;
+    }
+
+    /**
+     * nowMillis 까지 tick 을 하나씩 넘기면서 만료된 키를 onExpired 로 넘긴다.
+     */
+    synchronized int advance(long nowMillis, Consumer<K> onExpired) {
+        int expired = 0;
+        while (currentTime + tickMillis <= nowMillis) {
+            currentTime += tickMillis;
+            // 위 단계부터 내려 보내야 이번 tick 에 만료되는 키가 0 단계 칸에 모인다.
+            for (int level = levelTicks.length - 1; level >= 0; level--) {
+                if (currentTime % levelTicks[level] != 0) {
+                    continue;
+                }
+                int slot = (int) (currentTime / levelTicks[level] % wheelSize);
+                List<Timeout<K>> due = slots[level][slot];
+                if (due.isEmpty()) {
+                    continue;
+                }
+                slots[level][slot] = new ArrayList<>();
+                for (Timeout<K> timeout : due) {
+                    if (!place(timeout)) {
+                        size--;
+                        expired++;
+                        onExpired.accept(timeout.key);
+                    }
+                }
+            }
+        }
+        return expired;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private boolean place(Timeout<K> timeout) {
+        long delta = timeout.deadline - currentTime;
+        if (delta <= 0) {
+            return false;
+        }
+        int level = 0;
+        while (delta >= levelTicks[level] * wheelSize) {
+            level++;
+        }
+        slots[level][(int) (timeout.deadline / levelTicks[level] % wheelSize)].add(timeout);
+        return true;
+    }
+
+    private static class Timeout<K> {
+
+        private final K key;
+        private final long deadline;
+
+        private Timeout(K key, long deadline) {
+            this.key = key;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -11,10 +11,14 @@ import java.util.List;
 
 @Getter
 public class UserAccount extends User {
-    private Account account;
+    private AccountSnapshot account;
 
     public UserAccount(Account account) {
-        super(account.getNickname(), account.getPassword(), List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        this(AccountSnapshot.from(account), account.getPassword());
+    }
+
+    public UserAccount(AccountSnapshot account, String password) {
+        super(account.getNickname(), password, List.of(new SimpleGrantedAuthority("ROLE_USER")));
         this.account = account;
     }
 }
@@ -0,0 +1,14 @@
+package study.studygroup.account.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 계정의 관심 태그나 관심 지역이 바뀌었을 때 발행한다. 관심사 색인은 커밋 이후 해당 계정만 다시 읽는다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class AccountInterestChangedEvent {
+
+    private final Long accountId;
+}
@@ -0,0 +1,21 @@
+package study.studygroup.account.event;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 로그인 정보(비밀번호, 닉네임, 인증 여부, 알림 설정 등)가 바뀌었을 때 발행한다. 캐시해 둔 principal 은 트랜잭션이 끝난 뒤 지운다.
+ * usernames 는 로그인에 쓰는 이메일과 닉네임으로, 닉네임을 바꿨으면 예전 닉네임도 들어 있다.
+ */
+@Getter
+public class AccountPrincipalChangedEvent {
+
+    private final Long accountId;
+    private final List<String> usernames;
+
+    public AccountPrincipalChangedEvent(Long accountId, String... usernames) {
+        this.accountId = accountId;
+        this.usernames = List.of(usernames);
+    }
+}
@@ -0,0 +1,32 @@
+package study.studygroup.api;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import study.studygroup.tag.TagSuggestService;
+
+import java.time.Duration;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class TagRestController {
+
+    public static final int DEFAULT_LIMIT = 10;
+
+    private final TagSuggestService tagSuggestService;
+
+    /**
+     * 태그 입력창의 자동 완성. 사용자와 상관없는 목록이라 잠시 캐시해도 된다.
+     */
+    @GetMapping("/api/tags/suggest")
+    public ResponseEntity<List<String>> suggest(@RequestParam(defaultValue = "") String prefix,
+                                                @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic())
+                .body(tagSuggestService.suggest(prefix, limit));
+    }
+}
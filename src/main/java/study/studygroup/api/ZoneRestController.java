@@ -0,0 +1,56 @@
+package study.studygroup.api;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import study.studygroup.domain.Zone;
+import study.studygroup.zone.ZoneRegistry;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequiredArgsConstructor
+public class ZoneRestController {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private final ZoneRegistry zoneRegistry;
+
+    /**
+     * 지역 입력창의 whitelist. URL 에 목록 버전이 들어 있어서 1년 동안 캐시해도 되고,
+     * 예전 버전으로 들어오면 지금 버전 URL 로 보낸다.
+     */
+    @GetMapping("/api/zones/whitelist/{version}")
+    public ResponseEntity<List<ZoneRegistry.WhitelistEntry>> whitelist(@PathVariable String version) {
+        if (!zoneRegistry.getVersion().equals(version)) {
+            return ResponseEntity.status(HttpStatus.FOUND)
+                    .location(URI.create(zoneRegistry.getWhitelistUrl()))
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic())
+                .body(zoneRegistry.getWhitelist());
+    }
+
+    @GetMapping("/api/zones/suggest")
+    public ResponseEntity<List<String>> suggest(@RequestParam(defaultValue = "") String prefix,
+                                                @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit) {
+        List<String> zones = zoneRegistry.suggest(prefix, Math.max(1, Math.min(limit, MAX_LIMIT))).stream()
+                .map(Zone::toString)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic())
+                .body(zones);
+    }
+}
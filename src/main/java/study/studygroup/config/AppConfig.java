@@ -4,8 +4,15 @@ import org.modelmapper.ModelMapper;
 import org.modelmapper.convention.NameTokenizers;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import study.studygroup.account.BoundedPasswordEncoder;
+import study.studygroup.image.BlobStore;
+import study.studygroup.image.LocalFileBlobStore;
+
+import java.nio.file.Paths;
+import java.util.Map;
 
 @Configuration
 public class AppConfig {
@@ -18,8 +25,22 @@ public class AppConfig {
                 .setSourceNameTokenizer(NameTokenizers.UNDERSCORE);
         return modelMapper;
     }
+
+    @Bean
+    public BlobStore blobStore(AppProperties appProperties) {
+        return new LocalFileBlobStore(Paths.get(appProperties.getBlobStorePath()));
+    }
+
+    /**
+     * 새 해시는 시작할 때 잰 cost 의 bcrypt 로 만들고, 예전 형식의 해시는 그대로 확인한다.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(AppProperties appProperties) {
+        int cost = BoundedPasswordEncoder.calibrateCost(appProperties.getPasswordHashTargetMillis());
+        DelegatingPasswordEncoder delegatingPasswordEncoder = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new BCryptPasswordEncoder(cost)));
+        delegatingPasswordEncoder.setDefaultPasswordEncoderForMatches(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        return new BoundedPasswordEncoder(delegatingPasswordEncoder,
+                appProperties.getPasswordHashThreads(), appProperties.getPasswordHashQueueCapacity());
     }
 }
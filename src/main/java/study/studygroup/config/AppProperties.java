@@ -3,11 +3,94 @@ package study.studygroup.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.NotBlank;
+
+import java.time.Duration;
 
 @Data
 @Component
+@Validated
 @ConfigurationProperties("app")
 public class AppProperties {
 
     private String host;
+
+    /**
+     * 배너 같은 업로드 이미지를 저장하는 디렉토리. 이미지의 유일한 사본이 있는 곳이라 기본값 없이 꼭 지정해야 하고,
+     * 재부팅 때 지워질 수 있는 임시 디렉토리는 쓰지 않는다.
+     */
+    @NotBlank
+    private String blobStorePath;
+
+    /**
+     * 예전 study.image 컬럼을 비울지 여부. 옮긴 이미지가 저장소에 있는지 확인하고 백업을 끝낸 뒤에 켠다.
+     */
+    private boolean legacyBannerCleanup;
+
+    /**
+     * outbox 디스패처가 한 번에 꺼내 보내는 메일 수
+     */
+    private int mailOutboxBatchSize = 50;
+
+    /**
+     * 이 횟수만큼 실패한 메일은 더 보내지 않는다
+     */
+    private int mailOutboxMaxAttempts = 5;
+
+    /**
+     * 보냈거나 포기한 메일을 outbox 에 남겨 두는 기간
+     */
+    private Duration mailOutboxRetention = Duration.ofDays(7);
+
+    /**
+     * 지난 outbox 메일 정리 작업이 한 번에 지우는 행 수
+     */
+    private int mailOutboxPurgeChunkSize = 500;
+
+    /**
+     * 동시에 열어 두는 SMTP 연결 수
+     */
+    private int mailPoolSize = 2;
+
+    /**
+     * 구성원 수 보정 작업이 한 트랜잭션에서 다루는 스터디 수
+     */
+    private int memberCountReconcileChunkSize = 500;
+
+    /**
+     * 만료된 remember-me 토큰 정리 작업이 한 번에 지우는 행 수
+     */
+    private int rememberMePurgeChunkSize = 500;
+
+    /**
+     * 비밀번호 해시 하나에 걸려도 되는 시간(ms). 시작할 때 이 시간 안에 끝나는 가장 큰 bcrypt cost 를 고른다.
+     */
+    private long passwordHashTargetMillis = 100;
+
+    /**
+     * 비밀번호 해시/비교에 쓰는 스레드 수
+     */
+    private int passwordHashThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 비밀번호 해시/비교 대기 큐 크기. 가득 차면 503 으로 응답한다.
+     */
+    private int passwordHashQueueCapacity = 64;
+
+    /**
+     * 회원 가입 인증 메일 링크의 유효 기간
+     */
+    private Duration signUpTokenTtl = Duration.ofDays(1);
+
+    /**
+     * 이메일 로그인 링크의 유효 기간
+     */
+    private Duration loginLinkTokenTtl = Duration.ofMinutes(15);
+
+    /**
+     * 만료된 메일 토큰 정리 작업이 한 번에 지우는 행 수
+     */
+    private int emailTokenPurgeChunkSize = 500;
 }
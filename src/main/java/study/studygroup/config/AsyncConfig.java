@@ -0,0 +1,49 @@
+package study.studygroup.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 알림 fan-out 같은 비동기 작업용 스레드 풀. 작업을 발행하는 쪽은 커밋을 막 끝낸 요청 스레드이므로 큐가 가득 차도
+ * 그 스레드에서 대신 실행하지 않는다. 넘친 작업은 버리고 로그와 async.rejected 지표로 남긴다.
+ */
+@Slf4j
+@Configuration
+@EnableAsync
+@RequiredArgsConstructor
+public class AsyncConfig implements AsyncConfigurer {
+
+    private static final int QUEUE_CAPACITY = 500;
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Executor getAsyncExecutor() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        Counter rejected = Counter.builder("async.rejected")
+                .description("큐가 가득 차서 버린 비동기 작업 수")
+                .register(meterRegistry);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(processors);
+        executor.setMaxPoolSize(processors * 2);
+        executor.setQueueCapacity(QUEUE_CAPACITY);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("AsyncExecutor-");
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            log.warn("async executor is saturated ({} active, {} queued), dropped {}",
+                    pool.getActiveCount(), pool.getQueue().size(), task);
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
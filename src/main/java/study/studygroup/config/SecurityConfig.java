@@ -5,13 +5,15 @@ import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;;
 import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
-import org.springframework.security.web.authentication.rememberme.JdbcTokenRepositoryImpl;
-import org.springframework.security.web.authentication.rememberme.PersistentTokenRepository;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import study.studygroup.account.AccountService;
+import study.studygroup.account.CoalescingTokenRepository;
+import study.studygroup.account.PasswordHashingBusyFilter;
 
 import javax.sql.DataSource;
 
@@ -22,12 +24,14 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
     private final AccountService accountService;
     private final DataSource dataSource;
+    private final AppProperties appProperties;
 
     @Override
     protected void configure(HttpSecurity http) throws Exception {
         http.authorizeRequests()
                 .mvcMatchers("/", "/login", "/sign-up",  "/check-email-token", "/login-by-email",
-                        "/email-login", "/check-email-login", "/login-link").permitAll()
+                        "/email-login", "/check-email-login", "/login-link", "/search/study",
+                        "/search/tag/*", "/search/zone/*", "/search/facets", "/api/zones/whitelist/*").permitAll()
                 .mvcMatchers(HttpMethod.GET, "/profile/*").permitAll()
                 .anyRequest().authenticated();
 
@@ -38,16 +42,17 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         http.logout()
                 .logoutSuccessUrl("/");
 
+        http.addFilterBefore(new PasswordHashingBusyFilter(), UsernamePasswordAuthenticationFilter.class);
+
         http.rememberMe()
                 .userDetailsService(accountService)
-                .tokenRepository(tokenRepository());
+                .tokenRepository(tokenRepository())
+                .tokenValiditySeconds(CoalescingTokenRepository.TOKEN_VALIDITY_SECONDS);
     }
 
     @Bean
-    public PersistentTokenRepository tokenRepository() {
-        JdbcTokenRepositoryImpl jdbcTokenRepository = new JdbcTokenRepositoryImpl();
-        jdbcTokenRepository.setDataSource(dataSource);
-        return jdbcTokenRepository;
+    public CoalescingTokenRepository tokenRepository() {
+        return new CoalescingTokenRepository(new JdbcTemplate(dataSource), appProperties);
     }
 
     @Override
@@ -6,7 +6,6 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.UUID;
 
 @Entity
 @Setter @Getter @EqualsAndHashCode(of = "id")
@@ -26,8 +25,6 @@ public class Account {
 
     private boolean emailVerified;
 
-    private String emailCheckToken;
-
     private LocalDateTime joinedAt;
 
     private String bio;
@@ -53,8 +50,6 @@ public class Account {
 
     private boolean studyUpdatedByWeb = true;
 
-    private LocalDateTime emailCheckTokenGeneratedAt;
-
     @ManyToMany
     private Set<Tag> tags = new HashSet<>();
 
@@ -67,24 +62,11 @@ public class Account {
         this.password = password;
     }
 
-    public void generateEmailCheckToken() {
-        this.emailCheckTokenGeneratedAt = LocalDateTime.now();
-        this.emailCheckToken = UUID.randomUUID().toString();
-    }
-
     public void completeSignUp() {
         emailVerified = true;
         joinedAt = LocalDateTime.now();
     }
 
-    public boolean isValidToken(String token) {
-        return this.emailCheckToken.equals(token);
-    }
-
-    public boolean canSendConfirmEmail() {
-        return this.emailCheckTokenGeneratedAt.isBefore(LocalDateTime.now().minusHours(1));
-    }
-
 //    public void updateProfile(Profile profile) {
 //        this.bio = profile.getBio();
 //        this.location = profile.getLocation();
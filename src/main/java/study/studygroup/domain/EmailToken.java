@@ -0,0 +1,39 @@
+package study.studygroup.domain;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import study.studygroup.account.EmailTokenPurpose;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 메일로 보낸 인증/로그인 링크의 토큰. 토큰 자체는 저장하지 않고 SHA-256 해시를 키로 둔다.
+ * 확인은 EmailTokenStore 가 JDBC 로 하고, 엔티티는 테이블을 만드는 데에만 쓴다.
+ */
+@Entity
+@Table(indexes = @Index(columnList = "accountId,purpose,issuedAt"))
+@Getter
+@NoArgsConstructor
+public class EmailToken {
+
+    @Id
+    @Column(length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private Long accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EmailTokenPurpose purpose;
+
+    @Column(nullable = false)
+    private LocalDateTime issuedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    private boolean used;
+
+}
@@ -7,10 +7,15 @@ import lombok.Setter;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"event_id", "account_id"}),
+        indexes = @Index(columnList = "event_id,accepted,enrolledAt"))
 @Setter @Getter @EqualsAndHashCode(of = "id")
 public class Enrollment {
 
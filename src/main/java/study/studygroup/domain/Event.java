@@ -3,20 +3,18 @@ package study.studygroup.domain;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
-import study.studygroup.account.UserAccount;
 import study.studygroup.event.EventType;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
-@NamedEntityGraph(
-        name = "Event.withEnrollments",
-        attributeNodes = @NamedAttributeNode("enrollments")
-)
 @Entity
+@Table(indexes = {
+        @Index(columnList = "study_id,endDateTime"),
+        @Index(columnList = "study_id,startDateTime")
+})
 @Getter @Setter
 @EqualsAndHashCode(of = "id")
 public class Event {
@@ -51,6 +49,16 @@ public class Event {
     @Column(nullable = true)
     private int limitOfEnrollments;
 
+    /**
+     * 확정된 참가 신청 수와 대기 중인 참가 신청 수. 참가 신청 목록을 읽지 않고 남은 자리를 보여 주려고 따로 둔다.
+     * 두 값 모두 EventRepository 의 조건부 UPDATE 로만 바꾸므로 엔티티에서는 쓰지 않는다.
+     */
+    @Column(updatable = false)
+    private Integer acceptedCount = 0;
+
+    @Column(updatable = false)
+    private Integer waitingCount = 0;
+
     // TODO thymeleaf 에서 LAZY 로딩시 오
     @OneToMany(mappedBy = "event")
     private List<Enrollment> enrollments = new ArrayList<>();
@@ -63,45 +71,12 @@ public class Event {
         this.createdDateTime = LocalDateTime.now();
     }
 
-    public boolean isEnrollableFor(UserAccount userAccount) {
-        return isNotClosed() && !isAttended(userAccount) && !isAlreadyEnrolled(userAccount);
-    }
-
-    public boolean isDisenrollableFor(UserAccount userAccount) {
-        return isNotClosed() && !isAttended(userAccount) && isAlreadyEnrolled(userAccount);
-    }
-
-    private boolean isNotClosed() {
-        return this.endEnrollmentDateTime.isAfter(LocalDateTime.now());
-    }
-
-    public boolean isAttended(UserAccount userAccount) {
-        Account account = userAccount.getAccount();
-        for (Enrollment e : this.enrollments) {
-            if (e.getAccount().equals(account) && e.isAttended()) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-
     public int numberOfRemainSpots() {
-        return this.limitOfEnrollments - (int) this.enrollments.stream().filter(Enrollment::isAccepted).count();
-    }
-
-    private boolean isAlreadyEnrolled(UserAccount userAccount) {
-        Account account = userAccount.getAccount();
-        for (Enrollment e : this.enrollments) {
-            if (e.getAccount().equals(account)) {
-                return true;
-            }
-        }
-        return false;
+        return this.limitOfEnrollments - this.acceptedCount;
     }
 
     public long getNumberOfAcceptedEnrollments() {
-        return this.enrollments.stream().filter(Enrollment::isAccepted).count();
+        return this.acceptedCount;
     }
 
     public void addEnrollment(Enrollment enrollment) {
@@ -115,65 +90,21 @@ public class Event {
     }
 
     public boolean isAbleToAcceptWaitingEnrollment() {
-        return this.eventType == EventType.FCFS && this.limitOfEnrollments > this.getNumberOfAcceptedEnrollments();
+        return this.eventType == EventType.FCFS && this.limitOfEnrollments > this.acceptedCount && this.waitingCount > 0;
     }
 
     public boolean canAccept(Enrollment enrollment) {
         return this.eventType == EventType.CONFIRMATIVE
-                && this.enrollments.contains(enrollment)
-                && this.limitOfEnrollments > this.getNumberOfAcceptedEnrollments()
+                && this.equals(enrollment.getEvent())
+                && this.limitOfEnrollments > this.acceptedCount
                 && !enrollment.isAttended()
                 && !enrollment.isAccepted();
     }
 
     public boolean canReject(Enrollment enrollment) {
         return this.eventType == EventType.CONFIRMATIVE
-                && this.enrollments.contains(enrollment)
+                && this.equals(enrollment.getEvent())
                 && !enrollment.isAttended()
                 && enrollment.isAccepted();
     }
-
-    private List<Enrollment> getWaitingList() {
-        return this.enrollments.stream().filter(enrollment -> !enrollment.isAccepted()).collect(Collectors.toList());
-    }
-
-    public void acceptWaitingList() {
-        if (this.isAbleToAcceptWaitingEnrollment()) {
-            var waitingList = getWaitingList();
-            int numberToAccept = (int) Math.min(this.limitOfEnrollments - this.getNumberOfAcceptedEnrollments(), waitingList.size());
-            waitingList.subList(0, numberToAccept).forEach(e -> e.setAccepted(true));
-        }
-    }
-
-    public void acceptNextWaitingEnrollment() {
-        if (this.isAbleToAcceptWaitingEnrollment()) {
-            Enrollment enrollmentToAccept = this.getTheFirstWaitingEnrollment();
-            if (enrollmentToAccept != null) {
-                enrollmentToAccept.setAccepted(true);
-            }
-        }
-    }
-
-    private Enrollment getTheFirstWaitingEnrollment() {
-        for (Enrollment e : this.enrollments) {
-            if (!e.isAccepted()) {
-                return e;
-            }
-        }
-
-        return null;
-    }
-
-    public void accept(Enrollment enrollment) {
-        if (this.eventType == EventType.CONFIRMATIVE
-                && this.limitOfEnrollments > this.getNumberOfAcceptedEnrollments()) {
-            enrollment.setAccepted(true);
-        }
-    }
-
-    public void reject(Enrollment enrollment) {
-        if (this.eventType == EventType.CONFIRMATIVE) {
-            enrollment.setAccepted(false);
-        }
-    }
 }
@@ -0,0 +1,37 @@
+package study.studygroup.domain;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import study.studygroup.notification.NotificationType;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 알림은 여러 사람에게 한꺼번에 JDBC 배치로 넣기 때문에 id 를 DB 가 만들도록 IDENTITY 를 쓴다.
+ */
+@Entity
+@Table(indexes = @Index(columnList = "account_id,checked"))
+@Getter @Setter @EqualsAndHashCode(of = "id")
+public class Notification {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String title;
+
+    private String link;
+
+    private String message;
+
+    private boolean checked;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Account account;
+
+    private LocalDateTime createdDateTime;
+
+    @Enumerated(EnumType.STRING)
+    private NotificationType notificationType;
+}
@@ -0,0 +1,89 @@
+package study.studygroup.domain;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import study.studygroup.mail.EmailMessage;
+import study.studygroup.mail.OutboxEmailStatus;
+
+import javax.persistence.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 보내야 할 메일. 메일을 보내게 만든 작업과 같은 트랜잭션에서 저장하고, 실제 발송은 디스패처가 나중에 한다.
+ */
+@Entity
+@Table(indexes = @Index(columnList = "status,nextAttemptAt"))
+@Getter @Setter @EqualsAndHashCode(of = "id")
+@NoArgsConstructor
+public class OutboxEmail {
+
+    @Id @GeneratedValue
+    private Long id;
+
+    private String recipient;
+
+    private String subject;
+
+    @Lob @Basic(fetch = FetchType.EAGER)
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    private OutboxEmailStatus status;
+
+    private int attempts;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime sentAt;
+
+    private String lastError;
+
+    public OutboxEmail(EmailMessage emailMessage) {
+        this.recipient = emailMessage.getTo();
+        this.subject = emailMessage.getSubject();
+        this.message = emailMessage.getMessage();
+        this.status = OutboxEmailStatus.PENDING;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    public EmailMessage toEmailMessage() {
+        return EmailMessage.builder()
+                .to(recipient)
+                .subject(subject)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * 다른 디스패처가 같은 메일을 집어가지 않도록 lease 동안 다음 시도 시각을 미뤄 둔다.
+     */
+    public void claim(LocalDateTime now, Duration lease) {
+        this.nextAttemptAt = now.plus(lease);
+    }
+
+    /**
+     * 본문에는 인증 링크 같은 토큰이 들어 있으므로 보낸 뒤에는 남기지 않는다.
+     */
+    public void sent(LocalDateTime now) {
+        this.status = OutboxEmailStatus.SENT;
+        this.message = null;
+        this.sentAt = now;
+        this.lastError = null;
+    }
+
+    public void failed(LocalDateTime now, String error, int maxAttempts, Duration backoff) {
+        this.attempts++;
+        this.lastError = error == null || error.length() <= 255 ? error : error.substring(0, 255);
+        if (this.attempts >= maxAttempts) {
+            this.status = OutboxEmailStatus.FAILED;
+        } else {
+            this.nextAttemptAt = now.plus(backoff);
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package study.studygroup.domain;
 
 import lombok.*;
-import study.studygroup.account.UserAccount;
 
 import javax.persistence.*;
 import java.net.URLEncoder;
@@ -22,9 +21,7 @@ public class Study {
     @ManyToMany
     private Set<Account> managers = new HashSet<>();
 
-    // TODO LAZY로 했을때 fragments.html -> study-info -> isJoinable 에서
-    // "Large Objects may not be used in auto-commit mode" 오류 남
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany
     private Set<Account> members = new HashSet<>();
 
     @Column(unique = true)
@@ -37,8 +34,10 @@ public class Study {
     @Lob @Basic(fetch = FetchType.EAGER)
     private String fullDescription;
 
-    @Lob @Basic(fetch = FetchType.EAGER)
-    private String image;
+    /**
+     * 배너 이미지 내용의 SHA-256 해시. 이미지 자체는 BlobStore 에 있다.
+     */
+    private String imageHash;
 
     @ManyToMany
     private Set<Tag> tags = new HashSet<>();
@@ -60,6 +59,11 @@ public class Study {
 
     private boolean useBanner;
 
+    /**
+     * 구성원 수. 구성원 목록을 읽지 않고 정렬과 카드에 쓰려고 따로 둔다.
+     * 가입/탈퇴와 같은 트랜잭션에서 StudyRepository 의 UPDATE 로만 바꾸므로 엔티티에서는 쓰지 않는다.
+     */
+    @Column(updatable = false)
     private int memberCount;
 
     public void addManager(Account account) {
@@ -70,22 +74,8 @@ public class Study {
         this.members.add(account);
     }
 
-    public boolean isJoinable(UserAccount userAccount) {
-        Account account = userAccount.getAccount();
-        return this.isPublished() && this.isRecruiting()
-                && !this.members.contains(account) && !this.managers.contains(account);
-    }
-
-    public boolean isMember(UserAccount userAccount) {
-        return this.members.contains(userAccount.getAccount());
-    }
-
-    public boolean isManager(UserAccount userAccount) {
-        return this.managers.contains(userAccount.getAccount());
-    }
-
     public String getImage() {
-        return image != null ? image : "/images/default_banner.png";
+        return imageHash != null ? "/images/" + imageHash : "/images/default_banner.png";
     }
 
     public void publish() {
@@ -132,16 +122,7 @@ public class Study {
         return !this.published; // TODO 모임을 했던 스터디는 삭제할 수 없다.
     }
 
-    public void removeMember(Account account) {
-        this.getMembers().remove(account);
-        this.memberCount--;
-    }
-
     public String getEncodedPath() {
         return URLEncoder.encode(this.path, StandardCharsets.UTF_8);
     }
-
-    public boolean isManagedBy(Account account) {
-        return this.getManagers().contains(account);
-    }
 }
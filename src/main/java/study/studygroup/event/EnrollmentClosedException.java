@@ -0,0 +1,11 @@
+package study.studygroup.event;
+
+/**
+ * 참가 신청 마감이 지났거나 없는 모임에 신청했을 때 던진다. 화면에서는 모임 페이지로 돌려보내며 메시지로 알려 준다.
+ */
+public class EnrollmentClosedException extends RuntimeException {
+
+    public EnrollmentClosedException() {
+        super("참가 신청을 받고 있는 모임이 아닙니다.");
+    }
+}
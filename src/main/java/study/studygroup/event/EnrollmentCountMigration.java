@@ -0,0 +1,35 @@
+package study.studygroup.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * event.accepted_count, event.waiting_count 컬럼이 생기기 전에 만든 모임은 값이 비어 있다.
+ * 확정된 참가 신청 수와 대기 중인 참가 신청 수로 한 번 채워 준다.
+ * 비어 있는 동안은 조건부 UPDATE 가 항상 실패하므로 자리를 넘겨 주는 일은 없다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EnrollmentCountMigration {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        int accepted = fill("accepted_count", true);
+        int waiting = fill("waiting_count", false);
+        if (accepted + waiting > 0) {
+            log.info("filled accepted count of {} events and waiting count of {} events", accepted, waiting);
+        }
+    }
+
+    private int fill(String column, boolean accepted) {
+        return jdbcTemplate.update("update event set " + column + " = (select count(*) from enrollment " +
+                "where enrollment.event_id = event.id and enrollment.accepted = ?) where " + column + " is null", accepted);
+    }
+}
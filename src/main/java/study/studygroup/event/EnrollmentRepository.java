@@ -15,6 +15,18 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
 
     Enrollment findByEventAndAccount(Event event, Account account);
 
-    @EntityGraph("Enrollment.withEventAndStudy")
-    List<Enrollment> findByAccountAndAcceptedOrderByEnrolledAtDesc(Account account, boolean accepted);
+    @EntityGraph(attributePaths = "account")
+    List<Enrollment> findWithAccountByEventIdOrderByEnrolledAtAscIdAsc(Long eventId);
+
+    boolean existsByEventIdAndAccountId(Long eventId, Long accountId);
+
+    Enrollment findByEventIdAndAccountId(Long eventId, Long accountId);
+
+    /**
+     * 대기열의 맨 앞. (event_id, accepted, enrolled_at) 인덱스를 타므로 대기자가 많아도 한 행만 읽는다.
+     */
+    Enrollment findFirstByEventIdAndAcceptedOrderByEnrolledAtAscIdAsc(Long eventId, boolean accepted);
+
+    @EntityGraph(attributePaths = {"event", "event.study"})
+    List<Enrollment> findByAccountIdAndAcceptedOrderByEnrolledAtDesc(Long accountId, boolean accepted);
 }
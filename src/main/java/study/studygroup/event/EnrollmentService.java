@@ -0,0 +1,67 @@
+package study.studygroup.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import study.studygroup.domain.Enrollment;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 인기 있는 선착순 모임이 열리면 같은 모임에 신청이 몰린다. 같은 노드 안에서는 모임별 스트라이프 락으로 줄을 세워
+ * 트랜잭션이 같은 행 락을 두고 다투지 않게 하고, 노드 사이의 정합성은 {@link EventRepository#tryAcquireSeat} 의
+ * 조건부 UPDATE 가 보장한다. 락은 트랜잭션이 커밋된 뒤에 풀어야 하므로 트랜잭션 밖에서 잡는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class EnrollmentService {
+
+    private static final int STRIPES = 64;
+
+    private final EventService eventService;
+    private final Lock[] locks = createLocks();
+
+    public Enrollment enroll(Long eventId, Long accountId) {
+        return withEventLock(eventId, () -> eventService.newEnrollment(eventId, accountId));
+    }
+
+    public void cancel(Long eventId, Long accountId) {
+        withEventLock(eventId, () -> {
+            eventService.cancelEnrollment(eventId, accountId);
+            return null;
+        });
+    }
+
+    public void accept(Long eventId, Long enrollmentId) {
+        withEventLock(eventId, () -> {
+            eventService.acceptEnrollment(eventId, enrollmentId);
+            return null;
+        });
+    }
+
+    public void reject(Long eventId, Long enrollmentId) {
+        withEventLock(eventId, () -> {
+            eventService.rejectEnrollment(eventId, enrollmentId);
+            return null;
+        });
+    }
+
+    private <T> T withEventLock(Long eventId, Supplier<T> action) {
+        Lock lock = locks[Math.floorMod(eventId.hashCode(), STRIPES)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Lock[] createLocks() {
+        Lock[] locks = new Lock[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+}
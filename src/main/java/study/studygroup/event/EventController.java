@@ -2,25 +2,26 @@ package study.studygroup.event;
 
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.Errors;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
-import study.studygroup.account.CurrentUser;
-import study.studygroup.domain.Account;
+import study.studygroup.account.AccountSnapshot;
+import study.studygroup.account.CurrentUserSnapshot;
 import study.studygroup.domain.Event;
 import study.studygroup.domain.Study;
 import study.studygroup.event.form.EventForm;
 import study.studygroup.event.validator.EventValidator;
 import study.studygroup.study.StudyRepository;
 import study.studygroup.study.StudyService;
+import study.studygroup.study.StudyView;
+import study.studygroup.study.StudyViewService;
 
 import javax.validation.Valid;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 
 @Controller
 @RequestMapping("/study/{path}")
@@ -33,6 +34,8 @@ public class EventController {
     private final StudyRepository studyRepository;
     private final ModelMapper modelMapper;
     private final EventValidator eventValidator;
+    private final EnrollmentService enrollmentService;
+    private final StudyViewService studyViewService;
 
     @InitBinder("eventForm")
     public void initBinder(WebDataBinder webDataBinder) {
@@ -41,79 +44,97 @@ public class EventController {
 
 
     @GetMapping("/new-event")
-    public String newEventForm(@CurrentUser Account account, @PathVariable String path, Model model) {
-        Study study = studyService.getStudyToUpdateStatus(account, path);
-        model.addAttribute(account);
+    public String newEventForm(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, Model model) {
+        Study study = studyService.getStudyToUpdateStatus(account.getId(), path);
+        model.addAttribute("account", account);
         model.addAttribute(study);
         model.addAttribute(new EventForm());
         return "event/form";
     }
 
     @PostMapping("/new-event")
-    public String newEvent(@CurrentUser Account account, @PathVariable String path, @Valid EventForm eventForm, Errors errors,
+    public String newEvent(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, @Valid EventForm eventForm, Errors errors,
                            Model model) {
-        Study study = studyService.getStudyToUpdateStatus(account, path);
+        Study study = studyService.getStudyToUpdateStatus(account.getId(), path);
         if (errors.hasErrors()) {
-            model.addAttribute(account);
+            model.addAttribute("account", account);
             model.addAttribute(study);
             return "event/form";
         }
 
-        Event event = eventService.createEvent(modelMapper.map(eventForm, Event.class), account, study);
+        Event event = eventService.createEvent(modelMapper.map(eventForm, Event.class), account.getId(), study);
         return "redirect:/study/"+study.getEncodedPath()+"/events/"+event.getId();
     }
 
     @GetMapping("/events/{id}")
-    public String getEvent(@CurrentUser Account account, @PathVariable String path, @PathVariable("id") Event event,
+    public String getEvent(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, @PathVariable("id") Event event,
                            Model model) {
-        model.addAttribute(account);
+        model.addAttribute("account", account);
         model.addAttribute(event);
+        model.addAttribute(eventService.getViewState(event, account != null ? account.getId() : null));
         model.addAttribute(studyRepository.findStudyWithManagersByPath(path));
         return "event/view";
     }
 
 
     @GetMapping("/events")
-    public String eventsMain(@CurrentUser Account account, @PathVariable String path, Model model) {
-        Study study = studyService.getStudy(path);
-        model.addAttribute(account);
-        model.addAttribute(study);
-        List<Event> events = eventService.findByStudyOrderByStartDateTime(study);
-        List<Event> oldEvents = new ArrayList<>();
-        List<Event> newEvents = new ArrayList<>();
-        events.forEach(e -> {
-            if (e.getEndDateTime().isBefore(LocalDateTime.now())) {
-                oldEvents.add(e);
-            } else {
-                newEvents.add(e);
-            }
-        });
-        model.addAttribute("oldEvents", oldEvents);
-        model.addAttribute("newEvents", newEvents);
+    public String eventsMain(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, Model model) {
+        StudyView study = studyViewService.getStudyView(path);
+        LocalDateTime now = LocalDateTime.now();
+        model.addAttribute("account", account);
+        model.addAttribute("study", study);
+        model.addAttribute("newEvents", eventService.getUpcomingEvents(study.getId(), now));
+        model.addAttribute("oldEvents", eventService.getPastEvents(study.getId(), now));
+        model.addAttribute("numberOfNewEvents", eventRepository.countByStudyIdAndEndDateTimeGreaterThanEqual(study.getId(), now));
+        model.addAttribute("numberOfOldEvents", eventRepository.countByStudyIdAndEndDateTimeBefore(study.getId(), now));
         return "study/events";
     }
 
+    /**
+     * 새 모임 더 보기. 앞에서 받은 마지막 모임의 시작 일시와 id 다음부터 이어서 준다.
+     */
+    @GetMapping("/events/upcoming")
+    @ResponseBody
+    public EventSlice upcomingEvents(@PathVariable String path,
+                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDateTime,
+                                     @RequestParam Long id) {
+        StudyView study = studyViewService.getStudyView(path);
+        return eventService.getUpcomingEventsAfter(study.getId(), LocalDateTime.now(), startDateTime, id);
+    }
+
+    /**
+     * 지난 모임 더 보기. 앞에서 받은 마지막 모임의 종료 일시와 id 다음부터 이어서 준다.
+     */
+    @GetMapping("/events/past")
+    @ResponseBody
+    public EventSlice pastEvents(@PathVariable String path,
+                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDateTime,
+                                 @RequestParam Long id) {
+        StudyView study = studyViewService.getStudyView(path);
+        return eventService.getPastEventsBefore(study.getId(), endDateTime, id);
+    }
+
     @GetMapping("/events/{id}/edit")
-    public String updateEventForm(@CurrentUser Account account,
+    public String updateEventForm(@CurrentUserSnapshot AccountSnapshot account,
                                   @PathVariable String path, @PathVariable("id") Event event, Model model) {
-        Study study = studyService.getStudyToUpdate(account, path);
+        Study study = studyService.getStudyToUpdate(account.getId(), path);
         model.addAttribute(study);
-        model.addAttribute(account);
+        model.addAttribute("account", account);
         model.addAttribute(event);
         model.addAttribute(modelMapper.map(event, EventForm.class));
         return "event/update-form";
     }
 
     @PostMapping("/events/{id}/edit")
-    public String updateEventSubmit(@CurrentUser Account account, @PathVariable String path,
+    public String updateEventSubmit(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path,
                                     @PathVariable("id") Event event, @Valid EventForm eventForm, Errors errors,
                                     Model model) {
-        Study study = studyService.getStudyToUpdate(account, path);
+        Study study = studyService.getStudyToUpdate(account.getId(), path);
         eventForm.setEventType(event.getEventType());
         eventValidator.validateUpdateForm(eventForm, event, errors);
 
         if (errors.hasErrors()) {
-            model.addAttribute(account);
+            model.addAttribute("account", account);
             model.addAttribute(study);
             model.addAttribute(event);
             return "event/update-form";
@@ -123,12 +144,58 @@ public class EventController {
         return "redirect:/study/" + study.getEncodedPath() +  "/events/" + event.getId();
     }
 
+    @PostMapping("/events/{id}/enroll")
+    public String newEnrollment(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path,
+                                @PathVariable Long id, RedirectAttributes attributes) {
+        Study study = studyService.getStudyToEnroll(path);
+        checkIfEventOfStudy(study, id);
+        String eventUrl = "redirect:/study/" + study.getEncodedPath() + "/events/" + id;
+        if (!study.isPublished() || study.isClosed()) {
+            attributes.addFlashAttribute("message", "공개 중인 스터디의 모임에만 참가 신청할 수 있습니다.");
+            return eventUrl;
+        }
+
+        try {
+            enrollmentService.enroll(id, account.getId());
+        } catch (EnrollmentClosedException e) {
+            attributes.addFlashAttribute("message", e.getMessage());
+        }
+        return eventUrl;
+    }
+
+    @PostMapping("/events/{eventId}/enrollments/{enrollmentId}/accept")
+    public String acceptEnrollment(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path,
+                                   @PathVariable Long eventId, @PathVariable Long enrollmentId) {
+        Study study = studyService.getStudyToUpdate(account.getId(), path);
+        checkIfEventOfStudy(study, eventId);
+        enrollmentService.accept(eventId, enrollmentId);
+        return "redirect:/study/" + study.getEncodedPath() + "/events/" + eventId;
+    }
+
+    @PostMapping("/events/{eventId}/enrollments/{enrollmentId}/reject")
+    public String rejectEnrollment(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path,
+                                   @PathVariable Long eventId, @PathVariable Long enrollmentId) {
+        Study study = studyService.getStudyToUpdate(account.getId(), path);
+        checkIfEventOfStudy(study, eventId);
+        enrollmentService.reject(eventId, enrollmentId);
+        return "redirect:/study/" + study.getEncodedPath() + "/events/" + eventId;
+    }
+
     @PostMapping("/events/{id}/disenroll")
-    public String cancelEnrollment(@CurrentUser Account account,
-                                   @PathVariable String path, @PathVariable("id") Event event) {
+    public String cancelEnrollment(@CurrentUserSnapshot AccountSnapshot account,
+                                   @PathVariable String path, @PathVariable Long id) {
         Study study = studyService.getStudyToEnroll(path);
-        eventService.cancelEnrollment(event, account);
-        return "redirect:/study/" + study.getEncodedPath() + "/events/" + event.getId();
+        checkIfEventOfStudy(study, id);
+        enrollmentService.cancel(id, account.getId());
+        return "redirect:/study/" + study.getEncodedPath() + "/events/" + id;
     }
 
+    /**
+     * 주소의 스터디에 접근할 수 있다고 해서 다른 스터디의 모임까지 다룰 수 있으면 안 되므로 모임이 그 스터디의 것인지 확인한다.
+     */
+    private void checkIfEventOfStudy(Study study, Long eventId) {
+        if (!eventRepository.existsByIdAndStudyId(eventId, study.getId())) {
+            throw new EventNotFoundException(study.getPath(), eventId);
+        }
+    }
 }
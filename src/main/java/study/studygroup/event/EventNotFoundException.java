@@ -0,0 +1,11 @@
+package study.studygroup.event;
+
+/**
+ * 주소의 스터디에 속하지 않은 모임을 요청했을 때 던진다. 다른 스터디의 모임은 없는 모임과 같이 404 로 돌려보낸다.
+ */
+public class EventNotFoundException extends RuntimeException {
+
+    public EventNotFoundException(String path, Long eventId) {
+        super(path + " 스터디에 " + eventId + " 모임이 없습니다.");
+    }
+}
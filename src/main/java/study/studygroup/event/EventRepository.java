@@ -1,17 +1,85 @@
 package study.studygroup.event;
 
 
-import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import study.studygroup.domain.Event;
 import study.studygroup.domain.Study;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface EventRepository extends JpaRepository<Event, Long> {
-    @EntityGraph(value = "Event.withEnrollments", type = EntityGraph.EntityGraphType.LOAD)
-    List<Event> findByStudyOrderByStartDateTime(Study study);
+
+    String SUMMARY = "select new study.studygroup.event.EventSummary(e.id, e.title, e.eventType, e.startDateTime, " +
+            "e.endDateTime, e.endEnrollmentDateTime, e.limitOfEnrollments, e.acceptedCount) from Event e ";
+
     Event findByTitle(String title);
 
+    boolean existsByIdAndStudyId(Long id, Long studyId);
+
     List<Event> findByStudy(Study study);
+
+    long countByStudyIdAndEndDateTimeGreaterThanEqual(Long studyId, LocalDateTime now);
+
+    long countByStudyIdAndEndDateTimeBefore(Long studyId, LocalDateTime now);
+
+    @Query(SUMMARY + "where e.study.id = :studyId and e.endDateTime >= :now order by e.startDateTime asc, e.id asc")
+    List<EventSummary> findUpcoming(Long studyId, LocalDateTime now, Pageable pageable);
+
+    /**
+     * 새 모임 이어 읽기. 앞 묶음의 마지막 모임보다 뒤에 시작하는 모임만 읽는다.
+     */
+    @Query(SUMMARY + "where e.study.id = :studyId and e.endDateTime >= :now and (e.startDateTime > :startDateTime " +
+            "or (e.startDateTime = :startDateTime and e.id > :id)) order by e.startDateTime asc, e.id asc")
+    List<EventSummary> findUpcomingAfter(Long studyId, LocalDateTime now, LocalDateTime startDateTime, Long id,
+                                         Pageable pageable);
+
+    @Query(SUMMARY + "where e.study.id = :studyId and e.endDateTime < :now order by e.endDateTime desc, e.id desc")
+    List<EventSummary> findPast(Long studyId, LocalDateTime now, Pageable pageable);
+
+    /**
+     * 지난 모임 이어 읽기. 앞 묶음의 마지막 모임보다 뒤에 오는 모임만 읽으므로 OFFSET 없이 인덱스에서 바로 이어진다.
+     */
+    @Query(SUMMARY + "where e.study.id = :studyId and (e.endDateTime < :endDateTime " +
+            "or (e.endDateTime = :endDateTime and e.id < :id)) order by e.endDateTime desc, e.id desc")
+    List<EventSummary> findPastBefore(Long studyId, LocalDateTime endDateTime, Long id, Pageable pageable);
+
+    @Query("select e.eventType from Event e where e.id = :eventId and e.endEnrollmentDateTime > :now")
+    EventType findEventTypeIfEnrollable(Long eventId, LocalDateTime now);
+
+    /**
+     * 남은 자리가 있을 때만 확정 인원을 하나 늘린다. 여러 요청, 여러 노드가 동시에 호출해도 자리를 넘겨 주지 않는다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Event e set e.acceptedCount = e.acceptedCount + 1 " +
+            "where e.id = :eventId and e.acceptedCount < e.limitOfEnrollments")
+    int tryAcquireSeat(Long eventId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Event e set e.acceptedCount = e.acceptedCount - 1 where e.id = :eventId and e.acceptedCount > 0")
+    int releaseSeat(Long eventId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Event e set e.waitingCount = e.waitingCount + 1 where e.id = :eventId")
+    int addWaiting(Long eventId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Event e set e.waitingCount = e.waitingCount - 1 where e.id = :eventId and e.waitingCount > 0")
+    int removeWaiting(Long eventId);
+
+    /**
+     * 남은 자리가 있고 대기자가 있을 때만 대기자 한 명을 확정 인원으로 옮긴다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Event e set e.acceptedCount = e.acceptedCount + 1, e.waitingCount = e.waitingCount - 1 " +
+            "where e.id = :eventId and e.acceptedCount < e.limitOfEnrollments and e.waitingCount > 0")
+    int tryPromoteWaiting(Long eventId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Event e set e.acceptedCount = e.acceptedCount - 1, e.waitingCount = e.waitingCount + 1 " +
+            "where e.id = :eventId and e.acceptedCount > 0")
+    int demoteAccepted(Long eventId);
 }
@@ -2,14 +2,17 @@ package study.studygroup.event;
 
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import study.studygroup.domain.Account;
+import study.studygroup.account.AccountRepository;
 import study.studygroup.domain.Enrollment;
 import study.studygroup.domain.Event;
 import study.studygroup.domain.Study;
 import study.studygroup.event.form.EventForm;
 import study.studygroup.study.StudyRepository;
+import study.studygroup.study.event.StudyUpdateEvent;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -19,41 +22,149 @@ import java.util.List;
 @Transactional
 public class EventService {
 
+    static final int UPCOMING_PAGE_SIZE = 20;
+    static final int PAST_PAGE_SIZE = 10;
+
     private final EventRepository eventRepository;
     private final StudyRepository studyRepository;
     private final ModelMapper modelMapper;
     private final EnrollmentRepository enrollmentRepository;
+    private final AccountRepository accountRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public Event createEvent(Event event, Account account, Study study) {
-        event.setCreatedBy(account);
+    public Event createEvent(Event event, Long accountId, Study study) {
+        event.setCreatedBy(accountRepository.getOne(accountId));
         event.setStudy(study);
         event.setCreatedDateTime(LocalDateTime.now());
         return eventRepository.save(event);
     }
 
-    public List<Event> findByStudyOrderByStartDateTime(Study study) {
-        return eventRepository.findByStudyOrderByStartDateTime(study);
+    @Transactional(readOnly = true)
+    public EventSlice getUpcomingEvents(Long studyId, LocalDateTime now) {
+        return slice(eventRepository.findUpcoming(studyId, now, PageRequest.of(0, UPCOMING_PAGE_SIZE + 1)),
+                UPCOMING_PAGE_SIZE);
+    }
+
+    @Transactional(readOnly = true)
+    public EventSlice getUpcomingEventsAfter(Long studyId, LocalDateTime now, LocalDateTime startDateTime, Long id) {
+        return slice(eventRepository.findUpcomingAfter(studyId, now, startDateTime, id,
+                PageRequest.of(0, UPCOMING_PAGE_SIZE + 1)), UPCOMING_PAGE_SIZE);
+    }
+
+    @Transactional(readOnly = true)
+    public EventSlice getPastEvents(Long studyId, LocalDateTime now) {
+        return slice(eventRepository.findPast(studyId, now, PageRequest.of(0, PAST_PAGE_SIZE + 1)), PAST_PAGE_SIZE);
+    }
+
+    @Transactional(readOnly = true)
+    public EventSlice getPastEventsBefore(Long studyId, LocalDateTime endDateTime, Long id) {
+        return slice(eventRepository.findPastBefore(studyId, endDateTime, id, PageRequest.of(0, PAST_PAGE_SIZE + 1)),
+                PAST_PAGE_SIZE);
+    }
+
+    /**
+     * 한 개를 더 읽어서 다음 묶음이 있는지 판단한다. 전체 개수를 세는 쿼리는 하지 않는다.
+     */
+    private EventSlice slice(List<EventSummary> events, int size) {
+        boolean hasNext = events.size() > size;
+        return new EventSlice(hasNext ? events.subList(0, size) : events, hasNext);
     }
 
     public void updateEvent(Event event, EventForm eventForm) {
         modelMapper.map(eventForm, event);
-        event.acceptWaitingList();
-//        eventPublisher.publishEvent(new StudyUpdateEvent(event.getStudy(),
-//                "'" + event.getTitle() + "' 모임 정보를 수정했으니 확인하세요."));
+        acceptWaitingEnrollments(event);
+        eventPublisher.publishEvent(new StudyUpdateEvent(event.getStudy().getId(),
+                "'" + event.getTitle() + "' 모임 정보를 수정했으니 확인하세요."));
     }
 
     public void deleteEvent(Event event) {
         eventRepository.delete(event);
-//        eventPublisher.publishEvent(new StudyUpdateEvent(event.getStudy(),
-//                "'" + event.getTitle() + "' 모임을 취소했습니다."));
+        eventPublisher.publishEvent(new StudyUpdateEvent(event.getStudy().getId(),
+                "'" + event.getTitle() + "' 모임을 취소했습니다."));
+    }
+
+    /**
+     * 모임 화면에 쓸 참가 신청 상태. 신청한 계정까지 한 번의 쿼리로 읽는다.
+     */
+    @Transactional(readOnly = true)
+    public EventViewState getViewState(Event event, Long accountId) {
+        List<Enrollment> enrollments = enrollmentRepository.findWithAccountByEventIdOrderByEnrolledAtAscIdAsc(event.getId());
+        return new EventViewState(event, enrollments, accountId, LocalDateTime.now());
     }
 
-    public void cancelEnrollment(Event event, Account account) {
-        Enrollment enrollment = enrollmentRepository.findByEventAndAccount(event, account);
-        if (!enrollment.isAttended()) {
-            event.removeEnrollment(enrollment);
-            enrollmentRepository.delete(enrollment);
-            event.acceptNextWaitingEnrollment();
+    /**
+     * 참가 신청을 만든다. 선착순 모임이면 조건부 UPDATE 로 자리를 잡았을 때만 바로 확정한다.
+     * 신청이 몰리는 경로라서 모임과 계정 엔티티는 로딩하지 않고 참조만 건다.
+     * 같은 계정이 두 번 신청하면 유니크 제약에 걸려 자리를 잡은 것까지 함께 롤백된다.
+     */
+    public Enrollment newEnrollment(Long eventId, Long accountId) {
+        EventType eventType = eventRepository.findEventTypeIfEnrollable(eventId, LocalDateTime.now());
+        if (eventType == null) {
+            throw new EnrollmentClosedException();
+        }
+
+        Enrollment existing = enrollmentRepository.findByEventIdAndAccountId(eventId, accountId);
+        if (existing != null) {
+            return existing;
+        }
+
+        Enrollment enrollment = new Enrollment();
+        enrollment.setEvent(eventRepository.getOne(eventId));
+        enrollment.setAccount(accountRepository.getOne(accountId));
+        enrollment.setEnrolledAt(LocalDateTime.now());
+        enrollment.setAccepted(eventType == EventType.FCFS && eventRepository.tryAcquireSeat(eventId) == 1);
+        if (!enrollment.isAccepted()) {
+            eventRepository.addWaiting(eventId);
+        }
+        return enrollmentRepository.save(enrollment);
+    }
+
+    public void cancelEnrollment(Long eventId, Long accountId) {
+        Enrollment enrollment = enrollmentRepository.findByEventIdAndAccountId(eventId, accountId);
+        if (enrollment == null || enrollment.isAttended()) {
+            return;
+        }
+
+        enrollmentRepository.delete(enrollment);
+        if (enrollment.isAccepted()) {
+            eventRepository.releaseSeat(eventId);
+            acceptWaitingEnrollments(enrollment.getEvent());
+        } else {
+            eventRepository.removeWaiting(eventId);
+        }
+    }
+
+    public void acceptEnrollment(Long eventId, Long enrollmentId) {
+        Event event = eventRepository.findById(eventId).orElseThrow();
+        Enrollment enrollment = enrollmentRepository.findById(enrollmentId).orElseThrow();
+        if (event.canAccept(enrollment) && eventRepository.tryPromoteWaiting(eventId) == 1) {
+            enrollment.setAccepted(true);
+        }
+    }
+
+    public void rejectEnrollment(Long eventId, Long enrollmentId) {
+        Event event = eventRepository.findById(eventId).orElseThrow();
+        Enrollment enrollment = enrollmentRepository.findById(enrollmentId).orElseThrow();
+        if (event.canReject(enrollment) && eventRepository.demoteAccepted(eventId) == 1) {
+            enrollment.setAccepted(false);
+        }
+    }
+
+    /**
+     * 선착순 모임에 빈자리가 생기면 먼저 신청한 대기자부터 자리를 잡아 준다.
+     * 대기열 맨 앞만 인덱스로 꺼내므로 옮기는 인원 수만큼만 읽는다.
+     */
+    private void acceptWaitingEnrollments(Event event) {
+        if (event.getEventType() != EventType.FCFS) {
+            return;
+        }
+
+        while (true) {
+            Enrollment next = enrollmentRepository.findFirstByEventIdAndAcceptedOrderByEnrolledAtAscIdAsc(event.getId(), false);
+            if (next == null || eventRepository.tryPromoteWaiting(event.getId()) == 0) {
+                return;
+            }
+            next.setAccepted(true);
         }
     }
 }
@@ -0,0 +1,18 @@
+package study.studygroup.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 키셋 방식으로 읽은 모임 목록 한 묶음. 다음 묶음은 마지막 모임의 정렬 기준 값과 id 로 이어서 읽는다.
+ */
+@Getter
+@AllArgsConstructor
+public class EventSlice {
+
+    private final List<EventSummary> events;
+
+    private final boolean hasNext;
+}
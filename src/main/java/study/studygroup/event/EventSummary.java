@@ -0,0 +1,34 @@
+package study.studygroup.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 모임 목록에 쓰는 가벼운 조회 결과. 참가 신청 목록 대신 Event 에 쌓아 둔 인원 수를 쓴다.
+ */
+@Getter
+@AllArgsConstructor
+public class EventSummary {
+
+    private final Long id;
+
+    private final String title;
+
+    private final EventType eventType;
+
+    private final LocalDateTime startDateTime;
+
+    private final LocalDateTime endDateTime;
+
+    private final LocalDateTime endEnrollmentDateTime;
+
+    private final int limitOfEnrollments;
+
+    private final Integer acceptedCount;
+
+    public int numberOfRemainSpots() {
+        return this.limitOfEnrollments - this.acceptedCount;
+    }
+}
@@ -0,0 +1,94 @@
+package study.studygroup.event;
+
+import lombok.Getter;
+import study.studygroup.domain.Enrollment;
+import study.studygroup.domain.Event;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 모임 화면 한 번을 그리는 데 필요한 참가 신청 상태. 참가 신청 목록을 한 번 읽어서 계정별 상태와 인원 수를 미리 계산해 두고,
+ * 화면에서 여러 번 묻는 질문은 목록을 다시 훑지 않고 여기서 답한다. 시간 비교도 요청 시작 시각 하나로 고정한다.
+ */
+@Getter
+public class EventViewState {
+
+    public enum EnrollmentStatus {
+        WAITING, ACCEPTED, ATTENDED
+    }
+
+    private final LocalDateTime now;
+    private final List<Enrollment> enrollments;
+    private final Map<Long, EnrollmentStatus> statusByAccountId;
+    private final int acceptedCount;
+    private final int waitingCount;
+    private final boolean enrollmentOpen;
+    private final EventType eventType;
+    private final int limitOfEnrollments;
+    private final EnrollmentStatus currentStatus;
+
+    public EventViewState(Event event, List<Enrollment> enrollments, Long currentAccountId, LocalDateTime now) {
+        this.now = now;
+        this.enrollments = enrollments;
+        this.eventType = event.getEventType();
+        this.limitOfEnrollments = event.getLimitOfEnrollments();
+        this.enrollmentOpen = event.getEndEnrollmentDateTime().isAfter(now);
+
+        Map<Long, EnrollmentStatus> statusByAccountId = new HashMap<>(enrollments.size() * 2);
+        int accepted = 0;
+        for (Enrollment enrollment : enrollments) {
+            EnrollmentStatus status = statusOf(enrollment);
+            statusByAccountId.put(enrollment.getAccount().getId(), status);
+            if (status != EnrollmentStatus.WAITING) {
+                accepted++;
+            }
+        }
+        this.statusByAccountId = statusByAccountId;
+        this.acceptedCount = accepted;
+        this.waitingCount = enrollments.size() - accepted;
+        this.currentStatus = currentAccountId != null ? statusByAccountId.get(currentAccountId) : null;
+    }
+
+    private static EnrollmentStatus statusOf(Enrollment enrollment) {
+        if (enrollment.isAttended()) {
+            return EnrollmentStatus.ATTENDED;
+        }
+        return enrollment.isAccepted() ? EnrollmentStatus.ACCEPTED : EnrollmentStatus.WAITING;
+    }
+
+    public int getNumberOfEnrollments() {
+        return enrollments.size();
+    }
+
+    public int getNumberOfRemainSpots() {
+        return limitOfEnrollments - acceptedCount;
+    }
+
+    public boolean isEnrollable() {
+        return enrollmentOpen && currentStatus == null;
+    }
+
+    public boolean isDisenrollable() {
+        return enrollmentOpen && currentStatus != null && currentStatus != EnrollmentStatus.ATTENDED;
+    }
+
+    public boolean isAttended() {
+        return currentStatus == EnrollmentStatus.ATTENDED;
+    }
+
+    public boolean canAccept(Enrollment enrollment) {
+        return eventType == EventType.CONFIRMATIVE
+                && limitOfEnrollments > acceptedCount
+                && !enrollment.isAttended()
+                && !enrollment.isAccepted();
+    }
+
+    public boolean canReject(Enrollment enrollment) {
+        return eventType == EventType.CONFIRMATIVE
+                && !enrollment.isAttended()
+                && enrollment.isAccepted();
+    }
+}
@@ -0,0 +1,19 @@
+package study.studygroup.image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * 내용의 SHA-256 해시를 키로 바이트를 저장하는 저장소.
+ * 같은 내용은 한 번만 저장되고, 한 번 저장된 키의 내용은 바뀌지 않는다.
+ */
+public interface BlobStore {
+
+    /**
+     * 스트림을 끝까지 읽어 저장하고 내용의 해시(소문자 16진수 64자)를 돌려준다. 이미 있는 내용이면 다시 쓰지 않는다.
+     */
+    String save(InputStream content) throws IOException;
+
+    Optional<StoredBlob> find(String hash);
+}
@@ -0,0 +1,75 @@
+package study.studygroup.image;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * 해시로 저장된 이미지를 내려준다. 주소가 내용의 해시이므로 내용이 바뀔 일이 없고, 그래서 ETag 는 해시 그대로,
+ * 캐시는 1년 immutable 로 준다.
+ */
+@Controller
+@RequiredArgsConstructor
+public class ImageController {
+
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final BlobStore blobStore;
+
+    @GetMapping("/images/{hash:[0-9a-f]{64}}")
+    public void image(@PathVariable String hash, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Optional<StoredBlob> found = blobStore.find(hash);
+        if (found.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        StoredBlob blob = found.get();
+        String etag = "\"" + hash + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(blob.getContentType());
+        response.setContentLengthLong(blob.getSize());
+
+        // 톰캣 NIO 커넥터가 sendfile 을 지원하면 파일 전송을 커넥터에 넘기고, 아니면 transferTo 로 직접 보낸다.
+        Optional<Path> localPath = blob.getLocalPath();
+        if (localPath.isPresent() && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, localPath.get().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, blob.getSize());
+            return;
+        }
+        blob.writeTo(response.getOutputStream());
+    }
+
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
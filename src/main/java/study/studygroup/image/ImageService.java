@@ -0,0 +1,39 @@
+package study.studygroup.image;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+@Service
+@RequiredArgsConstructor
+public class ImageService {
+
+    private final BlobStore blobStore;
+
+    /**
+     * 업로드한 파일이 이미지인지 시그니처로 확인한 뒤 저장하고 해시를 돌려준다.
+     */
+    public String saveImage(MultipartFile file) throws IOException {
+        try (BufferedInputStream in = new BufferedInputStream(file.getInputStream())) {
+            return saveImage(in);
+        }
+    }
+
+    public String saveImage(byte[] image) throws IOException {
+        return saveImage(new BufferedInputStream(new ByteArrayInputStream(image)));
+    }
+
+    private String saveImage(BufferedInputStream in) throws IOException {
+        in.mark(ImageType.SIGNATURE_LENGTH);
+        byte[] header = in.readNBytes(ImageType.SIGNATURE_LENGTH);
+        in.reset();
+        if (ImageType.detect(header).isEmpty()) {
+            throw new IllegalArgumentException("PNG, JPEG, GIF 이미지만 사용할 수 있습니다.");
+        }
+        return blobStore.save(in);
+    }
+}
@@ -0,0 +1,35 @@
+package study.studygroup.image;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * 배너로 받을 수 있는 이미지 형식. 파일 이름이나 클라이언트가 보낸 Content-Type 대신 내용의 시그니처로 판단한다.
+ */
+public enum ImageType {
+
+    PNG("image/png", new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}),
+    JPEG("image/jpeg", new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}),
+    GIF("image/gif", new byte[]{'G', 'I', 'F', '8'});
+
+    public static final int SIGNATURE_LENGTH = 8;
+
+    private final String mediaType;
+    private final byte[] signature;
+
+    ImageType(String mediaType, byte[] signature) {
+        this.mediaType = mediaType;
+        this.signature = signature;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public static Optional<ImageType> detect(byte[] header) {
+        return Arrays.stream(values())
+                .filter(type -> header.length >= type.signature.length
+                        && Arrays.equals(type.signature, Arrays.copyOf(header, type.signature.length)))
+                .findFirst();
+    }
+}
@@ -0,0 +1,140 @@
+package study.studygroup.image;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import study.studygroup.config.AppProperties;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 예전에는 study.image 컬럼에 data URL(base64) 문자열로 배너를 저장했다.
+ * 남아 있는 값을 청크 단위로 읽어 {@link BlobStore} 로 옮기고 해시를 study.image_hash 에 남긴다.
+ * 예전 컬럼은 옮기는 단계에서 건드리지 않는다. app.legacy-banner-cleanup 을 켠 뒤에 저장소에 이미지가 있는 것을 확인한 행만 비운다.
+ * 엔티티에서는 더 이상 image 컬럼을 매핑하지 않으므로 JdbcTemplate 으로 직접 다룬다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LegacyBannerImageMigration {
+
+    private static final int CHUNK_SIZE = 50;
+    private static final String DATA_URL_PREFIX = "data:image/";
+    private static final String BASE64_MARKER = ";base64,";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ImageService imageService;
+    private final BlobStore blobStore;
+    private final AppProperties appProperties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (hasLegacyColumn()) {
+            int migrated = migrate();
+            log.info("migrated {} legacy banner images", migrated);
+            if (appProperties.isLegacyBannerCleanup()) {
+                int cleared = clearMigrated();
+                log.info("cleared {} legacy banner images", cleared);
+            }
+        }
+    }
+
+    public boolean hasLegacyColumn() {
+        try {
+            jdbcTemplate.queryForObject("select count(*) from study where 1 = 0 and image is null", Integer.class);
+            return true;
+        } catch (BadSqlGrammarException e) {
+            return false;
+        }
+    }
+
+    public int migrate() {
+        long lastId = 0;
+        int migrated = 0;
+        while (true) {
+            List<LegacyImage> chunk = jdbcTemplate.query(
+                    "select id, image from study where image is not null and image_hash is null and id > ? order by id limit ?",
+                    (rs, rowNum) -> new LegacyImage(rs.getLong("id"), rs.getString("image")),
+                    lastId, CHUNK_SIZE);
+            if (chunk.isEmpty()) {
+                return migrated;
+            }
+
+            List<Object[]> updates = new ArrayList<>(chunk.size());
+            for (LegacyImage legacyImage : chunk) {
+                String hash = store(legacyImage);
+                if (hash != null) {
+                    updates.add(new Object[]{hash, legacyImage.id});
+                }
+            }
+            jdbcTemplate.batchUpdate("update study set image_hash = ? where id = ?", updates);
+            migrated += updates.size();
+            lastId = chunk.get(chunk.size() - 1).id;
+        }
+    }
+
+    /**
+     * 옮긴 배너 중 저장소에서 찾을 수 있는 것만 예전 컬럼을 비운다. 찾을 수 없는 행은 남겨 두고 경고한다.
+     */
+    public int clearMigrated() {
+        long lastId = 0;
+        int cleared = 0;
+        while (true) {
+            List<Map<String, Object>> chunk = jdbcTemplate.queryForList(
+                    "select id, image_hash from study where image is not null and image_hash is not null " +
+                            "and id > ? order by id limit ?", lastId, CHUNK_SIZE);
+            if (chunk.isEmpty()) {
+                return cleared;
+            }
+
+            List<Object[]> updates = new ArrayList<>(chunk.size());
+            for (Map<String, Object> row : chunk) {
+                long id = ((Number) row.get("id")).longValue();
+                String hash = (String) row.get("image_hash");
+                if (blobStore.find(hash).isPresent()) {
+                    updates.add(new Object[]{id, hash});
+                } else {
+                    log.warn("banner {} of study {} is missing from the blob store, legacy image kept", hash, id);
+                }
+            }
+            jdbcTemplate.batchUpdate("update study set image = null where id = ? and image_hash = ?", updates);
+            cleared += updates.size();
+            lastId = ((Number) chunk.get(chunk.size() - 1).get("id")).longValue();
+        }
+    }
+
+    private String store(LegacyImage legacyImage) {
+        String dataUrl = legacyImage.image;
+        int marker = dataUrl.indexOf(BASE64_MARKER);
+        if (!dataUrl.startsWith(DATA_URL_PREFIX) || marker < 0) {
+            log.warn("study {} has a banner that is not a base64 data url, skipped", legacyImage.id);
+            return null;
+        }
+
+        try {
+            byte[] image = Base64.getMimeDecoder().decode(dataUrl.substring(marker + BASE64_MARKER.length()));
+            return imageService.saveImage(image);
+        } catch (IllegalArgumentException | IOException e) {
+            log.warn("could not migrate banner of study {}", legacyImage.id, e);
+            return null;
+        }
+    }
+
+    private static class LegacyImage {
+        private final long id;
+        private final String image;
+
+        LegacyImage(long id, String image) {
+            this.id = id;
+            this.image = image;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package study.studygroup.image;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * 로컬 디스크에 {@code root/ab/abcdef...} 형태로 저장하는 {@link BlobStore}.
+ * 임시 파일에 쓰면서 해시를 계산하고, 다 쓴 뒤 해시 이름으로 옮기기 때문에 읽는 쪽이 반쯤 쓴 파일을 볼 일은 없다.
+ */
+@Slf4j
+public class LocalFileBlobStore implements BlobStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final Path tmp;
+
+    public LocalFileBlobStore(Path root) {
+        this.root = root;
+        this.tmp = root.resolve("tmp");
+        try {
+            Files.createDirectories(tmp);
+        } catch (IOException e) {
+            throw new UncheckedIOException("이미지 저장소 디렉토리를 만들 수 없습니다: " + root, e);
+        }
+    }
+
+    @Override
+    public String save(InputStream content) throws IOException {
+        Path temp = Files.createTempFile(tmp, "upload", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                content.transferTo(out);
+            }
+
+            String hash = toHex(digest.digest());
+            Path target = pathOf(hash);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    log.debug("blob {} was stored concurrently", hash);
+                }
+            }
+            return hash;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Optional<StoredBlob> find(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+
+        Path path = pathOf(hash);
+        try {
+            return Optional.of(new LocalBlob(hash, path, Files.size(path)));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Path pathOf(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static class LocalBlob implements StoredBlob {
+
+        private final String hash;
+        private final Path path;
+        private final long size;
+
+        LocalBlob(String hash, Path path, long size) {
+            this.hash = hash;
+            this.path = path;
+            this.size = size;
+        }
+
+        @Override
+        public String getHash() {
+            return hash;
+        }
+
+        @Override
+        public long getSize() {
+            return size;
+        }
+
+        @Override
+        public String getContentType() throws IOException {
+            ByteBuffer header = ByteBuffer.allocate(ImageType.SIGNATURE_LENGTH);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                channel.read(header, 0);
+            }
+            return ImageType.detect(Arrays.copyOf(header.array(), header.position()))
+                    .map(ImageType::getMediaType)
+                    .orElse("application/octet-stream");
+        }
+
+        @Override
+        public Optional<Path> getLocalPath() {
+            return Optional.of(path);
+        }
+
+        /**
+         * {@link FileChannel#transferTo} 로 보내서 힙에 내용을 복사하지 않는다.
+         */
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                WritableByteChannel target = Channels.newChannel(out);
+                long position = 0;
+                while (position < size) {
+                    position += channel.transferTo(position, size - position, target);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package study.studygroup.image;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+public interface StoredBlob {
+
+    String getHash();
+
+    long getSize();
+
+    /**
+     * 앞부분의 몇 바이트만 읽어 이미지 형식을 판단한다. 알 수 없으면 application/octet-stream.
+     */
+    String getContentType() throws IOException;
+
+    /**
+     * 로컬 파일에 있는 경우 그 경로. 서블릿 컨테이너의 sendfile 을 쓸 수 있을 때 사용한다.
+     */
+    Optional<Path> getLocalPath();
+
+    void writeTo(OutputStream out) throws IOException;
+}
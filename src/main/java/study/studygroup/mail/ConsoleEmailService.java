@@ -7,7 +7,7 @@ import org.springframework.stereotype.Component;
 import javax.validation.constraints.Email;
 
 @Profile("local")
-@Component
+@Component("emailTransport")
 @Slf4j
 public class ConsoleEmailService implements EmailService {
     @Override
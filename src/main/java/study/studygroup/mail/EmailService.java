@@ -1,6 +1,30 @@
 package study.studygroup.mail;
 
+import org.springframework.mail.MailSendException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 public interface EmailService {
 
     void sendEmail(EmailMessage emailMessage);
+
+    /**
+     * 여러 메일을 한 번에 보낸다. 보내지 못한 메일이 있으면 나머지는 모두 보낸 뒤
+     * 실패한 {@link EmailMessage} 와 원인을 담은 {@link MailSendException} 을 던진다.
+     */
+    default void sendEmails(List<EmailMessage> emailMessages) {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        for (EmailMessage emailMessage : emailMessages) {
+            try {
+                sendEmail(emailMessage);
+            } catch (RuntimeException e) {
+                failedMessages.put(emailMessage, e);
+            }
+        }
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
 }
@@ -4,34 +4,104 @@ package study.studygroup.mail;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
 
 import javax.mail.MessagingException;
+import javax.mail.Transport;
 import javax.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Profile("dev")
-@Component
+@Component("emailTransport")
 @Slf4j
 @RequiredArgsConstructor
 public class HtmlEmailService implements EmailService{
 
     private final JavaMailSender javaMailSender;
+    private final SmtpConnectionPool smtpConnectionPool;
 
     @Override
     public void sendEmail(EmailMessage emailMessage) {
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        sendEmails(List.of(emailMessage));
+    }
+
+    /**
+     * 풀에서 빌린 연결 하나로 모든 메일을 보낸다. 연결이 끊겨 실패한 메일만 다시 연결해서 한 번 더 보내 보고,
+     * 서버가 거절한 메일은 바로 실패로 돌려 아웃박스가 간격을 두고 다시 보내게 한다.
+     */
+    @Override
+    public void sendEmails(List<EmailMessage> emailMessages) {
+        Map<Object, Exception> failedMessages = new IdentityHashMap<>();
+        List<EmailMessage> pending = new ArrayList<>(emailMessages.size());
+        List<MimeMessage> mimeMessages = new ArrayList<>(emailMessages.size());
+        for (EmailMessage emailMessage : emailMessages) {
+            try {
+                mimeMessages.add(createMimeMessage(emailMessage));
+                pending.add(emailMessage);
+            } catch (MessagingException e) {
+                failedMessages.put(emailMessage, e);
+            }
+        }
+
+        Transport transport = null;
+        int i = 0;
         try {
-            MimeMessageHelper mimeMessageHelper = new MimeMessageHelper(mimeMessage, false, "UTF-8");
-            mimeMessageHelper.setTo(emailMessage.getTo());
-            mimeMessageHelper.setSubject(emailMessage.getSubject() );
-            mimeMessageHelper.setText(emailMessage.getMessage(), true );
-            javaMailSender.send(mimeMessage);
-            log.info("sent email: {}", emailMessage.getMessage());
+            transport = smtpConnectionPool.borrow();
+            for (; i < mimeMessages.size(); i++) {
+                try {
+                    send(transport, mimeMessages.get(i));
+                } catch (MessagingException e) {
+                    if (transport.isConnected()) {
+                        log.error("failed to send email to {}", pending.get(i).getTo(), e);
+                        failedMessages.put(pending.get(i), e);
+                        continue;
+                    }
+                    Transport broken = transport;
+                    transport = null;
+                    transport = smtpConnectionPool.reconnect(broken);
+                    try {
+                        send(transport, mimeMessages.get(i));
+                    } catch (MessagingException retryFailure) {
+                        log.error("failed to send email to {}", pending.get(i).getTo(), retryFailure);
+                        failedMessages.put(pending.get(i), retryFailure);
+                        continue;
+                    }
+                }
+                log.info("sent email: {}", pending.get(i).getMessage());
+            }
         } catch (MessagingException e) {
-            log.error("failed to send email", e);
-            throw new RuntimeException(e);
+            log.error("failed to connect smtp server", e);
+            for (; i < pending.size(); i++) {
+                failedMessages.put(pending.get(i), e);
+            }
+        } finally {
+            if (transport != null) {
+                smtpConnectionPool.release(transport);
+            }
         }
+
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    private MimeMessage createMimeMessage(EmailMessage emailMessage) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper mimeMessageHelper = new MimeMessageHelper(mimeMessage, false, "UTF-8");
+        mimeMessageHelper.setTo(emailMessage.getTo());
+        mimeMessageHelper.setSubject(emailMessage.getSubject() );
+        mimeMessageHelper.setText(emailMessage.getMessage(), true );
+        return mimeMessage;
+    }
+
+    private void send(Transport transport, MimeMessage mimeMessage) throws MessagingException {
+        mimeMessage.saveChanges();
+        transport.sendMessage(mimeMessage, mimeMessage.getAllRecipients());
     }
 }
@@ -0,0 +1,27 @@
+package study.studygroup.mail;
+
+import java.util.List;
+
+/**
+ * 메일 본문 템플릿. 템플릿 이름을 문자열로 흩어 두지 않고 여기 모아서, 애플리케이션이 뜰 때 한 번에 검사한다.
+ */
+public enum MailTemplate {
+
+    SIMPLE_LINK("mail/simple-link", List.of("nickname", "message", "link", "linkName"));
+
+    private final String name;
+    private final List<String> variables;
+
+    MailTemplate(String name, List<String> variables) {
+        this.name = name;
+        this.variables = variables;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getVariables() {
+        return variables;
+    }
+}
@@ -0,0 +1,78 @@
+package study.studygroup.mail;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import study.studygroup.config.AppProperties;
+
+import javax.annotation.PostConstruct;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 메일 본문을 만든다. 화면용 TemplateEngine 과 달리 개발 환경에서도 파싱한 템플릿을 항상 캐시하며,
+ * 모든 {@link MailTemplate} 을 애플리케이션이 뜰 때 미리 한 번 렌더링해서 없는 템플릿이나 깨진 템플릿이 있으면 바로 실패한다.
+ */
+@Slf4j
+@Component
+public class MailTemplateRenderer {
+
+    private final SpringTemplateEngine templateEngine;
+    private final AppProperties appProperties;
+
+    public MailTemplateRenderer(AppProperties appProperties) {
+        this.appProperties = appProperties;
+
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        templateResolver.setCacheable(true);
+        templateResolver.setCacheTTLMs(null);
+        templateResolver.setCheckExistence(true);
+
+        this.templateEngine = new SpringTemplateEngine();
+        this.templateEngine.setTemplateResolver(templateResolver);
+        this.templateEngine.setEnableSpringELCompiler(true);
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        for (MailTemplate mailTemplate : MailTemplate.values()) {
+            Map<String, Object> variables = new HashMap<>();
+            mailTemplate.getVariables().forEach(name -> variables.put(name, ""));
+            render(mailTemplate, variables);
+        }
+        log.info("loaded {} mail templates", MailTemplate.values().length);
+    }
+
+    public String render(MailTemplate mailTemplate, Map<String, Object> variables) {
+        return renderAll(mailTemplate, List.of(variables)).get(0);
+    }
+
+    /**
+     * 같은 템플릿을 받는 사람마다 다른 변수로 렌더링한다. Context 와 버퍼는 하나를 계속 비워서 다시 쓴다.
+     */
+    public List<String> renderAll(MailTemplate mailTemplate, List<? extends Map<String, Object>> variablesList) {
+        List<String> messages = new ArrayList<>(variablesList.size());
+        Context context = new Context();
+        StringWriter writer = new StringWriter(2048);
+        for (Map<String, Object> variables : variablesList) {
+            context.clearVariables();
+            context.setVariables(variables);
+            context.setVariable("host", appProperties.getHost());
+            writer.getBuffer().setLength(0);
+            templateEngine.process(mailTemplate.getName(), context, writer);
+            messages.add(writer.toString());
+        }
+        return messages;
+    }
+}
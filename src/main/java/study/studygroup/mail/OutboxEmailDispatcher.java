@@ -0,0 +1,212 @@
+package study.studygroup.mail;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailSendException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.studygroup.config.AppProperties;
+import study.studygroup.domain.OutboxEmail;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * outbox 에 쌓인 메일을 배치로 꺼내 보낸다.
+ * 메일을 집어가는 것과 결과를 기록하는 것은 각각 짧은 트랜잭션으로 하고, SMTP 전송은 트랜잭션 밖에서 해서
+ * 메일 서버가 느려도 DB 커넥션을 붙잡고 있지 않는다.
+ * 발송은 전용 스레드 하나에서 해서 메일이 밀려도 다른 스케줄 작업이 쓰는 스케줄러 스레드를 붙잡지 않는다.
+ */
+@Slf4j
+@Component
+public class OutboxEmailDispatcher {
+
+    private static final Duration LEASE = Duration.ofMinutes(5);
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final EmailService emailTransport;
+    private final TransactionTemplate transactionTemplate;
+    private final AppProperties appProperties;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final ThreadPoolExecutor sender = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1),
+            runnable -> {
+                Thread thread = new Thread(runnable, "MailOutbox");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    public OutboxEmailDispatcher(OutboxEmailRepository outboxEmailRepository,
+                                 @Qualifier("emailTransport") EmailService emailTransport,
+                                 PlatformTransactionManager transactionManager,
+                                 AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.outboxEmailRepository = outboxEmailRepository;
+        this.emailTransport = emailTransport;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.appProperties = appProperties;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("mail.outbox.depth", depth, AtomicLong::get)
+                .description("보내지 않은 메일 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 발송 스레드에 outbox 를 비우게 한다. 이미 비우는 중이면 그대로 돌아온다.
+     */
+    @Scheduled(fixedDelayString = "${app.mail-outbox-poll-interval:1000}")
+    public void drain() {
+        if (draining.compareAndSet(false, true)) {
+            sender.execute(() -> {
+                try {
+                    drainAll();
+                } catch (RuntimeException e) {
+                    log.warn("failed to drain mail outbox", e);
+                } finally {
+                    draining.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * 보낼 메일이 한 배치를 꽉 채우는 동안에는 쉬지 않고 계속 보낸다.
+     */
+    private void drainAll() {
+        int dispatched;
+        do {
+            dispatched = dispatch();
+        } while (dispatched == appProperties.getMailOutboxBatchSize());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdown();
+    }
+
+    /**
+     * 보존 기간이 지난 보낸 메일과 포기한 메일을 묶음 단위로 지운다.
+     */
+    @Scheduled(initialDelayString = "${app.mail-outbox-purge-initial-delay:60000}",
+            fixedDelayString = "${app.mail-outbox-purge-interval:3600000}")
+    public int purgeFinished() {
+        return purgeFinished(LocalDateTime.now().minus(appProperties.getMailOutboxRetention()));
+    }
+
+    int purgeFinished(LocalDateTime before) {
+        int chunkSize = appProperties.getMailOutboxPurgeChunkSize();
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = outboxEmailRepository.deleteFinishedBefore(before, chunkSize);
+            purged += deleted;
+        } while (deleted == chunkSize);
+
+        if (purged > 0) {
+            log.info("purged {} finished outbox emails", purged);
+        }
+        return purged;
+    }
+
+    public int dispatch() {
+        return dispatch(LocalDateTime.now());
+    }
+
+    int dispatch(LocalDateTime now) {
+        List<OutboxEmail> batch = transactionTemplate.execute(status -> {
+            List<OutboxEmail> due = outboxEmailRepository.findDueForUpdate(OutboxEmailStatus.PENDING, now,
+                    PageRequest.of(0, appProperties.getMailOutboxBatchSize()));
+            due.forEach(email -> email.claim(now, LEASE));
+            return due;
+        });
+
+        if (!batch.isEmpty()) {
+            record(send(batch), now);
+        }
+        depth.set(outboxEmailRepository.countByStatus(OutboxEmailStatus.PENDING));
+        return batch.size();
+    }
+
+    /**
+     * 배치를 한 번에 보내고 결과를 돌려준다. 성공한 메일은 null, 실패한 메일은 오류 메시지.
+     */
+    protected Map<Long, String> send(List<OutboxEmail> batch) {
+        Map<EmailMessage, Long> ids = new IdentityHashMap<>();
+        List<EmailMessage> emailMessages = new ArrayList<>(batch.size());
+        for (OutboxEmail email : batch) {
+            EmailMessage emailMessage = email.toEmailMessage();
+            ids.put(emailMessage, email.getId());
+            emailMessages.add(emailMessage);
+        }
+
+        Map<Long, String> results = new HashMap<>();
+        ids.values().forEach(id -> results.put(id, null));
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            emailTransport.sendEmails(emailMessages);
+        } catch (MailSendException e) {
+            outcome = "failure";
+            e.getFailedMessages().forEach((emailMessage, cause) ->
+                    results.put(ids.get(emailMessage), String.valueOf(cause.getMessage())));
+        } catch (RuntimeException e) {
+            outcome = "failure";
+            log.warn("failed to send {} outbox emails", batch.size(), e);
+            ids.values().forEach(id -> results.put(id, String.valueOf(e.getMessage())));
+        } finally {
+            sample.stop(meterRegistry.timer("mail.outbox.send", "outcome", outcome));
+        }
+        return results;
+    }
+
+    private void record(Map<Long, String> results, LocalDateTime now) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (OutboxEmail email : outboxEmailRepository.findAllById(results.keySet())) {
+                String error = results.get(email.getId());
+                if (error == null) {
+                    email.sent(now);
+                } else {
+                    email.failed(now, error, appProperties.getMailOutboxMaxAttempts(), backoff(email.getAttempts()));
+                }
+            }
+        });
+
+        List<Long> failed = results.entrySet().stream()
+                .filter(result -> result.getValue() != null)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        if (!failed.isEmpty()) {
+            log.info("{} of {} outbox emails will be retried or given up: {}", failed.size(), results.size(), failed);
+        }
+    }
+
+    /**
+     * 30초, 1분, 2분 ... 으로 늘리다가 1시간에서 멈춘다.
+     */
+    static Duration backoff(int attempts) {
+        Duration backoff = INITIAL_BACKOFF.multipliedBy(1L << Math.min(attempts, 16));
+        return backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff;
+    }
+}
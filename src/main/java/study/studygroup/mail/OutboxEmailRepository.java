@@ -0,0 +1,39 @@
+package study.studygroup.mail;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+import study.studygroup.domain.OutboxEmail;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+
+    /**
+     * 보낼 차례가 된 메일을 잠그면서 읽는다. lock.timeout -2 는 Hibernate 에서 SKIP LOCKED 로,
+     * 여러 인스턴스가 동시에 디스패처를 돌려도 서로 기다리지 않고 다른 메일을 집어간다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("select o from OutboxEmail o where o.status = :status and o.nextAttemptAt <= :now order by o.nextAttemptAt")
+    List<OutboxEmail> findDueForUpdate(OutboxEmailStatus status, LocalDateTime now, Pageable pageable);
+
+    long countByStatus(OutboxEmailStatus status);
+
+    /**
+     * before 보다 먼저 만든 메일 중 보냈거나 포기한 메일을 limit 개까지 지운다.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "delete from outbox_email where id in (select id from outbox_email " +
+            "where status in ('SENT', 'FAILED') and created_at < :before limit :limit)", nativeQuery = true)
+    int deleteFinishedBefore(LocalDateTime before, int limit);
+}
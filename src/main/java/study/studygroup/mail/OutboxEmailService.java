@@ -0,0 +1,25 @@
+package study.studygroup.mail;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.studygroup.domain.OutboxEmail;
+
+/**
+ * 메일을 바로 보내지 않고 호출한 쪽의 트랜잭션 안에서 outbox 테이블에 저장만 한다.
+ * 트랜잭션이 롤백되면 메일도 나가지 않고, 커밋되면 {@link OutboxEmailDispatcher} 가 보낸다.
+ */
+@Primary
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class OutboxEmailService implements EmailService {
+
+    private final OutboxEmailRepository outboxEmailRepository;
+
+    @Override
+    public void sendEmail(EmailMessage emailMessage) {
+        outboxEmailRepository.save(new OutboxEmail(emailMessage));
+    }
+}
@@ -0,0 +1,7 @@
+package study.studygroup.mail;
+
+public enum OutboxEmailStatus {
+
+    PENDING, SENT, FAILED
+
+}
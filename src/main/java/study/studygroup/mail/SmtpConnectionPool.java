@@ -0,0 +1,117 @@
+package study.studygroup.mail;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+import study.studygroup.config.AppProperties;
+
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.Transport;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증까지 끝낸 SMTP 연결을 몇 개 만들어 두고 돌려 쓴다.
+ * 메일마다 연결, TLS 핸드셰이크, AUTH 를 다시 하지 않도록 하기 위한 것으로, 동시에 쓰는 연결 수는 poolSize 를 넘지 않는다.
+ */
+@Slf4j
+@Profile("dev")
+@Component
+public class SmtpConnectionPool {
+
+    private static final long BORROW_TIMEOUT_SECONDS = 30;
+    private static final String DEFAULT_PROTOCOL = "smtp";
+
+    private final JavaMailSenderImpl mailSender;
+    private final BlockingQueue<Transport> idle = new LinkedBlockingQueue<>();
+    private final Semaphore permits;
+
+    public SmtpConnectionPool(JavaMailSenderImpl mailSender, AppProperties appProperties) {
+        this(mailSender, appProperties.getMailPoolSize());
+    }
+
+    public SmtpConnectionPool(JavaMailSenderImpl mailSender, int poolSize) {
+        this.mailSender = mailSender;
+        this.permits = new Semaphore(poolSize);
+    }
+
+    /**
+     * 쉬고 있는 연결을 주거나 새로 연결한다. 다 쓰면 {@link #release(Transport)} 로 돌려줘야 한다.
+     */
+    public Transport borrow() throws MessagingException {
+        try {
+            if (!permits.tryAcquire(BORROW_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new MessagingException("SMTP 연결을 " + BORROW_TIMEOUT_SECONDS + "초 안에 얻지 못했습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("SMTP 연결을 기다리다 중단되었습니다.", e);
+        }
+
+        try {
+            Transport transport;
+            while ((transport = idle.poll()) != null) {
+                if (transport.isConnected()) {
+                    return transport;
+                }
+                closeQuietly(transport);
+            }
+            return connect();
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 끊긴 연결을 닫고 같은 자리에 새 연결을 만든다.
+     */
+    public Transport reconnect(Transport transport) throws MessagingException {
+        closeQuietly(transport);
+        try {
+            return connect();
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public void release(Transport transport) {
+        if (transport.isConnected()) {
+            idle.offer(transport);
+        } else {
+            closeQuietly(transport);
+        }
+        permits.release();
+    }
+
+    private Transport connect() throws MessagingException {
+        String protocol = mailSender.getProtocol();
+        if (protocol == null) {
+            protocol = mailSender.getSession().getProperty("mail.transport.protocol");
+        }
+        Transport transport = mailSender.getSession().getTransport(protocol == null ? DEFAULT_PROTOCOL : protocol);
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        return transport;
+    }
+
+    @PreDestroy
+    public void close() {
+        Transport transport;
+        while ((transport = idle.poll()) != null) {
+            closeQuietly(transport);
+        }
+    }
+
+    private void closeQuietly(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("failed to close smtp connection", e);
+        }
+    }
+}
@@ -1,19 +1,40 @@
 package study.studygroup.main;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import study.studygroup.account.CurrentUser;
-import study.studygroup.domain.Account;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import study.studygroup.account.AccountSnapshot;
+import study.studygroup.account.CurrentUserSnapshot;
+import study.studygroup.account.PasswordHashingBusyException;
+import study.studygroup.event.EventNotFoundException;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 @Slf4j
 @ControllerAdvice
 public class ExceptionAdvice {
 
     @ExceptionHandler
-    public String handleRuntimeException(@CurrentUser Account account, HttpServletRequest req, RuntimeException e) {
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public String handlePasswordHashingBusy(HttpServletRequest req, HttpServletResponse res, PasswordHashingBusyException e) {
+        log.warn("password hashing queue is full, rejected '{}'", req.getRequestURI());
+        res.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        return "error";
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public String handleEventNotFound(HttpServletRequest req, EventNotFoundException e) {
+        log.warn("event not found '{}': {}", req.getRequestURI(), e.getMessage());
+        return "error";
+    }
+
+    @ExceptionHandler
+    public String handleRuntimeException(@CurrentUserSnapshot AccountSnapshot account, HttpServletRequest req, RuntimeException e) {
         if (account != null) {
             log.info("'{}' requested '{}'", account.getNickname(), req.getRequestURI());
         } else {
@@ -1,19 +1,33 @@
 package study.studygroup.main;
 
-import org.springframework.context.annotation.Configuration;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
-import study.studygroup.account.CurrentUser;
-import study.studygroup.domain.Account;
+import study.studygroup.account.AccountService;
+import study.studygroup.account.AccountSnapshot;
+import study.studygroup.account.CurrentUserSnapshot;
+import study.studygroup.event.EnrollmentRepository;
+import study.studygroup.study.StudyService;
 
 @Controller
+@RequiredArgsConstructor
 public class MainController {
 
+    private final StudyService studyService;
+    private final AccountService accountService;
+    private final EnrollmentRepository enrollmentRepository;
+
     @GetMapping("/")
-    public String home(@CurrentUser Account account, Model model) {
+    public String home(@CurrentUserSnapshot AccountSnapshot account, Model model) {
         if (account != null) {
-            model.addAttribute(account);
+            model.addAttribute("account", account);
+            model.addAttribute("tags", accountService.getTags(account.getId()));
+            model.addAttribute("zones", accountService.getZones(account.getId()));
+            model.addAttribute("enrollmentList", enrollmentRepository.findByAccountIdAndAcceptedOrderByEnrolledAtDesc(account.getId(), true));
+            model.addAttribute("studyManagerOf", studyService.getManagedStudies(account.getId()));
+            model.addAttribute("studyMemberOf", studyService.getJoinedStudies(account.getId()));
+            return "index-after-login";
         }
 
         return "index";
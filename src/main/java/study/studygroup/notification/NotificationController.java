@@ -0,0 +1,68 @@
+package study.studygroup.notification;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import study.studygroup.account.AccountSnapshot;
+import study.studygroup.account.CurrentUserSnapshot;
+import study.studygroup.domain.Notification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Controller
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationService notificationService;
+
+    @GetMapping("/notifications")
+    public String getNotifications(@CurrentUserSnapshot AccountSnapshot account, Model model) {
+        List<Notification> notifications = notificationService.getNotifications(account.getId(), false);
+        long numberOfChecked = notificationService.getReadCount(account.getId());
+        putCategorizedNotifications(model, notifications, numberOfChecked, notifications.size());
+        model.addAttribute("isNew", true);
+        model.addAttribute("account", account);
+        notificationService.markAsRead(account.getId(), notifications);
+        return "notification/list";
+    }
+
+    @GetMapping("/notifications/old")
+    public String getOldNotifications(@CurrentUserSnapshot AccountSnapshot account, Model model) {
+        List<Notification> notifications = notificationService.getNotifications(account.getId(), true);
+        long numberOfNotChecked = notificationService.getUnreadCount(account.getId());
+        putCategorizedNotifications(model, notifications, notifications.size(), numberOfNotChecked);
+        model.addAttribute("isNew", false);
+        model.addAttribute("account", account);
+        return "notification/list";
+    }
+
+    @DeleteMapping("/notifications")
+    public String deleteNotifications(@CurrentUserSnapshot AccountSnapshot account) {
+        notificationService.deleteChecked(account.getId());
+        return "redirect:/notifications";
+    }
+
+    private void putCategorizedNotifications(Model model, List<Notification> notifications,
+                                             long numberOfChecked, long numberOfNotChecked) {
+        List<Notification> newStudyNotifications = new ArrayList<>();
+        List<Notification> eventEnrollmentNotifications = new ArrayList<>();
+        List<Notification> watchingStudyNotifications = new ArrayList<>();
+        for (Notification notification : notifications) {
+            switch (notification.getNotificationType()) {
+                case STUDY_CREATED: newStudyNotifications.add(notification); break;
+                case EVENT_ENROLLMENT: eventEnrollmentNotifications.add(notification); break;
+                case STUDY_UPDATED: watchingStudyNotifications.add(notification); break;
+            }
+        }
+
+        model.addAttribute("numberOfNotChecked", numberOfNotChecked);
+        model.addAttribute("numberOfChecked", numberOfChecked);
+        model.addAttribute("notifications", notifications);
+        model.addAttribute("newStudyNotifications", newStudyNotifications);
+        model.addAttribute("eventEnrollmentNotifications", eventEnrollmentNotifications);
+        model.addAttribute("watchingStudyNotifications", watchingStudyNotifications);
+    }
+}
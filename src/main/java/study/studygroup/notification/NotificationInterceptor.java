@@ -0,0 +1,40 @@
+package study.studygroup.notification;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.view.RedirectView;
+import study.studygroup.account.UserAccount;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 화면을 그리는 요청마다 네비게이션 바의 알림 아이콘에 쓸 hasNotification 을 넣는다.
+ * 읽지 않은 알림 수는 캐시에서 읽으므로 페이지마다 쿼리가 나가지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationInterceptor implements HandlerInterceptor {
+
+    private final NotificationService notificationService;
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (modelAndView != null && !isRedirectView(modelAndView) && authentication != null
+                && authentication.getPrincipal() instanceof UserAccount) {
+            Long accountId = ((UserAccount) authentication.getPrincipal()).getAccount().getId();
+            modelAndView.addObject("hasNotification", notificationService.getUnreadCount(accountId) > 0);
+        }
+    }
+
+    private boolean isRedirectView(ModelAndView modelAndView) {
+        return (modelAndView.getViewName() != null && modelAndView.getViewName().startsWith("redirect:"))
+                || modelAndView.getView() instanceof RedirectView;
+    }
+}
@@ -0,0 +1,27 @@
+package study.studygroup.notification;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import study.studygroup.domain.Notification;
+
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    long countByAccountIdAndChecked(Long accountId, boolean checked);
+
+    List<Notification> findByAccountIdAndCheckedOrderByCreatedDateTimeDesc(Long accountId, boolean checked);
+
+    @Transactional
+    @Modifying
+    @Query("update Notification n set n.checked = true where n.account.id = :accountId and n.checked = false and n.id in :ids")
+    int markAsRead(Long accountId, List<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Notification n where n.account.id = :accountId and n.checked = true")
+    int deleteChecked(Long accountId);
+}
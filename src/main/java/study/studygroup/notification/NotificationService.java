@@ -0,0 +1,102 @@
+package study.studygroup.notification;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.studygroup.domain.Notification;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class NotificationService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String INSERT_NOTIFICATION = "insert into notification " +
+            "(title, link, message, checked, account_id, created_date_time, notification_type) " +
+            "values (?, ?, ?, false, ?, ?, ?)";
+
+    private final NotificationRepository notificationRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 계정별 읽지 않은 알림 수. 네비게이션 바의 알림 표시는 페이지마다 나오므로 쿼리 대신 여기서 읽는다.
+     * 알림이 새로 생기거나 읽음 처리되면 해당 계정의 값을 지운다.
+     */
+    private final Cache<Long, Long> unreadCounts = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofMinutes(30))
+            .build();
+
+    /**
+     * 여러 계정에 같은 알림을 JDBC 배치로 넣는다. 영속성 컨텍스트를 거치지 않으므로 받는 사람이 많아도 메모리가 늘지 않는다.
+     */
+    public void createNotifications(Collection<Long> accountIds, NotificationType notificationType,
+                                    String title, String link, String message) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> recipients = new ArrayList<>(accountIds);
+        for (int from = 0; from < recipients.size(); from += BATCH_SIZE) {
+            List<Object[]> batch = recipients.subList(from, Math.min(from + BATCH_SIZE, recipients.size())).stream()
+                    .map(accountId -> new Object[]{title, link, message, accountId, now, notificationType.name()})
+                    .collect(Collectors.toList());
+            jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, batch);
+        }
+        evictUnreadCountsAfterCommit(recipients);
+    }
+
+    /**
+     * 커밋 전에 지우면 다른 요청이 커밋 전 값을 다시 캐시할 수 있으므로 커밋한 뒤에 지운다.
+     */
+    private void evictUnreadCountsAfterCommit(Collection<Long> accountIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            unreadCounts.invalidateAll(accountIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                unreadCounts.invalidateAll(accountIds);
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public long getUnreadCount(Long accountId) {
+        return unreadCounts.get(accountId, id -> notificationRepository.countByAccountIdAndChecked(id, false));
+    }
+
+    @Transactional(readOnly = true)
+    public long getReadCount(Long accountId) {
+        return notificationRepository.countByAccountIdAndChecked(accountId, true);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Notification> getNotifications(Long accountId, boolean checked) {
+        return notificationRepository.findByAccountIdAndCheckedOrderByCreatedDateTimeDesc(accountId, checked);
+    }
+
+    public void markAsRead(Long accountId, List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        notificationRepository.markAsRead(accountId,
+                notifications.stream().map(Notification::getId).collect(Collectors.toList()));
+        evictUnreadCountsAfterCommit(List.of(accountId));
+    }
+
+    public void deleteChecked(Long accountId) {
+        notificationRepository.deleteChecked(accountId);
+    }
+}
@@ -0,0 +1,7 @@
+package study.studygroup.notification;
+
+public enum NotificationType {
+
+    STUDY_CREATED, STUDY_UPDATED, EVENT_ENROLLMENT
+
+}
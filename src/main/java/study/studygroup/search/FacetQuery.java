@@ -0,0 +1,32 @@
+package study.studygroup.search;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * 태그와 지역 조건으로 스터디를 고르는 질의.
+ * matchAll 이면 선택한 태그와 지역을 모두 가진 스터디를, 아니면 하나라도 가진 스터디를 찾는다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class FacetQuery {
+
+    private final Set<String> tagTitles;
+    private final Set<Long> zoneIds;
+    private final boolean matchAll;
+    private final boolean recruitingOnly;
+
+    public static FacetQuery tag(String tagTitle) {
+        return new FacetQuery(Set.of(tagTitle), Set.of(), true, false);
+    }
+
+    public static FacetQuery zone(Long zoneId) {
+        return new FacetQuery(Set.of(), Set.of(zoneId), true, false);
+    }
+
+    public boolean isEmpty() {
+        return tagTitles.isEmpty() && zoneIds.isEmpty() && !recruitingOnly;
+    }
+}
@@ -0,0 +1,72 @@
+package study.studygroup.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 검색용 토크나이저.
+ * 한글은 띄어쓰기와 조사가 제각각이라 형태소 분석 없이도 부분 일치가 되도록 음절 bigram 으로 자르고,
+ * 영문과 숫자는 단어 단위 그대로 소문자로 만든다.
+ */
+public final class KoreanNGramTokenizer {
+
+    private static final Pattern MARKUP = Pattern.compile("<[^>]*>|&[a-zA-Z0-9#]+;");
+
+    private KoreanNGramTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+
+        String normalized = Normalizer.normalize(MARKUP.matcher(text).replaceAll(" "), Normalizer.Form.NFC)
+                .toLowerCase(Locale.ROOT);
+
+        StringBuilder run = new StringBuilder();
+        boolean hangulRun = false;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (isHangulSyllable(c)) {
+                if (!hangulRun) {
+                    flush(run, false, tokens);
+                }
+                hangulRun = true;
+                run.append(c);
+            } else if (Character.isLetterOrDigit(c)) {
+                if (hangulRun) {
+                    flush(run, true, tokens);
+                }
+                hangulRun = false;
+                run.append(c);
+            } else {
+                flush(run, hangulRun, tokens);
+            }
+        }
+        flush(run, hangulRun, tokens);
+        return tokens;
+    }
+
+    private static void flush(StringBuilder run, boolean hangul, List<String> tokens) {
+        if (run.length() == 0) {
+            return;
+        }
+
+        if (!hangul || run.length() == 1) {
+            tokens.add(run.toString());
+        } else {
+            for (int i = 0; i < run.length() - 1; i++) {
+                tokens.add(run.substring(i, i + 2));
+            }
+        }
+        run.setLength(0);
+    }
+
+    private static boolean isHangulSyllable(char c) {
+        return c >= '가' && c <= '힣';
+    }
+}
@@ -0,0 +1,113 @@
+package study.studygroup.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.util.UriComponentsBuilder;
+import study.studygroup.account.AccountSnapshot;
+import study.studygroup.account.CurrentUserSnapshot;
+import study.studygroup.domain.Study;
+import study.studygroup.domain.Zone;
+import study.studygroup.zone.ZoneRegistry;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+@Controller
+@RequiredArgsConstructor
+public class SearchController {
+
+    public static final String SEARCH_VIEW_NAME = "search";
+    public static final String RELEVANCE = "score";
+    public static final String PUBLISHED_DATE_TIME = "publishedDateTime";
+
+    private final StudySearchService studySearchService;
+    private final ZoneRegistry zoneRegistry;
+
+    @GetMapping("/search/study")
+    public String searchStudy(@CurrentUserSnapshot AccountSnapshot account, String keyword,
+                              @PageableDefault(size = 9) Pageable pageable, Model model) {
+        Page<Study> studyPage = studySearchService.search(keyword == null ? "" : keyword, pageable);
+        String searchUrl = UriComponentsBuilder.fromPath("/search/study")
+                .queryParam("keyword", keyword == null ? "" : keyword)
+                .encode().toUriString();
+        addSearchResult(account, keyword, searchUrl, RELEVANCE, studyPage, pageable, model);
+        return SEARCH_VIEW_NAME;
+    }
+
+    @GetMapping("/search/tag/{title}")
+    public String searchTag(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String title,
+                            @PageableDefault(size = 9) Pageable pageable, Model model) {
+        Page<Study> studyPage = studySearchService.searchByFacets(FacetQuery.tag(title), pageable);
+        String searchUrl = UriComponentsBuilder.fromPath("/search/tag/{title}")
+                .buildAndExpand(title).encode().toUriString();
+        addSearchResult(account, title, searchUrl, PUBLISHED_DATE_TIME, studyPage, pageable, model);
+        return SEARCH_VIEW_NAME;
+    }
+
+    @GetMapping("/search/zone/{id}")
+    public String searchZone(@CurrentUserSnapshot AccountSnapshot account, @PathVariable Long id,
+                             @PageableDefault(size = 9) Pageable pageable, Model model) {
+        Zone zone = zoneRegistry.findById(id);
+        if (zone == null) {
+            throw new IllegalArgumentException("지역 " + id + "가 없습니다.");
+        }
+        Page<Study> studyPage = studySearchService.searchByFacets(FacetQuery.zone(id), pageable);
+        addSearchResult(account, zone.getLocalNameOfCity(), "/search/zone/" + id, PUBLISHED_DATE_TIME,
+                studyPage, pageable, model);
+        return SEARCH_VIEW_NAME;
+    }
+
+    /**
+     * 태그와 지역을 함께 고르는 검색. match=any 면 하나라도 맞는 스터디를, 기본값(all)이면 모두 맞는 스터디를 찾는다.
+     */
+    @GetMapping("/search/facets")
+    public String searchFacets(@CurrentUserSnapshot AccountSnapshot account,
+                               @RequestParam(name = "tag", required = false) List<String> tags,
+                               @RequestParam(name = "zone", required = false) List<Long> zones,
+                               @RequestParam(defaultValue = "false") boolean recruiting,
+                               @RequestParam(defaultValue = "all") String match,
+                               @PageableDefault(size = 9) Pageable pageable, Model model) {
+        List<String> tagTitles = tags == null ? List.of() : tags;
+        List<Long> zoneIds = zones == null ? List.of() : zones;
+        FacetQuery query = new FacetQuery(new HashSet<>(tagTitles), new HashSet<>(zoneIds),
+                !"any".equalsIgnoreCase(match), recruiting);
+        Page<Study> studyPage = studySearchService.searchByFacets(query, pageable);
+
+        UriComponentsBuilder searchUrl = UriComponentsBuilder.fromPath("/search/facets");
+        tagTitles.forEach(tag -> searchUrl.queryParam("tag", tag));
+        zoneIds.forEach(zone -> searchUrl.queryParam("zone", zone));
+        searchUrl.queryParam("recruiting", recruiting).queryParam("match", match);
+
+        List<String> facetNames = new ArrayList<>(tagTitles);
+        zoneRegistry.findAllById(zoneIds).forEach(zone -> facetNames.add(zone.getLocalNameOfCity()));
+        String description = String.join(query.isMatchAll() ? " + " : ", ", facetNames);
+        addSearchResult(account, description, searchUrl.encode().toUriString(), PUBLISHED_DATE_TIME,
+                studyPage, pageable, model);
+        return SEARCH_VIEW_NAME;
+    }
+
+    private void addSearchResult(AccountSnapshot account, String keyword, String searchUrl, String defaultSort,
+                                 Page<Study> studyPage, Pageable pageable, Model model) {
+        if (account != null) {
+            model.addAttribute("account", account);
+        }
+        model.addAttribute("studyPage", studyPage);
+        model.addAttribute("keyword", keyword);
+        model.addAttribute("searchUrl", searchUrl);
+        model.addAttribute("relevanceSortable", RELEVANCE.equals(defaultSort));
+        model.addAttribute("sortProperty", sortProperty(pageable.getSort(), defaultSort));
+    }
+
+    private String sortProperty(Sort sort, String defaultSort) {
+        return sort.stream().map(Sort.Order::getProperty).findFirst().orElse(defaultSort);
+    }
+}
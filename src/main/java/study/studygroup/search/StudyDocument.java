@@ -0,0 +1,52 @@
+package study.studygroup.search;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import study.studygroup.domain.Study;
+import study.studygroup.domain.Tag;
+import study.studygroup.domain.Zone;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 검색 인덱스에 들어가는 스터디의 스냅샷. 엔티티를 인덱스에 붙잡아 두지 않기 위해 필요한 값만 복사한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class StudyDocument {
+
+    private final Long id;
+    private final String title;
+    private final String shortDescription;
+    private final String fullDescription;
+    private final List<String> tagTitles;
+    private final List<Long> zoneIds;
+    private final List<String> zoneNames;
+    private final boolean published;
+    private final boolean closed;
+    private final boolean recruiting;
+    private final LocalDateTime publishedDateTime;
+    private final int memberCount;
+
+    public static StudyDocument from(Study study) {
+        return new StudyDocument(
+                study.getId(),
+                study.getTitle(),
+                study.getShortDescription(),
+                study.getFullDescription(),
+                study.getTags().stream().map(Tag::getTitle).collect(Collectors.toList()),
+                study.getZones().stream().map(Zone::getId).collect(Collectors.toList()),
+                study.getZones().stream().map(StudyDocument::zoneName).collect(Collectors.toList()),
+                study.isPublished(),
+                study.isClosed(),
+                study.isRecruiting(),
+                study.getPublishedDateTime(),
+                study.getMemberCount());
+    }
+
+    private static String zoneName(Zone zone) {
+        return zone.getLocalNameOfCity() + " " + zone.getCity() + " " + zone.getProvince();
+    }
+}
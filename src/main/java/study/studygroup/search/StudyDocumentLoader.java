@@ -0,0 +1,35 @@
+package study.studygroup.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import study.studygroup.domain.Study;
+import study.studygroup.study.StudyRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 커밋된 스터디 상태를 읽어 {@link StudyDocument} 로 만든다.
+ * 커밋 이후 리스너와 인덱스 재구성 작업에서 불리므로 항상 새 읽기 전용 트랜잭션에서 읽는다.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+public class StudyDocumentLoader {
+
+    private final StudyRepository studyRepository;
+
+    public StudyDocument load(Long studyId) {
+        Study study = studyRepository.findStudyWithTagsAndZonesById(studyId);
+        return study != null ? StudyDocument.from(study) : null;
+    }
+
+    public List<StudyDocument> loadAll(Collection<Long> studyIds) {
+        return studyRepository.findStudyWithTagsAndZonesByIdIn(studyIds).stream()
+                .map(StudyDocument::from)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,162 @@
+package study.studygroup.search;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * 태그, 지역, 모집 상태별로 공개된 스터디 id 를 압축 비트맵으로 들고 있는 색인.
+ * 조합 조건은 비트맵 교집합/합집합으로 계산하고, 실제 카드 조회는 결과 중 한 페이지에 대해서만 한다.
+ */
+public class StudyFacetIndex {
+
+    private final Map<String, RoaringBitmap> studiesByTag = new HashMap<>();
+    private final Map<Long, RoaringBitmap> studiesByZone = new HashMap<>();
+    private final RoaringBitmap publishedStudies = new RoaringBitmap();
+    private final RoaringBitmap recruitingStudies = new RoaringBitmap();
+    private final Map<Integer, StudyDocument> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(StudyDocument document) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(toKey(document.getId()));
+            addInternal(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replaceAll(Collection<StudyDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            studiesByTag.clear();
+            studiesByZone.clear();
+            publishedStudies.clear();
+            recruitingStudies.clear();
+            this.documents.clear();
+            documents.forEach(this::addInternal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long studyId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(toKey(studyId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addInternal(StudyDocument document) {
+        int key = toKey(document.getId());
+        documents.put(key, document);
+        publishedStudies.add(key);
+        if (document.isRecruiting() && !document.isClosed()) {
+            recruitingStudies.add(key);
+        }
+        document.getTagTitles().forEach(title -> studiesByTag.computeIfAbsent(title, t -> new RoaringBitmap()).add(key));
+        document.getZoneIds().forEach(zoneId -> studiesByZone.computeIfAbsent(zoneId, z -> new RoaringBitmap()).add(key));
+    }
+
+    private void removeInternal(int key) {
+        StudyDocument previous = documents.remove(key);
+        if (previous == null) {
+            return;
+        }
+
+        publishedStudies.remove(key);
+        recruitingStudies.remove(key);
+        previous.getTagTitles().forEach(title -> removeFrom(studiesByTag, title, key));
+        previous.getZoneIds().forEach(zoneId -> removeFrom(studiesByZone, zoneId, key));
+    }
+
+    private <K> void removeFrom(Map<K, RoaringBitmap> bitmaps, K facet, int key) {
+        RoaringBitmap bitmap = bitmaps.get(facet);
+        if (bitmap != null) {
+            bitmap.remove(key);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(facet);
+            }
+        }
+    }
+
+    /**
+     * 조건에 맞는 스터디 id 비트맵. 호출한 쪽에서 마음대로 써도 되도록 항상 새 비트맵을 돌려준다.
+     */
+    public RoaringBitmap match(FacetQuery query) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = query.isMatchAll()
+                    ? intersect(query)
+                    : union(query);
+            if (query.isRecruitingOnly()) {
+                result.and(recruitingStudies);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap intersect(FacetQuery query) {
+        RoaringBitmap result = publishedStudies.clone();
+        for (String title : query.getTagTitles()) {
+            result.and(studiesByTag.getOrDefault(title, new RoaringBitmap()));
+        }
+        for (Long zoneId : query.getZoneIds()) {
+            result.and(studiesByZone.getOrDefault(zoneId, new RoaringBitmap()));
+        }
+        return result;
+    }
+
+    private RoaringBitmap union(FacetQuery query) {
+        if (query.getTagTitles().isEmpty() && query.getZoneIds().isEmpty()) {
+            return publishedStudies.clone();
+        }
+
+        List<RoaringBitmap> bitmaps = new ArrayList<>();
+        collect(bitmaps, studiesByTag, query.getTagTitles());
+        collect(bitmaps, studiesByZone, query.getZoneIds());
+        return RoaringBitmap.or(bitmaps.iterator());
+    }
+
+    private <K> void collect(List<RoaringBitmap> bitmaps, Map<K, RoaringBitmap> facets, Collection<K> keys) {
+        keys.stream().map(facets::get).filter(bitmap -> bitmap != null).forEach(bitmaps::add);
+    }
+
+    public List<StudyDocument> documents(RoaringBitmap studyIds) {
+        return read(documents -> {
+            List<StudyDocument> result = new ArrayList<>(studyIds.getCardinality());
+            studyIds.forEach((int key) -> {
+                StudyDocument document = documents.get(key);
+                if (document != null) {
+                    result.add(document);
+                }
+            });
+            return result;
+        });
+    }
+
+    private <T> T read(Function<Map<Integer, StudyDocument>, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(documents);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int toKey(Long studyId) {
+        return Math.toIntExact(studyId);
+    }
+}
@@ -0,0 +1,210 @@
+package study.studygroup.search;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 공개된 스터디에 대한 역색인.
+ * 필드별 가중치를 둔 BM25(BM25F) 로 점수를 매기며, 토큰화는 {@link #prepare(StudyDocument)} 에서 락 밖에서 끝내고
+ * 색인 반영만 쓰기 락 안에서 한다.
+ */
+public class StudySearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    enum Field {
+        TITLE(3.0), SHORT_DESCRIPTION(2.0), FULL_DESCRIPTION(1.0), TAG(2.5), ZONE(2.0);
+
+        private final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final Field[] FIELDS = Field.values();
+
+    private final Map<String, Map<Long, int[]>> postings = new HashMap<>();
+    private final Map<Long, IndexedStudy> documents = new HashMap<>();
+    private final long[] totalFieldLengths = new long[FIELDS.length];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static IndexedStudy prepare(StudyDocument document) {
+        Map<String, int[]> termFrequencies = new HashMap<>();
+        int[] fieldLengths = new int[FIELDS.length];
+
+        addField(termFrequencies, fieldLengths, Field.TITLE, document.getTitle());
+        addField(termFrequencies, fieldLengths, Field.SHORT_DESCRIPTION, document.getShortDescription());
+        addField(termFrequencies, fieldLengths, Field.FULL_DESCRIPTION, document.getFullDescription());
+        document.getTagTitles().forEach(title -> addField(termFrequencies, fieldLengths, Field.TAG, title));
+        document.getZoneNames().forEach(name -> addField(termFrequencies, fieldLengths, Field.ZONE, name));
+
+        return new IndexedStudy(document, termFrequencies, fieldLengths);
+    }
+
+    private static void addField(Map<String, int[]> termFrequencies, int[] fieldLengths, Field field, String text) {
+        for (String token : KoreanNGramTokenizer.tokenize(text)) {
+            termFrequencies.computeIfAbsent(token, t -> new int[FIELDS.length])[field.ordinal()]++;
+            fieldLengths[field.ordinal()]++;
+        }
+    }
+
+    public void put(IndexedStudy study) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(study.getDocument().getId());
+            addInternal(study);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replaceAll(Collection<IndexedStudy> studies) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            Arrays.fill(totalFieldLengths, 0);
+            studies.forEach(this::addInternal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long studyId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(studyId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addInternal(IndexedStudy study) {
+        Long id = study.getDocument().getId();
+        documents.put(id, study);
+        study.getTermFrequencies().forEach((term, frequencies) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, frequencies));
+        for (int i = 0; i < FIELDS.length; i++) {
+            totalFieldLengths[i] += study.getFieldLengths()[i];
+        }
+    }
+
+    private void removeInternal(Long studyId) {
+        IndexedStudy previous = documents.remove(studyId);
+        if (previous == null) {
+            return;
+        }
+
+        for (String term : previous.getTermFrequencies().keySet()) {
+            Map<Long, int[]> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(studyId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        for (int i = 0; i < FIELDS.length; i++) {
+            totalFieldLengths[i] -= previous.getFieldLengths()[i];
+        }
+    }
+
+    /**
+     * 검색어와 관련된 스터디 id 를 점수가 높은 순서로 돌려준다.
+     */
+    public List<Long> search(String query) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(KoreanNGramTokenizer.tokenize(query)));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int numberOfDocuments = documents.size();
+            if (numberOfDocuments == 0) {
+                return List.of();
+            }
+
+            double[] averageFieldLengths = new double[FIELDS.length];
+            for (int i = 0; i < FIELDS.length; i++) {
+                averageFieldLengths[i] = Math.max(1.0, (double) totalFieldLengths[i] / numberOfDocuments);
+            }
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Long, int[]> posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+
+                double idf = Math.log(1 + (numberOfDocuments - posting.size() + 0.5) / (posting.size() + 0.5));
+                posting.forEach((studyId, frequencies) -> {
+                    int[] fieldLengths = documents.get(studyId).getFieldLengths();
+                    double weightedFrequency = 0;
+                    for (int i = 0; i < FIELDS.length; i++) {
+                        if (frequencies[i] > 0) {
+                            double normalization = 1 - B + B * fieldLengths[i] / averageFieldLengths[i];
+                            weightedFrequency += FIELDS[i].weight * frequencies[i] / normalization;
+                        }
+                    }
+                    double score = idf * weightedFrequency * (K1 + 1) / (weightedFrequency + K1);
+                    scores.merge(studyId, score, Double::sum);
+                });
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public StudyDocument getDocument(Long studyId) {
+        lock.readLock().lock();
+        try {
+            IndexedStudy study = documents.get(studyId);
+            return study != null ? study.getDocument() : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Getter
+    public static class IndexedStudy {
+
+        private final StudyDocument document;
+        private final Map<String, int[]> termFrequencies;
+        private final int[] fieldLengths;
+
+        private IndexedStudy(StudyDocument document, Map<String, int[]> termFrequencies, int[] fieldLengths) {
+            this.document = document;
+            this.termFrequencies = termFrequencies;
+            this.fieldLengths = fieldLengths;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package study.studygroup.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import study.studygroup.domain.Study;
+import study.studygroup.search.StudySearchIndex.IndexedStudy;
+import study.studygroup.study.StudyRepository;
+import study.studygroup.study.event.StudyChangedEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class StudySearchService {
+
+    private static final int INDEX_CHUNK_SIZE = 200;
+
+    private final StudyRepository studyRepository;
+    private final StudyDocumentLoader studyDocumentLoader;
+    private final Executor executor;
+    private final StudySearchIndex searchIndex = new StudySearchIndex();
+    private final StudyFacetIndex facetIndex = new StudyFacetIndex();
+    private final Set<Long> pendingStudyIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    public StudySearchService(StudyRepository studyRepository, StudyDocumentLoader studyDocumentLoader,
+                              @Qualifier("applicationTaskExecutor") Executor executor) {
+        this.studyRepository = studyRepository;
+        this.studyDocumentLoader = studyDocumentLoader;
+        this.executor = executor;
+    }
+
+    /**
+     * 애플리케이션이 뜰 때 공개된 스터디를 청크로 나눠 병렬로 읽고 토큰화한 뒤 한 번에 색인한다.
+     * 이미 요청을 받고 있으므로 다시 만드는 동안 바뀐 스터디는 대기 목록에 모아 두었다가, 새 색인으로 바꾼 뒤 다시 읽어 색인한다.
+     * 그러지 않으면 먼저 읽은 스냅샷이 그 사이의 변경을 덮어쓴다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        pendingStudyIds.clear();
+        rebuilding = true;
+        try {
+            replaceAll(studyRepository.findPublishedStudyIds());
+        } finally {
+            rebuilding = false;
+        }
+        for (Long studyId : pendingStudyIds) {
+            if (pendingStudyIds.remove(studyId)) {
+                reindex(studyId);
+            }
+        }
+
+        log.info("indexed {} studies in {} ms", searchIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    private void replaceAll(List<Long> studyIds) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < studyIds.size(); i += INDEX_CHUNK_SIZE) {
+            chunks.add(studyIds.subList(i, Math.min(i + INDEX_CHUNK_SIZE, studyIds.size())));
+        }
+
+        List<CompletableFuture<List<IndexedStudy>>> futures = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(() -> prepareChunk(chunk), executor))
+                .collect(Collectors.toList());
+
+        List<IndexedStudy> studies = futures.stream()
+                .flatMap(future -> future.join().stream())
+                .collect(Collectors.toList());
+        searchIndex.replaceAll(studies);
+        facetIndex.replaceAll(studies.stream().map(IndexedStudy::getDocument).collect(Collectors.toList()));
+    }
+
+    private List<IndexedStudy> prepareChunk(List<Long> studyIds) {
+        return studyDocumentLoader.loadAll(studyIds).stream()
+                .map(StudySearchIndex::prepare)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 색인을 다시 만드는 중이면 대기 목록에 넣는다. 넣은 뒤에도 아직 만드는 중이면 다 만든 뒤에 그쪽에서 색인한다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudyChanged(StudyChangedEvent event) {
+        Long studyId = event.getStudyId();
+        if (rebuilding) {
+            pendingStudyIds.add(studyId);
+            if (rebuilding) {
+                return;
+            }
+        }
+        reindex(studyId);
+    }
+
+    private void reindex(Long studyId) {
+        index(studyDocumentLoader.load(studyId), studyId);
+    }
+
+    public void index(StudyDocument document) {
+        index(document, document.getId());
+    }
+
+    private void index(StudyDocument document, Long studyId) {
+        if (document == null || !document.isPublished()) {
+            remove(studyId);
+        } else {
+            searchIndex.put(StudySearchIndex.prepare(document));
+            facetIndex.put(document);
+        }
+    }
+
+    public void remove(Long studyId) {
+        searchIndex.remove(studyId);
+        facetIndex.remove(studyId);
+    }
+
+    StudyDocument getIndexedDocument(Long studyId) {
+        return searchIndex.getDocument(studyId);
+    }
+
+    public Page<Study> search(String keyword, Pageable pageable) {
+        List<Long> studyIds = sort(searchIndex.search(keyword), pageable.getSort());
+        return fetchPage(studyIds, pageable);
+    }
+
+    /**
+     * 태그/지역/모집 조건을 비트맵 연산으로 거른 뒤, 정렬해서 요청한 페이지의 스터디만 DB 에서 읽는다.
+     * 정렬 조건이 없으면 최근 공개된 스터디부터 보여준다.
+     */
+    public Page<Study> searchByFacets(FacetQuery query, Pageable pageable) {
+        List<StudyDocument> documents = facetIndex.documents(facetIndex.match(query));
+        Comparator<StudyDocument> comparator = comparator(pageable.getSort());
+        if (comparator == null) {
+            comparator = comparatorFor("publishedDateTime").reversed();
+        }
+
+        List<Long> studyIds = documents.stream()
+                .sorted(comparator.thenComparing(StudyDocument::getId))
+                .map(StudyDocument::getId)
+                .collect(Collectors.toList());
+        return fetchPage(studyIds, pageable);
+    }
+
+    private List<Long> sort(List<Long> rankedStudyIds, Sort sort) {
+        Comparator<StudyDocument> comparator = comparator(sort);
+        if (comparator == null) {
+            return rankedStudyIds;
+        }
+
+        Comparator<StudyDocument> documentComparator = comparator;
+        return rankedStudyIds.stream()
+                .map(searchIndex::getDocument)
+                .filter(Objects::nonNull)
+                .sorted(documentComparator)
+                .map(StudyDocument::getId)
+                .collect(Collectors.toList());
+    }
+
+    private Comparator<StudyDocument> comparator(Sort sort) {
+        Comparator<StudyDocument> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<StudyDocument> next = comparatorFor(order.getProperty());
+            if (next != null) {
+                next = order.isDescending() ? next.reversed() : next;
+                comparator = comparator == null ? next : comparator.thenComparing(next);
+            }
+        }
+        return comparator;
+    }
+
+    private Comparator<StudyDocument> comparatorFor(String property) {
+        switch (property) {
+            case "publishedDateTime":
+                return Comparator.comparing(StudyDocument::getPublishedDateTime,
+                        Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()));
+            case "memberCount":
+                return Comparator.comparingInt(StudyDocument::getMemberCount);
+            default:
+                return null;
+        }
+    }
+
+    private Page<Study> fetchPage(List<Long> studyIds, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), studyIds.size());
+        int to = Math.min(from + pageable.getPageSize(), studyIds.size());
+        List<Long> pageIds = studyIds.subList(from, to);
+
+        Map<Long, Study> studies = studyRepository.findStudyWithTagsAndZonesByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(Study::getId, Function.identity()));
+        List<Study> content = pageIds.stream()
+                .map(studies::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, studyIds.size());
+    }
+}
@@ -1,7 +1,5 @@
 package study.studygroup.settings;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.http.ResponseEntity;
@@ -12,21 +10,19 @@ import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import study.studygroup.account.AccountService;
+import study.studygroup.account.AccountSnapshot;
 import study.studygroup.account.CurrentUser;
+import study.studygroup.account.CurrentUserSnapshot;
 import study.studygroup.domain.Account;
 import study.studygroup.domain.Tag;
 import study.studygroup.domain.Zone;
 import study.studygroup.settings.form.*;
 import study.studygroup.settings.validator.NicknameValidator;
 import study.studygroup.settings.validator.PasswordFormValidator;
-import study.studygroup.tag.TagRepository;
 import study.studygroup.tag.TagService;
-import study.studygroup.zone.ZoneRepository;
+import study.studygroup.zone.ZoneRegistry;
 
 import javax.validation.Valid;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -50,9 +46,7 @@ public class SettingsController {
     private final AccountService accountService;
     private final ModelMapper modelMapper;
     private final NicknameValidator nicknameValidator;
-    private final TagRepository tagRepository;
-    private final ObjectMapper objectMapper;
-    private final ZoneRepository zoneRepository;
+    private final ZoneRegistry zoneRegistry;
     private final TagService tagService;
 
     @InitBinder("passwordForm")
@@ -66,76 +60,69 @@ public class SettingsController {
     }
 
     @GetMapping(SETTING_ZONES_URL)
-    public String updateZonesForm(@CurrentUser Account account, Model model) throws JsonProcessingException {
+    public String updateZonesForm(@CurrentUserSnapshot AccountSnapshot account, Model model) {
 
-        List<Zone> allZones = zoneRepository.findAll();
-        Set<Zone> zones = accountService.getZones(account);
-        model.addAttribute(account);
+        Set<Zone> zones = accountService.getZones(account.getId());
+        model.addAttribute("account", account);
         model.addAttribute("zones", zones.stream().map(Zone::toString).collect(Collectors.toList()));
-
-        List<String> collect = allZones.stream().map(Zone::toString).collect(Collectors.toList());
-        model.addAttribute("whitelist", objectMapper.writeValueAsString(collect));
+        model.addAttribute("whitelistUrl", zoneRegistry.getWhitelistUrl());
 
         return SETTING_ZONES_VIEW_NAME;
     }
 
     @PostMapping(SETTING_ZONES_URL+"/add")
-    private ResponseEntity addZone(@CurrentUser Account account, @RequestBody ZoneForm zoneForm) {
-        Zone zone = zoneRepository.findByCityAndProvince(zoneForm.getCityName(), zoneForm.getProvinceName());
+    private ResponseEntity addZone(@CurrentUserSnapshot AccountSnapshot account, @RequestBody ZoneForm zoneForm) {
+        Zone zone = zoneRegistry.findByName(zoneForm.getZoneName());
         if (zone == null) {
             return ResponseEntity.badRequest().build();
         }
 
-        accountService.addZone(account, zone);
+        accountService.addZone(account.getId(), zone);
         return ResponseEntity.ok().build();
     }
 
     @PostMapping(SETTING_ZONES_URL+"/remove")
-    public ResponseEntity removeZone(@CurrentUser Account account, @RequestBody ZoneForm zoneForm) {
-        Zone zone = zoneRepository.findByCityAndProvince(zoneForm.getCityName(), zoneForm.getProvinceName());
+    public ResponseEntity removeZone(@CurrentUserSnapshot AccountSnapshot account, @RequestBody ZoneForm zoneForm) {
+        Zone zone = zoneRegistry.findByName(zoneForm.getZoneName());
         if (zone == null) {
             return ResponseEntity.badRequest().build();
         }
 
-        accountService.removeZone(account, zone);
+        accountService.removeZone(account.getId(), zone);
         return ResponseEntity.ok().build();
     }
 
     @GetMapping(SETTING_TAGS_URL)
-    public String updateTagsForm(@CurrentUser Account account, Model model) throws JsonProcessingException {
+    public String updateTagsForm(@CurrentUserSnapshot AccountSnapshot account, Model model) {
 
-        Set<Tag> tags = accountService.getTags(account);
+        Set<Tag> tags = accountService.getTags(account.getId());
 
-        model.addAttribute(account);
+        model.addAttribute("account", account);
         model.addAttribute("tags", tags.stream().map(Tag::getTitle).collect(Collectors.toList()));
 
-        List<Tag> allTags = tagRepository.findAll();
-        List<String> collect = allTags.stream().map(Tag::getTitle).collect(Collectors.toList());
-        model.addAttribute("whitelist", objectMapper.writeValueAsString(collect));
-
         return SETTING_TAGS_VIEW_NAME;
     }
 
     @PostMapping(SETTING_TAGS_URL+"/add")
     @ResponseBody
-    public ResponseEntity addTag(@CurrentUser Account account, @RequestBody TagForm tagForm) {
+    public ResponseEntity addTag(@CurrentUserSnapshot AccountSnapshot account, @RequestBody TagForm tagForm) {
         String title = tagForm.getTagTitle();
         Tag tag = tagService.findOrCreateNew(title);
-        accountService.addTag(account, tag);
+        accountService.addTag(account.getId(), tag);
         return ResponseEntity.ok().build();
     }
 
     @PostMapping(SETTING_TAGS_URL+"/remove")
     @ResponseBody
-    public ResponseEntity removeTag(@CurrentUser Account account, @RequestBody TagForm tagForm) {
+    public ResponseEntity removeTag(@CurrentUserSnapshot AccountSnapshot account, @RequestBody TagForm tagForm) {
         String title = tagForm.getTagTitle();
 
-        Tag tag = tagRepository.findByTitle(title);
+        Tag tag = tagService.findByTitle(title);
         if (tag == null) {
             return ResponseEntity.badRequest().build();
         }
 
-        accountService.removeTag(account, tag);
+        accountService.removeTag(account.getId(), tag);
 
         return ResponseEntity.ok().build();
     }
@@ -166,8 +153,8 @@ public class SettingsController {
     }
 
     @GetMapping(SETTING_PASSWORD_URL)
-    public String updatePasswordForm(@CurrentUser Account account, Model model) {
-        model.addAttribute(account);
+    public String updatePasswordForm(@CurrentUserSnapshot AccountSnapshot account, Model model) {
+        model.addAttribute("account", account);
         model.addAttribute(new PasswordForm());
         return SETTING_PASSWORD_VIEW_NAME;
     }
@@ -187,8 +174,8 @@ public class SettingsController {
     }
 
     @GetMapping(SETTING_NOTIFICATIONS_URL)
-    public String updateNotificationForm(@CurrentUser Account account, Model model) {
-        model.addAttribute(account);
+    public String updateNotificationForm(@CurrentUserSnapshot AccountSnapshot account, Model model) {
+        model.addAttribute("account", account);
         model.addAttribute("notifications", modelMapper.map(account, Notifications.class));
         return SETTING_NOTIFICATIONS_VIEW_NAME;
     }
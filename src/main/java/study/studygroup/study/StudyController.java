@@ -2,6 +2,7 @@ package study.studygroup.study;
 
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.Errors;
@@ -10,9 +11,10 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
-import study.studygroup.account.CurrentUser;
-import study.studygroup.domain.Account;
+import study.studygroup.account.AccountSnapshot;
+import study.studygroup.account.CurrentUserSnapshot;
 import study.studygroup.domain.Study;
 import study.studygroup.study.form.StudyDescriptionForm;
 import study.studygroup.study.form.StudyForm;
@@ -35,7 +37,7 @@ public class StudyController {
 
     private final StudyService studyService;
     private final StudyFormValidator studyFormValidator;
-    private final StudyRepository studyRepository;
+    private final StudyViewService studyViewService;
 
     @InitBinder("studyForm")
     public void studyFormInitBinder(WebDataBinder webDataBinder) {
@@ -44,49 +46,54 @@ public class StudyController {
 
 
     @GetMapping("/study/{path}/join")
-    public String joinStudy(@CurrentUser Account account, @PathVariable String path, Model model) {
-        Study study = studyRepository.findStudyWithManagersByPath(path);
+    public String joinStudy(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, Model model) {
+        Study study = studyService.getStudyToEnroll(path);
 
-        studyService.addMember(study, account);
+        try {
+            studyService.addMember(study, account.getId());
+        } catch (DataIntegrityViolationException e) {
+            // 같은 계정의 다른 가입 요청이 먼저 커밋했다. 이미 구성원이므로 그대로 구성원 화면으로 보낸다.
+        }
         return "redirect:/study/"+study.getEncodedPath()+"/members";
     }
 
     @GetMapping("/study/{path}/leave")
-    public String leaveStudy(@CurrentUser Account account, @PathVariable String path, Model model) {
-        Study study = studyRepository.findStudyWithManagersByPath(path);
+    public String leaveStudy(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, Model model) {
+        Study study = studyService.getStudyToEnroll(path);
 
-        studyService.removeMember(study, account);
+        studyService.removeMember(study, account.getId());
         return "redirect:/study/"+study.getEncodedPath()+"/members";
     }
 
     @GetMapping("/study/{path}/members")
-    public String getMembers(@CurrentUser Account account, @PathVariable String path, Model model) {
-        model.addAttribute(account);
-        model.addAttribute(studyService.getStudy(path));
+    public String getMembers(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path,
+                             @RequestParam(required = false) Long after, Model model) {
+        StudyView study = studyViewService.getStudyView(path);
+        model.addAttribute("account", account);
+        model.addAttribute(STUDY, study);
+        model.addAttribute("members", studyService.getMembers(study.getId(), after));
         return "study/members";
     }
 
     @GetMapping("/study/{path}")
-    public String viewStudy(@CurrentUser Account account, @PathVariable("path") String path, Model model) {
-        Study study = studyService.getStudy(path);
-
-        model.addAttribute(account);
-        model.addAttribute(study);
+    public String viewStudy(@CurrentUserSnapshot AccountSnapshot account, @PathVariable("path") String path, Model model) {
+        model.addAttribute("account", account);
+        model.addAttribute(STUDY, studyViewService.getStudyView(path));
         return STUDY_VIEW_VIEW_NAME;
     }
 
     @GetMapping(STUDY_NEW_URL)
-    public String newStudyForm(@CurrentUser Account account, Model model) {
-        model.addAttribute(account);
+    public String newStudyForm(@CurrentUserSnapshot AccountSnapshot account, Model model) {
+        model.addAttribute("account", account);
         model.addAttribute(new StudyForm());
         return STUDY_NEW_VIEW_NAME;
     }
 
     @PostMapping(STUDY_NEW_URL)
-    public String createStudy(@CurrentUser Account account, @Valid StudyForm studyForm, Errors errors,
+    public String createStudy(@CurrentUserSnapshot AccountSnapshot account, @Valid StudyForm studyForm, Errors errors,
                               Model model, RedirectAttributes attributes) {
         if (errors.hasErrors()) {
-            model.addAttribute(account);
+            model.addAttribute("account", account);
             return STUDY_NEW_VIEW_NAME;
         }
 
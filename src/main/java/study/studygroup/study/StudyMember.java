@@ -0,0 +1,25 @@
+package study.studygroup.study;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import study.studygroup.domain.Account;
+
+/**
+ * 스터디 화면의 구성원 카드에 필요한 만큼만 담은 계정 정보.
+ */
+@Getter
+@AllArgsConstructor
+public class StudyMember {
+
+    private final Long id;
+
+    private final String nickname;
+
+    private final String profileImage;
+
+    private final String bio;
+
+    public static StudyMember of(Account account) {
+        return new StudyMember(account.getId(), account.getNickname(), account.getProfileImage(), account.getBio());
+    }
+}
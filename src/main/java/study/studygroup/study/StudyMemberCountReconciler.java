@@ -0,0 +1,79 @@
+package study.studygroup.study;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.studygroup.config.AppProperties;
+
+import java.util.List;
+
+/**
+ * study.member_count 를 study_members 의 실제 행 수와 맞춘다. 이 컬럼이 생기기 전의 스터디나,
+ * 조인 테이블을 직접 고친 경우처럼 가입/탈퇴 경로를 거치지 않은 변경으로 생긴 차이를 고친다.
+ * 스터디 id 순서로 한 묶음씩 잠그고 고치므로, 그 사이에 들어온 가입/탈퇴는 잠금이 풀린 뒤 +1/-1 로 이어서 반영된다.
+ */
+@Slf4j
+@Component
+public class StudyMemberCountReconciler {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AppProperties appProperties;
+
+    public StudyMemberCountReconciler(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                      AppProperties appProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.appProperties = appProperties;
+    }
+
+    @Scheduled(initialDelayString = "${app.member-count-reconcile-initial-delay:60000}",
+            fixedDelayString = "${app.member-count-reconcile-interval:3600000}")
+    public void reconcileAll() {
+        long lastId = 0;
+        int repaired = 0;
+        Chunk chunk;
+        do {
+            chunk = reconcileChunk(lastId);
+            lastId = chunk.lastId;
+            repaired += chunk.repaired;
+        } while (chunk.size == appProperties.getMemberCountReconcileChunkSize());
+
+        if (repaired > 0) {
+            log.info("repaired member count of {} studies", repaired);
+        }
+    }
+
+    Chunk reconcileChunk(long afterId) {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = jdbcTemplate.queryForList("select id from study where id > ? order by id limit ? for update",
+                    Long.class, afterId, appProperties.getMemberCountReconcileChunkSize());
+            if (ids.isEmpty()) {
+                return new Chunk(0, afterId, 0);
+            }
+
+            long lastId = ids.get(ids.size() - 1);
+            int repaired = jdbcTemplate.update("update study set member_count = " +
+                    "(select count(*) from study_members where study_members.study_id = study.id) " +
+                    "where id > ? and id <= ? and member_count <> " +
+                    "(select count(*) from study_members where study_members.study_id = study.id)", afterId, lastId);
+            return new Chunk(ids.size(), lastId, repaired);
+        });
+    }
+
+    static class Chunk {
+
+        private final int size;
+        private final long lastId;
+        private final int repaired;
+
+        Chunk(int size, long lastId, int repaired) {
+            this.size = size;
+            this.lastId = lastId;
+            this.repaired = repaired;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package study.studygroup.study;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 키셋 방식으로 읽은 구성원 카드 한 묶음. 다음 묶음은 마지막 구성원의 id 이후부터 읽는다.
+ */
+@Getter
+@AllArgsConstructor
+public class StudyMemberSlice {
+
+    private final List<StudyMember> members;
+
+    private final boolean hasNext;
+
+    public Long getLastId() {
+        return members.isEmpty() ? null : members.get(members.size() - 1).getId();
+    }
+}
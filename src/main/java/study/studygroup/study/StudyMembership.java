@@ -0,0 +1,18 @@
+package study.studygroup.study;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 현재 사용자가 스터디의 관리자인지, 구성원인지. 구성원 목록을 읽지 않고 {@link StudyMembershipIndex} 로 답한다.
+ */
+@Getter
+@AllArgsConstructor
+public class StudyMembership {
+
+    public static final StudyMembership NONE = new StudyMembership(false, false);
+
+    private final boolean manager;
+
+    private final boolean member;
+}
@@ -0,0 +1,147 @@
+package study.studygroup.study;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 스터디별 관리자/구성원 계정 id 와, 계정별 관리/참여 스터디 id 를 압축 비트맵으로 들고 있는 색인.
+ * 구성원 여부 같은 예/아니오 질문과 "내가 속한 스터디" 조회를 컬렉션을 읽지 않고 답한다.
+ */
+public class StudyMembershipIndex {
+
+    private final Map<Integer, RoaringBitmap> managersByStudy = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> membersByStudy = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> managedStudiesByAccount = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> joinedStudiesByAccount = new HashMap<>();
+    private final Map<Integer, Long> versionByStudy = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void replaceAll(Map<Long, RoaringBitmap> managerIdsByStudy, Map<Long, RoaringBitmap> memberIdsByStudy) {
+        lock.writeLock().lock();
+        try {
+            managersByStudy.clear();
+            membersByStudy.clear();
+            managedStudiesByAccount.clear();
+            joinedStudiesByAccount.clear();
+            versionByStudy.clear();
+            managerIdsByStudy.forEach((studyId, accountIds) ->
+                    addInternal(managersByStudy, managedStudiesByAccount, toKey(studyId), accountIds));
+            memberIdsByStudy.forEach((studyId, accountIds) ->
+                    addInternal(membersByStudy, joinedStudiesByAccount, toKey(studyId), accountIds));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 스터디 하나의 관리자와 구성원을 통째로 바꾼다. 삭제된 스터디는 빈 비트맵으로 지운다.
+     * 같은 스터디를 여러 스레드가 따로 읽어 넣을 수 있으므로, 이미 넣은 것보다 낮은 version 은 버린다.
+     */
+    public boolean put(Long studyId, RoaringBitmap managerIds, RoaringBitmap memberIds, long version) {
+        lock.writeLock().lock();
+        try {
+            int key = toKey(studyId);
+            Long applied = versionByStudy.get(key);
+            if (applied != null && applied > version) {
+                return false;
+            }
+            versionByStudy.put(key, version);
+            removeInternal(managersByStudy, managedStudiesByAccount, key);
+            removeInternal(membersByStudy, joinedStudiesByAccount, key);
+            addInternal(managersByStudy, managedStudiesByAccount, key, managerIds);
+            addInternal(membersByStudy, joinedStudiesByAccount, key, memberIds);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addInternal(Map<Integer, RoaringBitmap> accountsByStudy, Map<Integer, RoaringBitmap> studiesByAccount,
+                             int studyKey, RoaringBitmap accountIds) {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        accountsByStudy.put(studyKey, accountIds.clone());
+        accountIds.forEach((int accountKey) ->
+                studiesByAccount.computeIfAbsent(accountKey, k -> new RoaringBitmap()).add(studyKey));
+    }
+
+    private void removeInternal(Map<Integer, RoaringBitmap> accountsByStudy, Map<Integer, RoaringBitmap> studiesByAccount,
+                                int studyKey) {
+        RoaringBitmap previous = accountsByStudy.remove(studyKey);
+        if (previous == null) {
+            return;
+        }
+        previous.forEach((int accountKey) -> {
+            RoaringBitmap studies = studiesByAccount.get(accountKey);
+            if (studies != null) {
+                studies.remove(studyKey);
+                if (studies.isEmpty()) {
+                    studiesByAccount.remove(accountKey);
+                }
+            }
+        });
+    }
+
+    public boolean isManager(Long studyId, Long accountId) {
+        return contains(managersByStudy, studyId, accountId);
+    }
+
+    public boolean isMember(Long studyId, Long accountId) {
+        return contains(membersByStudy, studyId, accountId);
+    }
+
+    private boolean contains(Map<Integer, RoaringBitmap> accountsByStudy, Long studyId, Long accountId) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap accounts = accountsByStudy.get(toKey(studyId));
+            return accounts != null && accounts.contains(toKey(accountId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 계정이 관리하는 스터디 id 비트맵. 항상 새 비트맵을 돌려준다.
+     */
+    public RoaringBitmap getManagedStudyIds(Long accountId) {
+        return copyOf(managedStudiesByAccount, accountId);
+    }
+
+    /**
+     * 계정이 구성원으로 참여한 스터디 id 비트맵. 항상 새 비트맵을 돌려준다.
+     */
+    public RoaringBitmap getJoinedStudyIds(Long accountId) {
+        return copyOf(joinedStudiesByAccount, accountId);
+    }
+
+    private RoaringBitmap copyOf(Map<Integer, RoaringBitmap> studiesByAccount, Long accountId) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap studies = studiesByAccount.get(toKey(accountId));
+            return studies != null ? studies.clone() : new RoaringBitmap();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap studies = new RoaringBitmap();
+            managersByStudy.keySet().forEach(studies::add);
+            membersByStudy.keySet().forEach(studies::add);
+            return studies.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int toKey(Long id) {
+        return Math.toIntExact(id);
+    }
+}
@@ -0,0 +1,59 @@
+package study.studygroup.study;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import study.studygroup.account.UserAccount;
+import study.studygroup.domain.Study;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 스터디 화면(모델에 study 가 있는 화면)마다 현재 사용자의 membership 을 넣는다.
+ * 가입, 탈퇴, 설정 메뉴처럼 사용자마다 다른 부분은 캐시된 스터디 정보 대신 이 값으로 그린다.
+ * 값은 구성원 색인에서 읽으므로 쿼리가 나가지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class StudyMembershipInterceptor implements HandlerInterceptor {
+
+    private static final String STUDY = "study";
+    private static final String MEMBERSHIP = "membership";
+
+    private final StudyMembershipService studyMembershipService;
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView == null || modelAndView.getModel().containsKey(MEMBERSHIP)) {
+            return;
+        }
+
+        Long studyId = getStudyId(modelAndView.getModel().get(STUDY));
+        if (studyId == null) {
+            return;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserAccount) {
+            UserAccount userAccount = (UserAccount) authentication.getPrincipal();
+            modelAndView.addObject(MEMBERSHIP, studyMembershipService.getMembership(studyId, userAccount.getAccount().getId()));
+        } else {
+            modelAndView.addObject(MEMBERSHIP, StudyMembership.NONE);
+        }
+    }
+
+    private Long getStudyId(Object study) {
+        if (study instanceof StudyView) {
+            return ((StudyView) study).getId();
+        }
+        if (study instanceof Study) {
+            return ((Study) study).getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,131 @@
+package study.studygroup.study;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import study.studygroup.study.event.StudyMembershipChangedEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudyMembershipService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicLong refreshVersion = new AtomicLong();
+    private final Set<Long> pendingStudyIds = ConcurrentHashMap.newKeySet();
+    private volatile StudyMembershipIndex membershipIndex;
+
+    public boolean isManager(Long studyId, Long accountId) {
+        return index().isManager(studyId, accountId);
+    }
+
+    public boolean isMember(Long studyId, Long accountId) {
+        return index().isMember(studyId, accountId);
+    }
+
+    public StudyMembership getMembership(Long studyId, Long accountId) {
+        StudyMembershipIndex index = index();
+        return new StudyMembership(index.isManager(studyId, accountId), index.isMember(studyId, accountId));
+    }
+
+    public RoaringBitmap getManagedStudyIds(Long accountId) {
+        return index().getManagedStudyIds(accountId);
+    }
+
+    public RoaringBitmap getJoinedStudyIds(Long accountId) {
+        return index().getJoinedStudyIds(accountId);
+    }
+
+    /**
+     * 처음 쓰일 때 조인 테이블 두 개를 그대로 읽어 한 번에 색인한다. 읽은 뒤에는 락 없이 색인을 돌려준다.
+     */
+    private StudyMembershipIndex index() {
+        StudyMembershipIndex index = membershipIndex;
+        if (index != null) {
+            return index;
+        }
+        synchronized (this) {
+            if (membershipIndex == null) {
+                membershipIndex = load();
+            }
+            index = membershipIndex;
+        }
+        refreshPending(index);
+        return index;
+    }
+    /**
+     * 읽기 전에 들어온 변경은 이번 읽기에 들어 있으므로 대기 목록을 비우고 읽는다.
+     */
+    private StudyMembershipIndex load() {
+        long start = System.currentTimeMillis();
+        pendingStudyIds.clear();
+        StudyMembershipIndex index = new StudyMembershipIndex();
+        index.replaceAll(
+                readAll("select study_id, managers_id from study_managers"),
+                readAll("select study_id, members_id from study_members"));
+        log.info("indexed membership of {} studies in {} ms", index.size(), System.currentTimeMillis() - start);
+        return index;
+    }
+
+    private Map<Long, RoaringBitmap> readAll(String sql) {
+        Map<Long, RoaringBitmap> accountIdsByStudy = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            accountIdsByStudy.computeIfAbsent(rs.getLong(1), id -> new RoaringBitmap()).add(Math.toIntExact(rs.getLong(2)));
+        });
+        return accountIdsByStudy;
+    }
+
+    /**
+     * 아직 색인을 읽지 않았다면 대기 목록에 두고, 색인을 읽은 쪽이 읽기를 마친 뒤 다시 반영한다.
+     * 그 사이에 색인이 생겼다면 직접 반영한다. 같은 스터디를 두 번 반영해도 결과는 같다.
+     * DB 는 락 없이 읽고, 색인에 넣을 때만 색인의 쓰기 락을 잡는다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(StudyMembershipChangedEvent event) {
+        Long studyId = event.getStudyId();
+        StudyMembershipIndex index = membershipIndex;
+        if (index == null) {
+            pendingStudyIds.add(studyId);
+            index = membershipIndex;
+            if (index == null) {
+                return;
+            }
+        }
+        refresh(index, studyId);
+    }
+
+    /**
+     * 읽기 전에 version 을 받는다. 나중에 받은 쪽이 나중에 커밋된 변경까지 읽으므로 늦게 도착한 이전 읽기는 색인이 버린다.
+     */
+    private void refreshPending(StudyMembershipIndex index) {
+        for (Long studyId : pendingStudyIds) {
+            if (pendingStudyIds.remove(studyId)) {
+                refresh(index, studyId);
+            }
+        }
+    }
+
+    private void refresh(StudyMembershipIndex index, Long studyId) {
+        long version = refreshVersion.incrementAndGet();
+        RoaringBitmap managerIds = readStudy("select managers_id from study_managers where study_id = ?", studyId);
+        RoaringBitmap memberIds = readStudy("select members_id from study_members where study_id = ?", studyId);
+        index.put(studyId, managerIds, memberIds, version);
+    }
+
+    private RoaringBitmap readStudy(String sql, Long studyId) {
+        RoaringBitmap accountIds = new RoaringBitmap();
+        jdbcTemplate.query(sql, rs -> {
+            accountIds.add(Math.toIntExact(rs.getLong(1)));
+        }, studyId);
+        return accountIds;
+    }
+}
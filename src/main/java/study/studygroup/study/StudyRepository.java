@@ -1,32 +1,68 @@
 package study.studygroup.study;
 
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 import study.studygroup.domain.Study;
 
+import java.util.Collection;
+import java.util.List;
+
 @Transactional(readOnly = true)
-public interface StudyRepository extends JpaRepository<Study, Long> {
+public interface StudyRepository extends JpaRepository<Study, Long>, StudyRepositoryExtension {
     Study findByTitle(String title);
 
-    @EntityGraph(attributePaths = {"tags", "zones", "managers", "members"}, type = EntityGraph.EntityGraphType.LOAD)
-    Study findByPath(String path);
-
     boolean existsByPath(String path);
 
-    @EntityGraph(attributePaths = {"tags", "managers"})
-    Study findStudyWithTagByPath(String path);
+    boolean existsByIdAndMembersId(Long id, Long accountId);
+
+    boolean existsByIdAndManagersId(Long id, Long accountId);
+
+    /**
+     * 조인 테이블의 (study_id, members_id) 기본 키가 중복 가입을 막는다. 이미 구성원이면 0 을 돌려준다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "insert into study_members (study_id, members_id) select :studyId, :accountId " +
+            "where not exists (select 1 from study_members where study_id = :studyId and members_id = :accountId)",
+            nativeQuery = true)
+    int insertMember(Long studyId, Long accountId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "delete from study_members where study_id = :studyId and members_id = :accountId", nativeQuery = true)
+    int deleteMember(Long studyId, Long accountId);
 
-    @EntityGraph(attributePaths = {"zones", "managers"})
-    Study findStudyWithZoneByPath(String path);
+    @Modifying
+    @Query("update Study s set s.memberCount = s.memberCount + 1 where s.id = :studyId")
+    int incrementMemberCount(Long studyId);
 
-    @EntityGraph(attributePaths = {"managers"})
-    Study findStudyWithManagersByPath(String path);
+    @Modifying
+    @Query("update Study s set s.memberCount = s.memberCount - 1 where s.id = :studyId and s.memberCount > 0")
+    int decrementMemberCount(Long studyId);
+
+    @Query("select new study.studygroup.study.StudyMember(m.id, m.nickname, m.profileImage, m.bio) " +
+            "from Study s join s.members m where s.id = :studyId and m.id > :after order by m.id")
+    List<StudyMember> findMembers(Long studyId, Long after, Pageable pageable);
 
     boolean existsByTitle(String title);
 
     Study findSimpleStudyByPath(String path);
 
     Study findStudyOnlyByPath(String path);
+
+    @Query("select new study.studygroup.study.StudyTitle(s.id, s.path, s.title) " +
+            "from Study s where s.id in :ids and s.closed = false order by s.id desc")
+    List<StudyTitle> findOpenStudyTitles(Collection<Long> ids, Pageable pageable);
+
+    @Query("select s.id from Study s where s.published = true")
+    List<Long> findPublishedStudyIds();
+
+    @EntityGraph(attributePaths = {"tags", "zones"})
+    Study findStudyWithTagsAndZonesById(Long id);
+
+    @EntityGraph(attributePaths = {"tags", "zones"})
+    List<Study> findStudyWithTagsAndZonesByIdIn(Collection<Long> ids);
 }
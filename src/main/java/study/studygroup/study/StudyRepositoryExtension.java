@@ -0,0 +1,17 @@
+package study.studygroup.study;
+
+import study.studygroup.domain.Study;
+
+/**
+ * 컬렉션을 함께 읽는 스터디 조회. 구현은 {@link StudyRepositoryExtensionImpl} 참고.
+ */
+public interface StudyRepositoryExtension {
+
+    Study findByPath(String path);
+
+    Study findStudyWithTagByPath(String path);
+
+    Study findStudyWithZoneByPath(String path);
+
+    Study findStudyWithManagersByPath(String path);
+}
@@ -0,0 +1,59 @@
+package study.studygroup.study;
+
+import org.hibernate.Hibernate;
+import org.springframework.transaction.annotation.Transactional;
+import study.studygroup.domain.Study;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 여러 컬렉션을 한 쿼리에서 fetch join 하면 tags x zones x managers x members 만큼 행이 불어나고
+ * 행마다 fullDescription(Lob)까지 다시 읽는다. 그래서 스터디는 경로로 한 번만 읽고,
+ * 필요한 컬렉션은 각각 따로 초기화해 컬렉션 크기만큼의 행만 읽는다.
+ */
+@Transactional(readOnly = true)
+public class StudyRepositoryExtensionImpl implements StudyRepositoryExtension {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Study findByPath(String path) {
+        return load(path, Study::getTags, Study::getZones, Study::getManagers);
+    }
+
+    @Override
+    public Study findStudyWithTagByPath(String path) {
+        return load(path, Study::getTags, Study::getManagers);
+    }
+
+    @Override
+    public Study findStudyWithZoneByPath(String path) {
+        return load(path, Study::getZones, Study::getManagers);
+    }
+
+    @Override
+    public Study findStudyWithManagersByPath(String path) {
+        return load(path, Study::getManagers);
+    }
+
+    @SafeVarargs
+    private Study load(String path, Function<Study, Collection<?>>... collections) {
+        List<Study> studies = entityManager.createQuery("select s from Study s where s.path = :path", Study.class)
+                .setParameter("path", path)
+                .getResultList();
+        if (studies.isEmpty()) {
+            return null;
+        }
+
+        Study study = studies.get(0);
+        for (Function<Study, Collection<?>> collection : collections) {
+            Hibernate.initialize(collection.apply(study));
+        }
+        return study;
+    }
+}
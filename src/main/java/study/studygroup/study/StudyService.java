@@ -2,6 +2,9 @@ package study.studygroup.study;
 
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -12,22 +15,33 @@ import study.studygroup.domain.Account;
 import study.studygroup.domain.Study;
 import study.studygroup.domain.Tag;
 import study.studygroup.domain.Zone;
+import study.studygroup.study.event.StudyChangedEvent;
+import study.studygroup.study.event.StudyCreatedEvent;
+import study.studygroup.study.event.StudyMembershipChangedEvent;
 import study.studygroup.study.form.StudyDescriptionForm;
 import study.studygroup.study.form.StudyForm;
 import study.studygroup.tag.TagRepository;
 import study.studygroup.zone.ZoneRepository;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class StudyService {
-    
+
+    public static final int MEMBERS_PAGE_SIZE = 30;
+    public static final int DASHBOARD_STUDY_COUNT = 5;
+
     private final StudyRepository studyRepository;
     private final AccountRepository accountRepository;
     private final AccountService accountService;
     private final TagRepository tagRepository;
     private final ZoneRepository zoneRepository;
     private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StudyMembershipService studyMembershipService;
 
     public Study createStudy(Long accountId, StudyForm studyForm) {
         Account account = accountService.getAccount(accountId);
@@ -36,6 +50,7 @@ public class StudyService {
         study.addManager(account);
 
         studyRepository.save(study);
+        eventPublisher.publishEvent(new StudyMembershipChangedEvent(study.getId()));
 
         return study;
     }
@@ -52,14 +67,15 @@ public class StudyService {
         }
     }
 
-    public Study getStudyToUpdate(Account account, String path) {
+    public Study getStudyToUpdate(Long accountId, String path) {
         Study study = this.getStudy(path);
-        checkIfManager(account, study);
+        checkIfManager(accountId, study);
         return study;
     }
 
-    private void checkIfManager(Account account, Study study) {
-        if (!study.isManagedBy(account)) {
+    private void checkIfManager(Long accountId, Study study) {
+        if (!studyMembershipService.isManager(study.getId(), accountId)
+                && !studyRepository.existsByIdAndManagersId(study.getId(), accountId)) {
             throw new AccessDeniedException("해당 기능을 사용 할 수 없습니다.");
         }
 
@@ -67,75 +83,88 @@ public class StudyService {
 
     public void updateDescription(Study study, StudyDescriptionForm form) {
         modelMapper.map(form, study);
+        publishChanged(study);
     }
 
-    public void updateBanner(Study study, String studyImage) {
-        study.setImage(studyImage);
+    public void updateBanner(Study study, String imageHash) {
+        study.setImageHash(imageHash);
+        publishChanged(study);
     }
 
     public void enableBanner(Study study) {
         study.setUseBanner(true);
+        publishChanged(study);
     }
 
     public void disableBanner(Study study) {
         study.setUseBanner(false);
+        publishChanged(study);
     }
 
     public void addTag(Study study, Tag tag) {
         study.getTags().add(tag);
+        publishChanged(study);
     }
 
     public void removeTag(Study study, Tag tag) {
         study.getTags().remove(tag);
+        publishChanged(study);
     }
 
     public void addZone(Study study, Zone zone) {
         study.getZones().add(zone);
+        publishChanged(study);
     }
 
     public void removeZone(Study study, Zone zone) {
         study.getZones().remove(zone);
+        publishChanged(study);
     }
 
-    public Study getStudyToUpdateTag(Account account, String path) {
+    public Study getStudyToUpdateTag(Long accountId, String path) {
         Study study = studyRepository.findStudyWithTagByPath(path);
         checkIfExistingStudy(path, study);
-        checkIfManager(account, study);
+        checkIfManager(accountId, study);
         return study;
     }
 
-    public Study getStudyToUpdateZone(Account account, String path) {
+    public Study getStudyToUpdateZone(Long accountId, String path) {
         Study study = studyRepository.findStudyWithZoneByPath(path);
         checkIfExistingStudy(path, study);
-        checkIfManager(account, study);
+        checkIfManager(accountId, study);
         return study;
     }
 
-    public void publish(Account account, Study study) {
+    public void publish(Long accountId, Study study) {
         // TODO checkIfManager
-        checkIfManager(account, study);
+        checkIfManager(accountId, study);
         study.publish();
+        publishChanged(study);
+        eventPublisher.publishEvent(new StudyCreatedEvent(study.getId()));
     }
 
-    public void close(Account account, Study study) {
+    public void close(Long accountId, Study study) {
         // TODO checkIfManager
-        checkIfManager(account, study);
+        checkIfManager(accountId, study);
         study.close();
+        publishChanged(study);
     }
 
-    public Study getStudyToUpdateStatus(Account account, String path) {
+    public Study getStudyToUpdateStatus(Long accountId, String path) {
         Study study = studyRepository.findStudyWithManagersByPath(path);
         checkIfExistingStudy(path, study);
-        checkIfManager(account, study);
+        checkIfManager(accountId, study);
         return study;
     }
 
-    public void startRecruit(Account account, Study study) {
+    public void startRecruit(Long accountId, Study study) {
         study.startRecruit();
+        publishChanged(study);
     }
 
-    public void stopRecruit(Account account, Study study) {
+    public void stopRecruit(Long accountId, Study study) {
         study.stopRecruit();
+        publishChanged(study);
     }
 
     public boolean isValidPath(String path) {
@@ -146,11 +175,14 @@ public class StudyService {
     }
 
     public void updatePath(Study study, String path) {
+        String oldPath = study.getPath();
         study.setPath(path);
+        eventPublisher.publishEvent(new StudyChangedEvent(study.getId(), oldPath, path));
     }
 
     public void updateTitle(Study study, String newTitle) {
         study.setTitle(newTitle);
+        publishChanged(study);
     }
 
     public boolean isValidTitle(String newTitle) {
@@ -163,20 +195,57 @@ public class StudyService {
             throw new IllegalArgumentException("스터디를 삭제할 수 없습니다.");
         }
         studyRepository.delete(study);
+        publishChanged(study);
+        eventPublisher.publishEvent(new StudyMembershipChangedEvent(study.getId()));
     }
 
-    public void addMember(Study study, Account account) {
-        if (study.getMembers().contains(account)) {
-            throw new IllegalArgumentException("스터디에 가입할 수 없습니다.");
+    /**
+     * 이미 구성원이면 아무 일도 하지 않는다. 구성원 수는 조인 테이블에 실제로 행을 넣었을 때만 같은 트랜잭션에서 올린다.
+     */
+    public void addMember(Study study, Long accountId) {
+        if (studyRepository.insertMember(study.getId(), accountId) == 1) {
+            studyRepository.incrementMemberCount(study.getId());
+            publishChanged(study);
+            eventPublisher.publishEvent(new StudyMembershipChangedEvent(study.getId()));
         }
-        study.getMembers().add(account);
     }
 
-    public void removeMember(Study study, Account account) {
-        if (!study.getMembers().contains(account)) {
-            throw new IllegalArgumentException("스터디에 탈퇴할 수 없습니다.");
+    /**
+     * 구성원이 아니면 아무 일도 하지 않는다.
+     */
+    public void removeMember(Study study, Long accountId) {
+        if (studyRepository.deleteMember(study.getId(), accountId) == 1) {
+            studyRepository.decrementMemberCount(study.getId());
+            publishChanged(study);
+            eventPublisher.publishEvent(new StudyMembershipChangedEvent(study.getId()));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public StudyMemberSlice getMembers(Long studyId, Long after) {
+        List<StudyMember> members = studyRepository.findMembers(studyId, after == null ? 0L : after,
+                PageRequest.of(0, MEMBERS_PAGE_SIZE + 1));
+        boolean hasNext = members.size() > MEMBERS_PAGE_SIZE;
+        return new StudyMemberSlice(hasNext ? members.subList(0, MEMBERS_PAGE_SIZE) : members, hasNext);
+    }
+
+    @Transactional(readOnly = true)
+    public List<StudyTitle> getManagedStudies(Long accountId) {
+        return findOpenStudyTitles(studyMembershipService.getManagedStudyIds(accountId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<StudyTitle> getJoinedStudies(Long accountId) {
+        return findOpenStudyTitles(studyMembershipService.getJoinedStudyIds(accountId));
+    }
+
+    private List<StudyTitle> findOpenStudyTitles(RoaringBitmap studyIds) {
+        if (studyIds.isEmpty()) {
+            return List.of();
         }
-        study.getMembers().remove(account);
+        List<Long> ids = new ArrayList<>(studyIds.getCardinality());
+        studyIds.forEach((int id) -> ids.add((long) id));
+        return studyRepository.findOpenStudyTitles(ids, PageRequest.of(0, DASHBOARD_STUDY_COUNT));
     }
 
     public Study getStudyToEnroll(String path) {
@@ -184,4 +253,8 @@ public class StudyService {
         checkIfExistingStudy(path, study);
         return study;
     }
+
+    private void publishChanged(Study study) {
+        eventPublisher.publishEvent(new StudyChangedEvent(study.getId(), study.getPath()));
+    }
 }
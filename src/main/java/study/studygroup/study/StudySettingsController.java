@@ -1,7 +1,5 @@
 package study.studygroup.study;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.dom4j.rule.Mode;
 import org.hibernate.validator.constraints.SafeHtml;
@@ -12,21 +10,22 @@ import org.springframework.ui.Model;
 import org.springframework.validation.Errors;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
-import study.studygroup.account.CurrentUser;
-import study.studygroup.domain.Account;
+import study.studygroup.account.AccountSnapshot;
+import study.studygroup.account.CurrentUserSnapshot;
 import study.studygroup.domain.Study;
 import study.studygroup.domain.Tag;
 import study.studygroup.domain.Zone;
+import study.studygroup.image.ImageService;
 import study.studygroup.settings.form.TagForm;
 import study.studygroup.settings.form.ZoneForm;
 import study.studygroup.study.form.StudyDescriptionForm;
-import study.studygroup.tag.TagRepository;
 import study.studygroup.tag.TagService;
-import study.studygroup.zone.ZoneRepository;
+import study.studygroup.zone.ZoneRegistry;
 
 import javax.validation.Valid;
-import java.util.List;
+import java.io.IOException;
 import java.util.stream.Collectors;
 
 @Controller
@@ -36,64 +35,63 @@ public class StudySettingsController {
 
     private final StudyService studyService;
     private final ModelMapper modelMapper;
-    private final TagRepository tagRepositoryl;
     private final TagService tagService;
-    private final ObjectMapper objectMapper;
-    private final ZoneRepository zoneRepository;
+    private final ImageService imageService;
+    private final ZoneRegistry zoneRegistry;
 
     @GetMapping("/study")
-    public String studySettingForm(@CurrentUser Account account, @PathVariable String path, Model model) {
-        Study study = studyService.getStudyToUpdateStatus(account, path);
-        model.addAttribute(account);
+    public String studySettingForm(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, Model model) {
+        Study study = studyService.getStudyToUpdateStatus(account.getId(), path);
+        model.addAttribute("account", account);
         model.addAttribute(study);
         return "study/settings/study";
     }
 
     @PostMapping("/study/publish")
-    public String publishStudy(@CurrentUser Account account, @PathVariable String path, RedirectAttributes attributes) {
-        Study study = studyService.getStudyToUpdateStatus(account, path);
-        studyService.publish(account, study);
+    public String publishStudy(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, RedirectAttributes attributes) {
+        Study study = studyService.getStudyToUpdateStatus(account.getId(), path);
+        studyService.publish(account.getId(), study);
         return "redirect:/study/"+study.getEncodedPath()+"/settings/study";
     }
 
     @PostMapping("/study/close")
-    public String closeStudy(@CurrentUser Account account, @PathVariable String path, RedirectAttributes attributes) {
-        Study study = studyService.getStudyToUpdateStatus(account, path);
-        studyService.close(account, study);
+    public String closeStudy(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, RedirectAttributes attributes) {
+        Study study = studyService.getStudyToUpdateStatus(account.getId(), path);
+        studyService.close(account.getId(), study);
         return "redirect:/study/"+study.getEncodedPath()+"/settings/study";
     }
 
     @PostMapping("/recruit/start")
-    public String startRecruit(@CurrentUser Account account, @PathVariable String path, Model model, RedirectAttributes attributes) {
-        Study study = studyService.getStudyToUpdateStatus(account, path);
+    public String startRecruit(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, Model model, RedirectAttributes attributes) {
+        Study study = studyService.getStudyToUpdateStatus(account.getId(), path);
         if (!study.canUpdateRecruiting()) {
             attributes.addFlashAttribute("message", "1시간 안에 인원 모집 설정을 여러번 변경할 수 없습니다.");
             return "redirect:/study/" + study.getEncodedPath() + "/settings/study";
         }
 
-        studyService.startRecruit(account, study);
+        studyService.startRecruit(account.getId(), study);
         attributes.addFlashAttribute("message", "인원 모집을 시작합니다.");
         return "redirect:/study/"+study.getEncodedPath()+"/settings/study";
     }
 
     @PostMapping("/recruit/stop")
-    public String stopRecruit(@CurrentUser Account account, @PathVariable String path, Model model, RedirectAttributes attributes) {
-        Study study = studyService.getStudyToUpdateStatus(account, path);
+    public String stopRecruit(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, Model model, RedirectAttributes attributes) {
+        Study study = studyService.getStudyToUpdateStatus(account.getId(), path);
         if (!study.canUpdateRecruiting()) {
             attributes.addFlashAttribute("message", "1시간 안에 인원 모집 설정을 여러번 변경할 수 없습니다.");
             return "redirect:/study/" + study.getEncodedPath() + "/settings/study";
         }
 
-        studyService.stopRecruit(account, study);
+        studyService.stopRecruit(account.getId(), study);
         attributes.addFlashAttribute("message", "인원 모집을 종료합니다.");
         return "redirect:/study/"+study.getEncodedPath()+"/settings/study";
     }
 
     @PostMapping("/study/path")
-    public String updateStudyPath(@CurrentUser Account account, @PathVariable String path, String newPath, RedirectAttributes attributes, Model model) {
-        Study study = studyService.getStudyToUpdateStatus(account, path);
+    public String updateStudyPath(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, String newPath, RedirectAttributes attributes, Model model) {
+        Study study = studyService.getStudyToUpdateStatus(account.getId(), path);
         if (!studyService.isValidPath(newPath)) {
-            model.addAttribute(account);
+            model.addAttribute("account", account);
             model.addAttribute(study);
             model.addAttribute("studyPathError", "해당 스터디 경로는 사용할 수 없습니다. 다른 값을 입력하세요.");
             return "study/settings/study";
@@ -104,10 +102,10 @@ public class StudySettingsController {
     }
 
     @PostMapping("/study/title")
-    public String updateStudyTitle(@CurrentUser Account account, @PathVariable String path, String newTitle, RedirectAttributes attributes, Model model) {
-        Study study = studyService.getStudyToUpdateStatus(account, path);
+    public String updateStudyTitle(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, String newTitle, RedirectAttributes attributes, Model model) {
+        Study study = studyService.getStudyToUpdateStatus(account.getId(), path);
         if (!studyService.isValidTitle(newTitle)) {
-            model.addAttribute(account);
+            model.addAttribute("account", account);
             model.addAttribute(study);
             model.addAttribute("studyTitleError", "스터디 이름을 다시 입력하세요.");
             return "study/settings/study";
@@ -118,69 +116,63 @@ public class StudySettingsController {
     }
 
     @PostMapping("/study/remove")
-    public String removeStudy(@CurrentUser Account account, @PathVariable String path, RedirectAttributes attributes, Model model) {
-        Study study = studyService.getStudyToUpdateStatus(account, path);
+    public String removeStudy(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, RedirectAttributes attributes, Model model) {
+        Study study = studyService.getStudyToUpdateStatus(account.getId(), path);
         studyService.remove(study);
         return "redirect:/";
     }
 
     @GetMapping("/zones")
-    public String updateStudyZonesForm(@CurrentUser Account account, @PathVariable String path, Model model) throws JsonProcessingException {
-        Study study = studyService.getStudyToUpdateZone(account, path);
-
-
-        List<String> allZones = zoneRepository.findAll().stream().map(Zone::toString).collect(Collectors.toList());
+    public String updateStudyZonesForm(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, Model model) {
+        Study study = studyService.getStudyToUpdateZone(account.getId(), path);
 
         model.addAttribute("zones", study.getZones().stream()
                 .map(Zone::toString).collect(Collectors.toList()));
-        model.addAttribute("whitelist", objectMapper.writeValueAsString(allZones));
-        model.addAttribute(account);
+        model.addAttribute("whitelistUrl", zoneRegistry.getWhitelistUrl());
+        model.addAttribute("account", account);
         model.addAttribute(study);
         return "study/settings/zones";
     }
 
     @PostMapping("/zones/add")
     @ResponseBody
-    public ResponseEntity addStudyZone(@CurrentUser Account account, @PathVariable String path, @RequestBody ZoneForm zoneForm) {
-        Zone zone = zoneRepository.findByCityAndProvince(zoneForm.getCityName(), zoneForm.getProvinceName());
+    public ResponseEntity addStudyZone(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, @RequestBody ZoneForm zoneForm) {
+        Zone zone = zoneRegistry.findByName(zoneForm.getZoneName());
         if (zone == null) {
             return ResponseEntity.badRequest().build();
         }
-        Study study = studyService.getStudyToUpdateZone(account, path);
+        Study study = studyService.getStudyToUpdateZone(account.getId(), path);
         studyService.addZone(study, zone);
         return ResponseEntity.ok().build();
     }
 
     @PostMapping("/zones/remove")
     @ResponseBody
-    public ResponseEntity removeStudyZone(@CurrentUser Account account, @PathVariable String path, @RequestBody ZoneForm zoneForm) {
-        Zone zone = zoneRepository.findByCityAndProvince(zoneForm.getCityName(), zoneForm.getProvinceName());
+    public ResponseEntity removeStudyZone(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, @RequestBody ZoneForm zoneForm) {
+        Zone zone = zoneRegistry.findByName(zoneForm.getZoneName());
         if (zone == null) {
             return ResponseEntity.badRequest().build();
         }
-        Study study = studyService.getStudyToUpdateZone(account, path);
+        Study study = studyService.getStudyToUpdateZone(account.getId(), path);
         studyService.removeZone(study, zone);
         return ResponseEntity.ok().build();
     }
 
     @GetMapping("/tags")
-    public String updateStudyTagsForm(@CurrentUser Account account, @PathVariable String path, Model model) throws JsonProcessingException {
-        Study study = studyService.getStudyToUpdateTag(account, path);
-
-        List<String> allTags = tagRepositoryl.findAll().stream().map(Tag::getTitle).collect(Collectors.toList());
+    public String updateStudyTagsForm(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, Model model) {
+        Study study = studyService.getStudyToUpdateTag(account.getId(), path);
 
         model.addAttribute("tags", study.getTags().stream()
                 .map(Tag::getTitle).collect(Collectors.toList()));
-        model.addAttribute("whitelist", objectMapper.writeValueAsString(allTags));
-        model.addAttribute(account);
+        model.addAttribute("account", account);
         model.addAttribute(study);
         return "study/settings/tags";
     }
 
     @PostMapping("/tags/add")
     @ResponseBody
-    public ResponseEntity addStudyTags(@CurrentUser Account account, @PathVariable String path, @RequestBody TagForm tagForm) {
-        Study study = studyService.getStudyToUpdateTag(account, path);
+    public ResponseEntity addStudyTags(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, @RequestBody TagForm tagForm) {
+        Study study = studyService.getStudyToUpdateTag(account.getId(), path);
         Tag tag = tagService.findOrCreateNew(tagForm.getTagTitle());
         studyService.addTag(study, tag);
         return ResponseEntity.ok().build();
@@ -188,9 +180,9 @@ public class StudySettingsController {
 
     @PostMapping("/tags/remove")
     @ResponseBody
-    public ResponseEntity removeStudyTags(@CurrentUser Account account, @PathVariable String path, @RequestBody TagForm tagForm) {
-        Study study = studyService.getStudyToUpdateTag(account, path);
-        Tag tag = tagService.findOrCreateNew(tagForm.getTagTitle());
+    public ResponseEntity removeStudyTags(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, @RequestBody TagForm tagForm) {
+        Study study = studyService.getStudyToUpdateTag(account.getId(), path);
+        Tag tag = tagService.findByTitle(tagForm.getTagTitle());
         if(tag == null) {
             return ResponseEntity.badRequest().build();
         }
@@ -199,55 +191,65 @@ public class StudySettingsController {
     }
 
     @GetMapping("/banner")
-    public String updateStudyBannerForm(@CurrentUser Account account, @PathVariable String path, Model model) {
-        Study study = studyService.getStudyToUpdate(account, path);
-        model.addAttribute(account);
+    public String updateStudyBannerForm(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, Model model) {
+        Study study = studyService.getStudyToUpdate(account.getId(), path);
+        model.addAttribute("account", account);
         model.addAttribute(study);
         return "study/settings/banner";
     }
 
     @PostMapping("/banner/enable")
-    public String enableStudyBanner(@CurrentUser Account account, @PathVariable String path, Model model) {
-        Study study = studyService.getStudyToUpdate(account, path);
+    public String enableStudyBanner(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, Model model) {
+        Study study = studyService.getStudyToUpdate(account.getId(), path);
         studyService.enableBanner(study);
-        model.addAttribute(account);
+        model.addAttribute("account", account);
         model.addAttribute(study);
         return "study/settings/banner";
     }
 
     @PostMapping("/banner/disable")
-    public String disableStudyBanner(@CurrentUser Account account, @PathVariable String path, Model model) {
-        Study study = studyService.getStudyToUpdate(account, path);
+    public String disableStudyBanner(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, Model model) {
+        Study study = studyService.getStudyToUpdate(account.getId(), path);
         studyService.disableBanner(study);
-        model.addAttribute(account);
+        model.addAttribute("account", account);
         model.addAttribute(study);
         return "study/settings/banner";
     }
 
     @PostMapping("/banner")
-    public String updateStudyBanner(@CurrentUser Account account, @PathVariable String path, String image,
-                                    RedirectAttributes attributes) {
-        Study study = studyService.getStudyToUpdate(account, path);
-        studyService.updateBanner(study, image);
+    public String updateStudyBanner(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, MultipartFile image,
+                                    RedirectAttributes attributes) throws IOException {
+        Study study = studyService.getStudyToUpdate(account.getId(), path);
+        if (image == null || image.isEmpty()) {
+            attributes.addFlashAttribute("message", "배너 이미지를 선택하세요.");
+            return "redirect:/study/"+study.getEncodedPath()+"/settings/banner";
+        }
+
+        try {
+            studyService.updateBanner(study, imageService.saveImage(image));
+        } catch (IllegalArgumentException e) {
+            attributes.addFlashAttribute("message", e.getMessage());
+            return "redirect:/study/"+study.getEncodedPath()+"/settings/banner";
+        }
         attributes.addFlashAttribute("message", "배너를 등록 하였습니다.");
         return "redirect:/study/"+study.getEncodedPath()+"/settings/banner";
     }
 
     @GetMapping("/description")
-    public String updateStudyDescriptionForm(@CurrentUser Account account, @PathVariable String path, Model model) {
-        Study study = studyService.getStudyToUpdate(account, path);
-        model.addAttribute(account);
+    public String updateStudyDescriptionForm(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, Model model) {
+        Study study = studyService.getStudyToUpdate(account.getId(), path);
+        model.addAttribute("account", account);
         model.addAttribute(study);
         model.addAttribute(modelMapper.map(study, StudyDescriptionForm.class));
         return "study/settings/description";
     }
 
     @PostMapping("/description")
-    public String updateStudyDescription(@CurrentUser Account account, @PathVariable String path, @Valid  StudyDescriptionForm form, Errors errors,
+    public String updateStudyDescription(@CurrentUserSnapshot AccountSnapshot account, @PathVariable String path, @Valid  StudyDescriptionForm form, Errors errors,
                                          RedirectAttributes attributes, Model model) {
-        Study study = studyService.getStudyToUpdate(account, path);
+        Study study = studyService.getStudyToUpdate(account.getId(), path);
         if (errors.hasErrors()) {
-            model.addAttribute(account);
+            model.addAttribute("account", account);
             model.addAttribute(study);
             return "study/settings/description";
         }
@@ -0,0 +1,18 @@
+package study.studygroup.study;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 대시보드의 스터디 링크에 필요한 만큼만 담은 스터디 정보.
+ */
+@Getter
+@AllArgsConstructor
+public class StudyTitle {
+
+    private final Long id;
+
+    private final String path;
+
+    private final String title;
+}
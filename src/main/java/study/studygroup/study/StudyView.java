@@ -0,0 +1,87 @@
+package study.studygroup.study;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import study.studygroup.domain.Study;
+import study.studygroup.domain.Tag;
+import study.studygroup.domain.Zone;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 스터디 소개, 구성원, 모임 화면이 그리는 내용을 담은 읽기 전용 스냅샷. 여러 요청이 캐시에서 같은 인스턴스를 나눠 쓰므로
+ * 만든 뒤에는 바뀌지 않는다. 구성원은 수만 담고, 목록은 구성원 화면에서 나눠 읽는다.
+ */
+@Getter
+public class StudyView {
+
+    private final Long id;
+    private final String path;
+    private final String encodedPath;
+    private final String title;
+    private final String shortDescription;
+    private final String fullDescription;
+    private final String image;
+    private final boolean useBanner;
+    private final boolean published;
+    private final boolean closed;
+    private final boolean recruiting;
+    private final LocalDateTime publishedDateTime;
+    private final List<TagItem> tags;
+    private final List<ZoneItem> zones;
+    private final List<StudyMember> managers;
+    private final int memberCount;
+
+    private StudyView(Study study) {
+        this.id = study.getId();
+        this.path = study.getPath();
+        this.encodedPath = study.getEncodedPath();
+        this.title = study.getTitle();
+        this.shortDescription = study.getShortDescription();
+        this.fullDescription = study.getFullDescription();
+        this.image = study.getImage();
+        this.useBanner = study.isUseBanner();
+        this.published = study.isPublished();
+        this.closed = study.isClosed();
+        this.recruiting = study.isRecruiting();
+        this.publishedDateTime = study.getPublishedDateTime();
+        this.tags = study.getTags().stream()
+                .map(Tag::getTitle).sorted().map(TagItem::new)
+                .collect(Collectors.toUnmodifiableList());
+        this.zones = study.getZones().stream()
+                .sorted(Comparator.comparing(Zone::getId)).map(ZoneItem::of)
+                .collect(Collectors.toUnmodifiableList());
+        this.managers = study.getManagers().stream()
+                .map(StudyMember::of).sorted(Comparator.comparing(StudyMember::getId))
+                .collect(Collectors.toUnmodifiableList());
+        this.memberCount = study.getMemberCount();
+    }
+
+    public static StudyView of(Study study) {
+        return new StudyView(study);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class TagItem {
+
+        private final String title;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ZoneItem {
+
+        private final Long id;
+        private final String city;
+        private final String localNameOfCity;
+        private final String province;
+
+        static ZoneItem of(Zone zone) {
+            return new ZoneItem(zone.getId(), zone.getCity(), zone.getLocalNameOfCity(), zone.getProvince());
+        }
+    }
+}
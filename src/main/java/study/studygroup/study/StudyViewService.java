@@ -0,0 +1,76 @@
+package study.studygroup.study;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.studygroup.domain.Study;
+import study.studygroup.study.event.StudyChangedEvent;
+
+import java.time.Duration;
+
+/**
+ * 스터디 화면용 {@link StudyView} 캐시. 스터디는 자주 바뀌지 않으므로 화면마다 엔티티 그래프를 읽지 않고 스냅샷을 나눠 쓴다.
+ * 같은 경로에 대한 동시 조회는 한 번만 읽고, StudyService 가 스터디를 바꾸면 커밋(또는 롤백) 뒤 해당 스터디만 지운다.
+ * 구성원의 닉네임 같은 계정 정보 변경은 이벤트가 없으므로 일정 시간이 지나면 다시 읽는다.
+ */
+@Service
+public class StudyViewService {
+
+    private static final int MAXIMUM_SIZE = 1_000;
+    private static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(10);
+
+    private final StudyRepository studyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LoadingCache<String, StudyView> views;
+
+    public StudyViewService(StudyRepository studyRepository, PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
+        this.studyRepository = studyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.views = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfterWrite(EXPIRE_AFTER_WRITE)
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, views, "studyView");
+    }
+
+    public StudyView getStudyView(String path) {
+        StudyView view = views.get(path);
+        if (view == null) {
+            throw new IllegalArgumentException(path + "에 해당하는 스터디가 없습니다.");
+        }
+        return view;
+    }
+
+    private StudyView load(String path) {
+        return transactionTemplate.execute(status -> {
+            Study study = studyRepository.findByPath(path);
+            return study != null ? StudyView.of(study) : null;
+        });
+    }
+
+    /**
+     * 경로로 지운다. invalidate 는 같은 경로를 읽고 있는 중이면 그 읽기가 끝날 때까지 기다렸다 지우므로,
+     * 커밋 전에 읽기 시작한 화면이 지운 뒤에 들어와 남는 일이 없다. 경로가 없는 이벤트는 id 로 찾아 지운다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onStudyChanged(StudyChangedEvent event) {
+        if (event.getPaths().isEmpty()) {
+            views.asMap().values().removeIf(view -> view.getId().equals(event.getStudyId()));
+            return;
+        }
+        views.invalidateAll(event.getPaths());
+    }
+
+    public void invalidateAll() {
+        views.invalidateAll();
+    }
+}
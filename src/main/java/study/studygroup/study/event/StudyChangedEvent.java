@@ -0,0 +1,22 @@
+package study.studygroup.study.event;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 스터디의 상태, 소개, 태그, 지역, 구성원 등이 바뀌었을 때 발행하는 이벤트.
+ * 검색 인덱스 같은 읽기 전용 구조는 커밋 이후 이 이벤트를 받아 해당 스터디만 다시 반영한다.
+ * paths 는 경로로 찾는 캐시가 지울 키로, 경로를 바꿨으면 예전 경로와 새 경로가 모두 들어 있다.
+ */
+@Getter
+public class StudyChangedEvent {
+
+    private final Long studyId;
+    private final List<String> paths;
+
+    public StudyChangedEvent(Long studyId, String... paths) {
+        this.studyId = studyId;
+        this.paths = List.of(paths);
+    }
+}
@@ -0,0 +1,14 @@
+package study.studygroup.study.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 스터디를 공개했을 때 발행한다. 관심 태그와 지역이 겹치는 계정에게 새 스터디 알림을 보낸다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class StudyCreatedEvent {
+
+    private final Long studyId;
+}
@@ -0,0 +1,151 @@
+package study.studygroup.study.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import study.studygroup.account.AccountInterestService;
+import study.studygroup.mail.EmailMessage;
+import study.studygroup.mail.EmailService;
+import study.studygroup.mail.MailTemplate;
+import study.studygroup.mail.MailTemplateRenderer;
+import study.studygroup.notification.NotificationService;
+import study.studygroup.notification.NotificationType;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 새 스터디와 스터디 소식을 관심 있는 계정, 멤버와 관리자에게 나눠 준다. 발행한 트랜잭션이 커밋된 뒤 비동기 스레드 풀에서 실행되며,
+ * 받는 사람은 엔티티를 로딩하지 않고 알림 설정 컬럼만 읽어서 고른다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudyEventListener {
+
+    private static final String RECIPIENTS = "select a.id, a.email, a.nickname, " +
+            "a.study_updated_by_web, a.study_updated_by_email from account a " +
+            "where a.id in (select members_id from study_members where study_id = ?) " +
+            "or a.id in (select managers_id from study_managers where study_id = ?)";
+
+    private static final String CREATED_RECIPIENTS = "select id, email, nickname, " +
+            "study_created_by_web, study_created_by_email from account where id in (:ids)";
+
+    private static final int FAN_OUT_CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final AccountInterestService accountInterestService;
+    private final NotificationService notificationService;
+    private final EmailService emailService;
+    private final MailTemplateRenderer mailTemplateRenderer;
+
+    /**
+     * 스터디의 태그와 지역에 모두 관심이 있는 계정을 비트맵 연산으로 구한 뒤, 청크 단위로 알림 설정을 읽어 나눠 보낸다.
+     * 청크마다 따로 커밋하므로 받는 사람이 많아도 한 트랜잭션이 길어지지 않는다.
+     */
+    @Async
+    @TransactionalEventListener
+    public void handleStudyCreatedEvent(StudyCreatedEvent studyCreatedEvent) {
+        Long studyId = studyCreatedEvent.getStudyId();
+        Map<String, Object> study = jdbcTemplate.queryForMap(
+                "select path, title, short_description from study where id = ?", studyId);
+        List<Long> tagIds = jdbcTemplate.queryForList("select tags_id from study_tags where study_id = ?", Long.class, studyId);
+        List<Long> zoneIds = jdbcTemplate.queryForList("select zones_id from study_zones where study_id = ?", Long.class, studyId);
+
+        RoaringBitmap accountIds = accountInterestService.findInterestedAccountIds(tagIds, zoneIds);
+        String title = (String) study.get("title");
+        String link = "/study/" + URLEncoder.encode((String) study.get("path"), StandardCharsets.UTF_8);
+        String message = (String) study.get("short_description");
+
+        List<Long> chunk = new ArrayList<>(FAN_OUT_CHUNK_SIZE);
+        for (int accountId : accountIds) {
+            chunk.add((long) accountId);
+            if (chunk.size() == FAN_OUT_CHUNK_SIZE) {
+                notifyStudyCreated(chunk, title, link, message);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            notifyStudyCreated(chunk, title, link, message);
+        }
+        log.info("study {} creation matched {} interested accounts", studyId, accountIds.getCardinality());
+    }
+
+    private void notifyStudyCreated(List<Long> accountIds, String title, String link, String message) {
+        List<Long> webRecipients = new ArrayList<>();
+        List<Map<String, Object>> emailRecipients = new ArrayList<>();
+        namedParameterJdbcTemplate.query(CREATED_RECIPIENTS, Map.of("ids", accountIds), rs -> {
+            if (rs.getBoolean("study_created_by_web")) {
+                webRecipients.add(rs.getLong("id"));
+            }
+            if (rs.getBoolean("study_created_by_email")) {
+                emailRecipients.add(Map.of(
+                        "email", rs.getString("email"),
+                        "nickname", rs.getString("nickname"),
+                        "link", link,
+                        "linkName", title,
+                        "message", "새로운 스터디가 생겼습니다"));
+            }
+        });
+
+        notificationService.createNotifications(webRecipients, NotificationType.STUDY_CREATED, title, link, message);
+        sendEmails(emailRecipients, "스터디올래, '" + title + "' 스터디가 생겼습니다.");
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void handleStudyUpdateEvent(StudyUpdateEvent studyUpdateEvent) {
+        Map<String, Object> study = jdbcTemplate.queryForMap("select path, title from study where id = ?",
+                studyUpdateEvent.getStudyId());
+        String title = (String) study.get("title");
+        String link = "/study/" + URLEncoder.encode((String) study.get("path"), StandardCharsets.UTF_8);
+
+        List<Long> webRecipients = new ArrayList<>();
+        List<Map<String, Object>> emailRecipients = new ArrayList<>();
+        jdbcTemplate.query(RECIPIENTS, rs -> {
+            if (rs.getBoolean("study_updated_by_web")) {
+                webRecipients.add(rs.getLong("id"));
+            }
+            if (rs.getBoolean("study_updated_by_email")) {
+                emailRecipients.add(Map.of(
+                        "email", rs.getString("email"),
+                        "nickname", rs.getString("nickname"),
+                        "link", link,
+                        "linkName", title,
+                        "message", studyUpdateEvent.getMessage()));
+            }
+        }, studyUpdateEvent.getStudyId(), studyUpdateEvent.getStudyId());
+
+        notificationService.createNotifications(webRecipients, NotificationType.STUDY_UPDATED,
+                title, link, studyUpdateEvent.getMessage());
+        sendEmails(emailRecipients, "스터디올래, '" + title + "' 스터디에 새소식이 있습니다.");
+        log.info("study {} update notified to {} web and {} email recipients", studyUpdateEvent.getStudyId(),
+                webRecipients.size(), emailRecipients.size());
+    }
+
+    private void sendEmails(List<Map<String, Object>> recipients, String subject) {
+        if (recipients.isEmpty()) {
+            return;
+        }
+
+        List<String> messages = mailTemplateRenderer.renderAll(MailTemplate.SIMPLE_LINK, recipients);
+        List<EmailMessage> emailMessages = new ArrayList<>(recipients.size());
+        for (int i = 0; i < recipients.size(); i++) {
+            emailMessages.add(EmailMessage.builder()
+                    .to((String) recipients.get(i).get("email"))
+                    .subject(subject)
+                    .message(messages.get(i))
+                    .build());
+        }
+        emailService.sendEmails(emailMessages);
+    }
+}
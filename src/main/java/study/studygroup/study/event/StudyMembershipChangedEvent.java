@@ -0,0 +1,15 @@
+package study.studygroup.study.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 스터디의 관리자나 구성원이 바뀌었을 때(스터디 생성, 가입, 탈퇴, 삭제) 발행한다.
+ * 커밋 이후 구성원 색인이 해당 스터디만 조인 테이블에서 다시 읽는다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class StudyMembershipChangedEvent {
+
+    private final Long studyId;
+}
@@ -0,0 +1,16 @@
+package study.studygroup.study.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 스터디 멤버와 관리자에게 알릴 소식이 생겼을 때 발행한다. 비동기로 처리되므로 엔티티 대신 id 만 담는다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class StudyUpdateEvent {
+
+    private final Long studyId;
+
+    private final String message;
+}
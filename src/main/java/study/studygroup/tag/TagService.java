@@ -1,23 +1,125 @@
 package study.studygroup.tag;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import study.studygroup.domain.Tag;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.text.Normalizer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 태그 제목을 id 로 바꿔 주는 서비스. 태그는 지우거나 이름을 바꾸지 않으므로 한 번 찾은 id 는 메모리에 두고 다시 쓴다.
+ * 돌려주는 Tag 는 id 와 제목만 채운 영속성 컨텍스트 밖의 객체라서 연관관계에 넣는 데에만 쓴다.
+ */
 @Service
 @Transactional
-@RequiredArgsConstructor
 public class TagService {
 
+    private static final String UNIQUE_VIOLATION = "23505";
+
     private final TagRepository tagRepository;
+    private final TagSuggestService tagSuggestService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentMap<String, Long> tagIds = new ConcurrentHashMap<>();
 
+    public TagService(TagRepository tagRepository, TagSuggestService tagSuggestService, JdbcTemplate jdbcTemplate) {
+        this.tagRepository = tagRepository;
+        this.tagSuggestService = tagSuggestService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
 
+    /**
+     * 같은 제목을 여러 스레드나 서버에서 동시에 만들어도 태그는 하나만 생긴다. 먼저 넣은 쪽이 이기고,
+     * 나머지는 tag.title 유니크 제약에 걸린 INSERT 를 되돌린 뒤 이긴 쪽의 태그를 읽는다.
+     */
     public Tag findOrCreateNew(String tagTitle) {
-        Tag tag = tagRepository.findByTitle(tagTitle);
-        if(tag == null) {
-            tagRepository.save(Tag.builder().title(tagTitle).build());
+        String title = normalize(tagTitle);
+        Tag tag = findByNormalizedTitle(title);
+        if (tag != null) {
+            return tag;
+        }
+
+        Long id = jdbcTemplate.queryForObject("select nextval('hibernate_sequence')", Long.class);
+        if (!insert(id, title)) {
+            return findByNormalizedTitle(title);
+        }
+        return intern(id, title, true);
+    }
+
+    /**
+     * 지금 트랜잭션의 커넥션에서 세이브포인트를 두고 넣는다. 유니크 제약에 걸려도 바깥 트랜잭션은 그대로 이어 갈 수 있다.
+     */
+    private boolean insert(Long id, String title) {
+        Boolean inserted = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement statement = connection.prepareStatement("insert into tag (id, title) values (?, ?)")) {
+                statement.setLong(1, id);
+                statement.setString(2, title);
+                statement.executeUpdate();
+                connection.releaseSavepoint(savepoint);
+                return true;
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                if (UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                    return false;
+                }
+                throw e;
+            }
+        });
+        return Boolean.TRUE.equals(inserted);
+    }
+
+    public Tag findByTitle(String tagTitle) {
+        return findByNormalizedTitle(normalize(tagTitle));
+    }
+
+    private Tag findByNormalizedTitle(String title) {
+        Long id = tagIds.get(title);
+        if (id != null) {
+            return Tag.builder().id(id).title(title).build();
+        }
+
+        Tag tag = tagRepository.findByTitle(title);
+        return tag != null ? intern(tag.getId(), title) : null;
+    }
+
+    private Tag intern(Long id, String title) {
+        return intern(id, title, false);
+    }
+
+    /**
+     * 지금 트랜잭션이 되돌려지면 없는 태그가 되므로 커밋한 뒤에 메모리에 올린다.
+     * 새로 만든 태그라면 자동 완성 목록에도 그때 넣는다.
+     */
+    private Tag intern(Long id, String title, boolean created) {
+        Runnable publish = () -> {
+            tagIds.putIfAbsent(title, id);
+            if (created) {
+                tagSuggestService.add(title);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.run();
+                }
+            });
+        } else {
+            publish.run();
         }
-        return tag;
+        return Tag.builder().id(id).title(title).build();
+    }
+
+    static String normalize(String tagTitle) {
+        return Normalizer.normalize(tagTitle.strip(), Normalizer.Form.NFC);
     }
 }
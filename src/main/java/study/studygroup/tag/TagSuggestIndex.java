@@ -0,0 +1,148 @@
+package study.studygroup.tag;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 태그 자동 완성용 색인. 소문자로 바꾼 제목을 정렬한 배열에서 접두어 구간을 이분 탐색으로 찾고,
+ * 그 구간에서 많이 쓰인 순서로 k 개를 고른다. 만든 뒤에는 바뀌지 않으므로 잠금 없이 읽고, 태그를 더할 때는 새로 만든다.
+ */
+public class TagSuggestIndex {
+
+    public static final TagSuggestIndex EMPTY = of(Map.of());
+
+    private final String[] keys;
+    private final String[] titles;
+    private final int[] usages;
+    private final int[] ranked;
+
+    private TagSuggestIndex(String[] keys, String[] titles, int[] usages) {
+        this.keys = keys;
+        this.titles = titles;
+        this.usages = usages;
+        this.ranked = rankAll();
+    }
+
+    /**
+     * 태그 제목과 그 태그를 쓰는 계정/스터디 수로 색인을 만든다.
+     */
+    public static TagSuggestIndex of(Map<String, Integer> usageByTitle) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(usageByTitle.entrySet());
+        entries.sort(Comparator.comparing((Map.Entry<String, Integer> entry) -> toKey(entry.getKey()))
+                .thenComparing(Map.Entry::getKey));
+
+        int size = entries.size();
+        String[] keys = new String[size];
+        String[] titles = new String[size];
+        int[] usages = new int[size];
+        for (int i = 0; i < size; i++) {
+            titles[i] = entries.get(i).getKey();
+            keys[i] = toKey(titles[i]);
+            usages[i] = entries.get(i).getValue();
+        }
+        return new TagSuggestIndex(keys, titles, usages);
+    }
+
+    /**
+     * 새 태그를 더한 색인. 이미 있는 제목이면 그대로 돌려준다.
+     */
+    public TagSuggestIndex with(String title) {
+        String key = toKey(title);
+        int position = lowerBound(key);
+        while (position < keys.length && keys[position].equals(key) && titles[position].compareTo(title) <= 0) {
+            if (titles[position].equals(title)) {
+                return this;
+            }
+            position++;
+        }
+
+        int size = keys.length;
+        String[] newKeys = new String[size + 1];
+        String[] newTitles = new String[size + 1];
+        int[] newUsages = new int[size + 1];
+        System.arraycopy(keys, 0, newKeys, 0, position);
+        System.arraycopy(titles, 0, newTitles, 0, position);
+        System.arraycopy(usages, 0, newUsages, 0, position);
+        newKeys[position] = key;
+        newTitles[position] = title;
+        System.arraycopy(keys, position, newKeys, position + 1, size - position);
+        System.arraycopy(titles, position, newTitles, position + 1, size - position);
+        System.arraycopy(usages, position, newUsages, position + 1, size - position);
+        return new TagSuggestIndex(newKeys, newTitles, newUsages);
+    }
+
+    /**
+     * 접두어로 시작하는 태그 제목을 많이 쓰인 순서(같으면 제목 순서)로 최대 limit 개 돌려준다.
+     * 접두어가 비어 있으면 전체에서 고른다.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String key = toKey(prefix);
+        if (key.isEmpty()) {
+            List<String> result = new ArrayList<>(Math.min(limit, ranked.length));
+            for (int i = 0; i < ranked.length && result.size() < limit; i++) {
+                result.add(titles[ranked[i]]);
+            }
+            return result;
+        }
+
+        Comparator<Integer> byRank = byRank();
+        PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, byRank.reversed());
+        for (int i = lowerBound(key); i < keys.length && keys[i].startsWith(key); i++) {
+            top.offer(i);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        Integer[] found = top.toArray(new Integer[0]);
+        Arrays.sort(found, byRank);
+        List<String> result = new ArrayList<>(found.length);
+        for (Integer i : found) {
+            result.add(titles[i]);
+        }
+        return result;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    private int[] rankAll() {
+        Integer[] order = new Integer[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, byRank());
+        return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 많이 쓰인 태그가 앞, 같으면 정렬 배열에서 앞선(제목 순서가 빠른) 태그가 앞.
+     */
+    private Comparator<Integer> byRank() {
+        return Comparator.<Integer>comparingInt(i -> -usages[i]).thenComparingInt(i -> i);
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static String toKey(String title) {
+        return title == null ? "" : title.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,54 @@
+package study.studygroup.tag;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TagSuggestService {
+
+    public static final int MAX_LIMIT = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile TagSuggestIndex index = TagSuggestIndex.EMPTY;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * 새 태그는 {@link #add(String)} 로 바로 반영하고, 태그를 쓰는 계정/스터디 수로 매기는 순위는 주기적으로 다시 센다.
+     */
+    @Scheduled(initialDelayString = "${app.tag-suggest-refresh-interval:600000}",
+            fixedDelayString = "${app.tag-suggest-refresh-interval:600000}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Map<String, Integer> usageByTitle = new HashMap<>();
+        jdbcTemplate.query("select t.title, " +
+                "(select count(*) from account_tags a where a.tags_id = t.id) + " +
+                "(select count(*) from study_tags s where s.tags_id = t.id) from tag t", rs -> {
+            usageByTitle.put(rs.getString(1), rs.getInt(2));
+        });
+        index = TagSuggestIndex.of(usageByTitle);
+        log.info("indexed {} tags for suggestion in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    public synchronized void add(String title) {
+        index = index.with(title);
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        return index.suggest(prefix, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+}
@@ -0,0 +1,170 @@
+package study.studygroup.zone;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import study.studygroup.domain.Zone;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 지역은 zones_kr.csv 로 한 번 채우고 바뀌지 않는 참조 데이터라서 시작할 때 한 번 읽어 메모리에 둔다.
+ * 만든 뒤에는 바뀌지 않으므로 락 없이 읽는다. 돌려주는 Zone 은 영속성 컨텍스트 밖의 객체이니 고치지 말고 연관관계에만 쓴다.
+ */
+@Component
+public class ZoneRegistry {
+
+    private static final char[] CHOSEONG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+    private static final char HANGUL_BEGIN = '가';
+    private static final char HANGUL_END = '힣';
+    private static final int SYLLABLES_PER_CHOSEONG = 21 * 28;
+
+    private final List<Zone> zones;
+    private final Map<Long, Zone> byId = new HashMap<>();
+    private final Map<String, Zone> byName = new HashMap<>();
+    private final Map<String, Zone> byCityAndProvince = new HashMap<>();
+    private final List<WhitelistEntry> whitelist;
+    private final String version;
+
+    @Autowired
+    public ZoneRegistry(ZoneService zoneService) {
+        this(zoneService.loadZones());
+    }
+
+    ZoneRegistry(Collection<Zone> zones) {
+        this.zones = zones.stream()
+                .sorted(Comparator.comparing(Zone::toString))
+                .collect(Collectors.toUnmodifiableList());
+        for (Zone zone : this.zones) {
+            byId.put(zone.getId(), zone);
+            byName.putIfAbsent(zone.toString(), zone);
+            byCityAndProvince.putIfAbsent(cityAndProvince(zone.getCity(), zone.getProvince()), zone);
+        }
+        this.whitelist = this.zones.stream()
+                .map(zone -> new WhitelistEntry(zone.toString(),
+                        zone.getLocalNameOfCity() + " " + initialsOf(zone.getLocalNameOfCity())))
+                .collect(Collectors.toUnmodifiableList());
+        String names = this.zones.stream().map(Zone::toString).collect(Collectors.joining("\n"));
+        this.version = DigestUtils.md5DigestAsHex(names.getBytes(StandardCharsets.UTF_8)).substring(0, 12);
+    }
+
+    private static String cityAndProvince(String city, String province) {
+        return city + "/" + province;
+    }
+
+    public Zone findById(Long id) {
+        return byId.get(id);
+    }
+
+    /**
+     * {@link Zone#toString()} 형식("City(지역명)/Province")으로 찾는다.
+     */
+    public Zone findByName(String name) {
+        return byName.get(name);
+    }
+
+    public Zone findByCityAndProvince(String city, String province) {
+        return byCityAndProvince.get(cityAndProvince(city, province));
+    }
+
+    public List<Zone> findAllById(Collection<Long> ids) {
+        return ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    public List<Zone> getZones() {
+        return zones;
+    }
+
+    /**
+     * 지역 입력창에 쓰는 전체 목록. searchBy 에 한글 지역명과 초성을 넣어 두어 브라우저에서도 "ㅅㅇ" 로 서울을 찾을 수 있다.
+     */
+    public List<WhitelistEntry> getWhitelist() {
+        return whitelist;
+    }
+
+    /**
+     * 지역 목록 내용으로 만든 버전. 목록이 바뀌면 whitelist URL 도 바뀌므로 응답을 오래 캐시해도 된다.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    public String getWhitelistUrl() {
+        return "/api/zones/whitelist/" + version;
+    }
+
+    /**
+     * 영문 도시명이나 한글 지역명이 검색어로 시작하는 지역을 찾는다. 한글 자리에는 초성만 써도 된다(예: "ㅅㅇ", "서ㅇ").
+     * 지역이 백 개 남짓이라 전체를 훑는다.
+     */
+    public List<Zone> suggest(String query, int limit) {
+        String prefix = query == null ? "" : query.trim().toLowerCase();
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+
+        List<Zone> result = new ArrayList<>();
+        for (Zone zone : zones) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (zone.getCity().toLowerCase().startsWith(prefix) || matchesPrefix(zone.getLocalNameOfCity(), prefix)) {
+                result.add(zone);
+            }
+        }
+        return result;
+    }
+
+    static boolean matchesPrefix(String name, String prefix) {
+        if (name.length() < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            char expected = prefix.charAt(i);
+            char actual = name.charAt(i);
+            if (expected != actual && expected != choseongOf(actual)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String initialsOf(String name) {
+        StringBuilder initials = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            initials.append(choseongOf(name.charAt(i)));
+        }
+        return initials.toString();
+    }
+
+    private static char choseongOf(char c) {
+        if (c < HANGUL_BEGIN || c > HANGUL_END) {
+            return c;
+        }
+        return CHOSEONG[(c - HANGUL_BEGIN) / SYLLABLES_PER_CHOSEONG];
+    }
+
+    @Getter
+    public static class WhitelistEntry {
+
+        private final String value;
+        private final String searchBy;
+
+        private WhitelistEntry(String value, String searchBy) {
+            this.value = value;
+            this.searchBy = searchBy;
+        }
+    }
+}
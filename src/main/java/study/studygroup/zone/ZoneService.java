@@ -7,11 +7,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import study.studygroup.domain.Zone;
 
-import javax.annotation.PostConstruct;
-import java.io.File;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,13 +22,21 @@ public class ZoneService {
 
     private final ZoneRepository zoneRepository;
 
-    @PostConstruct
-    public void initZoneData() throws IOException {
+    /**
+     * 지역 데이터가 비어 있으면 zones_kr.csv 로 채운 뒤 전체 지역을 돌려준다. {@link ZoneRegistry} 가 시작할 때 한 번 부른다.
+     */
+    public List<Zone> loadZones() {
         if (zoneRepository.count() == 0) {
+            zoneRepository.saveAll(readZones());
+        }
+        return zoneRepository.findAll();
+    }
 
-            Resource resource = new ClassPathResource("zones_kr.csv");
+    private List<Zone> readZones() {
+        Resource resource = new ClassPathResource("zones_kr.csv");
 
-            List<Zone> zoneList = Files.readAllLines(resource.getFile().toPath(), StandardCharsets.UTF_8).stream()
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            return reader.lines()
                     .map(
                             line -> {
 
@@ -40,8 +48,8 @@ public class ZoneService {
                                         .build();
                             }
                     ).collect(Collectors.toList());
-
-            zoneRepository.saveAll(zoneList);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 }
@@ -8,12 +8,14 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.test.context.support.WithSecurityContextFactory;
 import study.studygroup.account.AccountService;
+import study.studygroup.account.PrincipalCache;
 import study.studygroup.account.SignUpForm;
 
 @RequiredArgsConstructor
 public class WithAccountSecurityContextFactory implements WithSecurityContextFactory<WithAccount> {
 
     private final AccountService accountService;
+    private final PrincipalCache principalCache;
 
     @Override
     public SecurityContext createSecurityContext(WithAccount withAccount) {
@@ -24,6 +26,8 @@ public class WithAccountSecurityContextFactory implements WithSecurityContextFac
         signUpForm.setNickname(nickname);
         signUpForm.setPassword("12341234");
         accountService.processNewAccount(signUpForm);
+        // 테스트마다 같은 닉네임으로 계정을 새로 만들고 롤백하므로 앞선 테스트의 principal 을 지운다.
+        principalCache.invalidateAll();
 
         UserDetails principal = accountService.loadUserByUsername(nickname);
         Authentication authentication = new UsernamePasswordAuthenticationToken(principal, principal.getPassword(), principal.getAuthorities());
@@ -4,14 +4,18 @@ import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 import study.studygroup.WithAccount;
+import study.studygroup.account.event.AccountPrincipalChangedEvent;
 import study.studygroup.domain.Account;
 import study.studygroup.mail.EmailMessage;
 import study.studygroup.mail.EmailService;
@@ -19,12 +23,15 @@ import study.studygroup.settings.SettingsController;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.Base64;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.then;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.authenticated;
 import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.unauthenticated;
@@ -47,6 +54,21 @@ class AccountControllerTest {
     @PersistenceContext
     private EntityManager em;
 
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EmailTokenStore emailTokenStore;
+
     @MockBean
     EmailService emailService;
 
@@ -98,7 +120,7 @@ class AccountControllerTest {
         assertNotNull(account);
         assertNotEquals(account.getPassword(), password);
         assertThat(accountRepository.existsByEmail(email)).isTrue();
-        assertNotNull(account.getEmailCheckToken());
+        assertFalse(emailTokenStore.canIssue(account.getId(), EmailTokenPurpose.SIGN_UP));
         then(emailService).should().sendEmail(any(EmailMessage.class));
     }
 
@@ -126,11 +148,10 @@ class AccountControllerTest {
                 .build();
 
         Account newAccount = accountRepository.save(account);
-        newAccount.generateEmailCheckToken();
+        String token = emailTokenStore.issue(newAccount.getId(), EmailTokenPurpose.SIGN_UP);
 
         mockMvc.perform(get("/check-email-token")
-                    .param("token", newAccount.getEmailCheckToken())
-                    .param("email", newAccount.getEmail())
+                    .param("token", token)
                     )
                 .andExpect(status().isOk())
                 .andExpect(model().attributeDoesNotExist("error"))
@@ -138,6 +159,21 @@ class AccountControllerTest {
                 .andExpect(model().attributeExists("numberOfUser"))
                 .andExpect(view().name("account/checked-email"))
                 .andExpect(authenticated().withUsername("hoseok"));
+
+        assertTrue(accountRepository.findByNickname("hoseok").isEmailVerified());
+    }
+
+    @DisplayName("인증 메일 확인 - 로그인 링크 토큰으로는 가입을 끝낼 수 없다")
+    @Test
+    public void checkEmailToken_with_loginLinkToken() throws Exception {
+        Account account = saveAccount("hoseok", "baek22h@naver.com", "12341234");
+        String token = emailTokenStore.issue(account.getId(), EmailTokenPurpose.LOGIN_LINK);
+
+        mockMvc.perform(get("/check-email-token")
+                    .param("token", token)
+                    )
+                .andExpect(model().attribute("error", "wrong.token"))
+                .andExpect(unauthenticated());
     }
 
     @Test
@@ -175,4 +211,140 @@ class AccountControllerTest {
                 .andExpect(view().name(SettingsController.SETTING_ACCOUNT_VIEW_NAME))
                 .andExpect(model().attributeExists("account"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("로그인 - 두 번째 로그인부터는 캐시한 principal 을 쓴다")
+    public void login_cachedPrincipal() throws Exception {
+        principalCache.invalidateAll();
+        saveAccount("hoseok", "baek22h@naver.com", "12341234");
+        double hits = cacheGets("hit");
+
+        mockMvc.perform(formLogin().user("baek22h@naver.com").password("12341234"))
+                .andExpect(authenticated().withUsername("hoseok"));
+        // 로그인 뒤 비밀번호를 지운 UserAccount 를 캐시에서 다시 쓰면 안 된다.
+        mockMvc.perform(formLogin().user("baek22h@naver.com").password("12341234"))
+                .andExpect(authenticated().withUsername("hoseok"));
+        mockMvc.perform(formLogin().user("hoseok").password("12341234"))
+                .andExpect(authenticated().withUsername("hoseok"));
+
+        assertEquals(hits + 1, cacheGets("hit"));
+        assertTrue(meterRegistry.get("principal.lookup").timer().count() >= 3);
+    }
+
+    @Test
+    @DisplayName("로그인 - 비밀번호를 바꾸면 캐시한 principal 을 지운다")
+    public void login_afterPasswordChange() throws Exception {
+        principalCache.invalidateAll();
+        Account account = saveAccount("hoseok", "baek22h@naver.com", "12341234");
+        mockMvc.perform(formLogin().user("hoseok").password("12341234"))
+                .andExpect(authenticated());
+
+        accountService.updatePassword(account, "56785678");
+        // 테스트 트랜잭션은 끝나지 않으므로 커밋 뒤에 불리는 리스너를 직접 부른다.
+        principalCache.onPrincipalChanged(new AccountPrincipalChangedEvent(account.getId(),
+                account.getEmail(), account.getNickname()));
+
+        mockMvc.perform(formLogin().user("hoseok").password("12341234"))
+                .andExpect(unauthenticated());
+        mockMvc.perform(formLogin().user("hoseok").password("56785678"))
+                .andExpect(authenticated().withUsername("hoseok"));
+    }
+
+    @Test
+    @DisplayName("로그인 - 낮은 cost 의 해시는 로그인에 성공하면 새 해시로 바꾼다")
+    public void login_upgradesWeakHash() throws Exception {
+        principalCache.invalidateAll();
+        Account account = saveAccount("hoseok", "baek22h@naver.com", "12341234");
+        String weakHash = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("12341234");
+        account.setPassword(weakHash);
+        accountRepository.flush();
+
+        mockMvc.perform(formLogin().user("hoseok").password("12341234"))
+                .andExpect(authenticated().withUsername("hoseok"));
+
+        String upgraded = accountRepository.findByNickname("hoseok").getPassword();
+        assertNotEquals(weakHash, upgraded);
+        assertFalse(passwordEncoder.upgradeEncoding(upgraded));
+        assertTrue(passwordEncoder.matches("12341234", upgraded));
+    }
+
+    @Test
+    @DisplayName("이메일 링크로 로그인 - 토큰은 한 번만 쓸 수 있다")
+    public void loginByEmail() throws Exception {
+        Account account = saveAccount("hoseok", "baek22h@naver.com", "12341234");
+        String token = emailTokenStore.issue(account.getId(), EmailTokenPurpose.LOGIN_LINK);
+
+        mockMvc.perform(get("/login-by-email")
+                .param("token", token)
+                .param("email", "baek22h@naver.com"))
+                .andExpect(model().attributeDoesNotExist("error"))
+                .andExpect(view().name("account/logged-in-by-email"))
+                .andExpect(authenticated().withUsername("hoseok"));
+
+        mockMvc.perform(get("/login-by-email")
+                .param("token", token)
+                .param("email", "baek22h@naver.com"))
+                .andExpect(model().attributeExists("error"))
+                .andExpect(unauthenticated());
+    }
+
+    @Test
+    @DisplayName("이메일 링크로 로그인 - 다른 사람의 이메일로는 로그인할 수 없다")
+    public void loginByEmail_otherEmail() throws Exception {
+        Account account = saveAccount("hoseok", "baek22h@naver.com", "12341234");
+        saveAccount("other", "other@naver.com", "12341234");
+        String token = emailTokenStore.issue(account.getId(), EmailTokenPurpose.LOGIN_LINK);
+
+        mockMvc.perform(get("/login-by-email")
+                .param("token", token)
+                .param("email", "other@naver.com"))
+                .andExpect(model().attributeExists("error"))
+                .andExpect(unauthenticated());
+    }
+
+    @Test
+    @DisplayName("프로필 이미지 - 버전이 맞으면 오래 캐시하고, 다르면 매번 확인하게 한다")
+    @WithAccount("hoseok")
+    public void profileImage() throws Exception {
+        byte[] image = {1, 2, 3};
+        Account account = accountRepository.findByNickname("hoseok");
+        account.setProfileImage("data:image/png;base64," + Base64.getEncoder().encodeToString(image));
+        accountRepository.flush();
+        String url = AccountSnapshot.from(account).getProfileImageUrl();
+
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(image))
+                .andExpect(header().string("Cache-Control", containsString("immutable")));
+
+        mockMvc.perform(get("/profile-image/" + account.getId()).param("v", "old"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"));
+    }
+
+    @Test
+    @DisplayName("프로필 이미지 - 없으면 404")
+    @WithAccount("hoseok")
+    public void profileImage_notFound() throws Exception {
+        Account account = accountRepository.findByNickname("hoseok");
+        assertNull(AccountSnapshot.from(account).getProfileImageUrl());
+
+        mockMvc.perform(get("/profile-image/" + account.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    private Account saveAccount(String nickname, String email, String password) {
+        SignUpForm signUpForm = new SignUpForm();
+        signUpForm.setNickname(nickname);
+        signUpForm.setEmail(email);
+        signUpForm.setPassword(password);
+        Account account = accountService.processNewAccount(signUpForm);
+        accountRepository.flush();
+        return account;
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tags("cache", "principal", "result", result).functionCounter().count();
+    }
+}
@@ -0,0 +1,39 @@
+package study.studygroup.account;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import study.studygroup.account.event.AccountInterestChangedEvent;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AccountInterestServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final AccountInterestService accountInterestService = new AccountInterestService(jdbcTemplate);
+
+    @Test
+    @DisplayName("색인을 다시 만드는 동안 관심사를 바꾼 계정은 먼저 읽은 스냅샷에 덮이지 않음")
+    public void rebuildIndex_replaysChanges() {
+        doAnswer(invocation -> {
+            accountInterestService.onInterestChanged(new AccountInterestChangedEvent(1L));
+            return null;
+        }).when(jdbcTemplate).query(eq("select account_id, tags_id from account_tags"), any(RowCallbackHandler.class));
+        when(jdbcTemplate.queryForList("select tags_id from account_tags where account_id = ?", Long.class, 1L))
+                .thenReturn(List.of(10L));
+        when(jdbcTemplate.queryForList("select zones_id from account_zones where account_id = ?", Long.class, 1L))
+                .thenReturn(List.of(20L));
+
+        accountInterestService.rebuildIndex();
+
+        assertTrue(accountInterestService.findInterestedAccountIds(List.of(10L), List.of(20L)).contains(1));
+    }
+}
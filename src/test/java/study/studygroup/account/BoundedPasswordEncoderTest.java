@@ -0,0 +1,84 @@
+package study.studygroup.account;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    @DisplayName("해시 스레드와 대기 큐가 모두 차면 기다리지 않고 거절한다")
+    public void rejectWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slowEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash-" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals(encode(rawPassword));
+            }
+        };
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slowEncoder, 1, 1);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        while (encoder.queuedTasks() == 0) {
+            Thread.sleep(10);
+        }
+
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("third"));
+
+        release.countDown();
+        assertEquals("hash-first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash-second", queued.get(5, TimeUnit.SECONDS));
+        encoder.shutdown();
+    }
+
+    @Test
+    @DisplayName("지금 cost 보다 낮은 bcrypt 해시는 다시 만들어야 한다")
+    public void upgradeEncoding() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 1);
+
+        String weak = new BCryptPasswordEncoder(4).encode("12341234");
+        String current = encoder.encode("12341234");
+
+        assertTrue(encoder.matches("12341234", weak));
+        assertTrue(encoder.upgradeEncoding(weak));
+        assertFalse(encoder.upgradeEncoding(current));
+        encoder.shutdown();
+    }
+
+    @Test
+    @DisplayName("시큐리티 필터에서 해시 큐가 가득 차면 503")
+    public void busyFilter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new PasswordHashingBusyFilter().doFilter(new MockHttpServletRequest("POST", "/login"), response,
+                (req, res) -> {
+                    throw new PasswordHashingBusyException();
+                });
+
+        assertEquals(503, response.getStatus());
+        assertEquals(PasswordHashingBusyFilter.RETRY_AFTER_SECONDS, response.getHeader("Retry-After"));
+    }
+}
@@ -0,0 +1,93 @@
+package study.studygroup.account;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.web.authentication.rememberme.PersistentRememberMeToken;
+import study.studygroup.config.AppProperties;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 스케줄러가 도는 빈 대신 새 저장소를 만들어서 flush 시점을 테스트가 정한다.
+ */
+@SpringBootTest
+class CoalescingTokenRepositoryTest {
+
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    private CoalescingTokenRepository tokenRepository;
+
+    @BeforeEach
+    void beforeEach() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setRememberMePurgeChunkSize(2);
+        tokenRepository = new CoalescingTokenRepository(jdbcTemplate, appProperties);
+    }
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("delete from persistent_logins");
+    }
+
+    @Test
+    @DisplayName("자동 로그인의 토큰 갱신은 모았다가 마지막 값만 쓴다")
+    public void updateToken_coalesced() {
+        tokenRepository.createNewToken(new PersistentRememberMeToken("hoseok", "series", "token-0", new Date()));
+
+        tokenRepository.updateToken("series", "token-1", new Date());
+        tokenRepository.updateToken("series", "token-2", new Date());
+
+        assertEquals("token-2", tokenRepository.getTokenForSeries("series").getTokenValue());
+        assertEquals("token-0", tokenInDatabase("series"));
+
+        assertEquals(1, tokenRepository.flush());
+        assertEquals("token-2", tokenInDatabase("series"));
+        assertEquals(0, tokenRepository.flush());
+    }
+
+    @Test
+    @DisplayName("로그아웃하면 아직 쓰지 않은 갱신도 버린다")
+    public void removeUserTokens() {
+        tokenRepository.createNewToken(new PersistentRememberMeToken("hoseok", "series", "token-0", new Date()));
+        tokenRepository.updateToken("series", "token-1", new Date());
+
+        tokenRepository.removeUserTokens("hoseok");
+
+        assertNull(tokenRepository.getTokenForSeries("series"));
+        assertEquals(0, tokenRepository.flush());
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from persistent_logins", Integer.class));
+    }
+
+    @Test
+    @DisplayName("유효 기간이 지난 series 는 묶음 단위로 지운다")
+    public void purgeExpired() {
+        Date expired = new Date(System.currentTimeMillis()
+                - Duration.ofSeconds(CoalescingTokenRepository.TOKEN_VALIDITY_SECONDS).plusDays(1).toMillis());
+        for (int i = 0; i < 5; i++) {
+            insert("expired-" + i, expired);
+        }
+        tokenRepository.createNewToken(new PersistentRememberMeToken("hoseok", "fresh", "token", new Date()));
+
+        assertEquals(5, tokenRepository.purgeExpired());
+        assertNull(tokenRepository.getTokenForSeries("expired-0"));
+        assertNotNull(tokenRepository.getTokenForSeries("fresh"));
+    }
+
+    private void insert(String series, Date lastUsed) {
+        jdbcTemplate.update("insert into persistent_logins (username, series, token, last_used) values (?, ?, ?, ?)",
+                "old", series, "token", new Timestamp(lastUsed.getTime()));
+    }
+
+    private String tokenInDatabase(String series) {
+        return jdbcTemplate.queryForObject("select token from persistent_logins where series = ?", String.class, series);
+    }
+}
@@ -0,0 +1,122 @@
+package study.studygroup.account;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.studygroup.config.AppProperties;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 스케줄러가 도는 빈 대신 새 저장소를 만들어서 서버 여러 대를 흉내 낸다.
+ */
+@SpringBootTest
+class EmailTokenStoreTest {
+
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    private AppProperties appProperties;
+    private EmailTokenStore tokenStore;
+
+    @BeforeEach
+    void beforeEach() {
+        appProperties = new AppProperties();
+        appProperties.setEmailTokenPurgeChunkSize(2);
+        tokenStore = new EmailTokenStore(jdbcTemplate, appProperties);
+    }
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("delete from email_token");
+    }
+
+    @Test
+    @DisplayName("토큰은 해시로 저장하고 한 번만 쓸 수 있다")
+    public void consume_once() {
+        String token = tokenStore.issue(1L, EmailTokenPurpose.SIGN_UP);
+
+        assertEquals(1, tokenStore.cachedTokens());
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from email_token where token_hash = ?",
+                Integer.class, token));
+
+        assertEquals(1L, tokenStore.consume(token, EmailTokenPurpose.SIGN_UP));
+        assertNull(tokenStore.consume(token, EmailTokenPurpose.SIGN_UP));
+        assertEquals(0, tokenStore.cachedTokens());
+        assertTrue(jdbcTemplate.queryForObject("select used from email_token where token_hash = ?",
+                Boolean.class, EmailTokenStore.hash(token)));
+    }
+
+    @Test
+    @DisplayName("다른 서버가 발급한 토큰은 테이블에서 읽고, 다른 서버가 쓴 토큰은 다시 쓸 수 없다")
+    public void consume_acrossServers() {
+        EmailTokenStore otherServer = new EmailTokenStore(jdbcTemplate, appProperties);
+        String token = tokenStore.issue(1L, EmailTokenPurpose.LOGIN_LINK);
+
+        assertEquals(1L, otherServer.consume(token, EmailTokenPurpose.LOGIN_LINK));
+        assertNull(tokenStore.consume(token, EmailTokenPurpose.LOGIN_LINK));
+    }
+
+    @Test
+    @DisplayName("용도가 다른 토큰은 쓰지 않고 남겨 둔다")
+    public void consume_wrongPurpose() {
+        String token = tokenStore.issue(1L, EmailTokenPurpose.LOGIN_LINK);
+        EmailTokenStore otherServer = new EmailTokenStore(jdbcTemplate, appProperties);
+
+        assertNull(tokenStore.consume(token, EmailTokenPurpose.SIGN_UP));
+        assertNull(otherServer.consume(token, EmailTokenPurpose.SIGN_UP));
+        assertNull(tokenStore.consume("unknown", EmailTokenPurpose.LOGIN_LINK));
+        assertEquals(1L, tokenStore.consume(token, EmailTokenPurpose.LOGIN_LINK));
+    }
+
+    @Test
+    @DisplayName("유효 기간이 지난 토큰은 쓸 수 없다")
+    public void consume_expired() throws InterruptedException {
+        appProperties.setLoginLinkTokenTtl(Duration.ofMillis(1));
+        String token = tokenStore.issue(1L, EmailTokenPurpose.LOGIN_LINK);
+        EmailTokenStore otherServer = new EmailTokenStore(jdbcTemplate, appProperties);
+        Thread.sleep(20);
+
+        assertNull(tokenStore.consume(token, EmailTokenPurpose.LOGIN_LINK));
+        assertNull(otherServer.consume(token, EmailTokenPurpose.LOGIN_LINK));
+    }
+
+    @Test
+    @DisplayName("같은 용도의 토큰은 한 시간에 한 번만 발급한다")
+    public void canIssue() {
+        assertTrue(tokenStore.canIssue(1L, EmailTokenPurpose.SIGN_UP));
+
+        tokenStore.issue(1L, EmailTokenPurpose.SIGN_UP);
+
+        assertFalse(tokenStore.canIssue(1L, EmailTokenPurpose.SIGN_UP));
+        assertTrue(tokenStore.canIssue(1L, EmailTokenPurpose.LOGIN_LINK));
+        assertTrue(tokenStore.canIssue(2L, EmailTokenPurpose.SIGN_UP));
+    }
+
+    @Test
+    @DisplayName("만료된 지 한 시간이 지난 토큰만 묶음 단위로 지운다")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            insert("expired-" + i, now.minusHours(3), now.minusHours(2));
+        }
+        insert("recently-expired", now.minusMinutes(40), now.minusMinutes(25));
+        tokenStore.issue(1L, EmailTokenPurpose.SIGN_UP);
+
+        assertEquals(5, tokenStore.purgeExpired());
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from email_token", Integer.class));
+    }
+
+    private void insert(String tokenHash, LocalDateTime issuedAt, LocalDateTime expiresAt) {
+        jdbcTemplate.update("insert into email_token (token_hash, account_id, purpose, issued_at, expires_at, used) " +
+                        "values (?, 1, 'LOGIN_LINK', ?, ?, false)",
+                tokenHash, Timestamp.valueOf(issuedAt), Timestamp.valueOf(expiresAt));
+    }
+}
@@ -0,0 +1,51 @@
+package study.studygroup.account;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * bcrypt cost 별로 한 스레드가 초당 만들 수 있는 해시 수와 확인할 수 있는 비밀번호 수.
+ * 로그인 처리량은 대략 이 값에 비밀번호 해시 스레드 수(app.password-hash-threads)를 곱한 것이다.
+ * 테스트 클래스 경로에서 main 을 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordHashBenchmark {
+
+    @Param({"10", "11", "12", "13"})
+    private int cost;
+
+    private BCryptPasswordEncoder encoder;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(cost);
+        encoded = encoder.encode("12341234");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("12341234");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("12341234", encoded);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PasswordHashBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,51 @@
+package study.studygroup.account;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.transaction.annotation.Transactional;
+import study.studygroup.WithAccount;
+import study.studygroup.domain.Account;
+
+import javax.servlet.http.HttpSessionBindingEvent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class SessionSizeMetricsTest {
+
+    @Autowired SessionSizeMetrics sessionSizeMetrics;
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired AccountRepository accountRepository;
+
+    @Test
+    @DisplayName("세션에는 Account 엔티티 대신 스냅샷만 저장")
+    @WithAccount("hoseok")
+    public void securityContextHoldsSnapshot() throws Exception {
+        SecurityContext context = SecurityContextHolder.getContext();
+        UserAccount principal = (UserAccount) context.getAuthentication().getPrincipal();
+        Account account = accountRepository.findByNickname("hoseok");
+        account.setProfileImage("data:image/png;base64," + "A".repeat(100_000));
+
+        assertEquals(account.getId(), principal.getAccount().getId());
+        assertEquals("hoseok@naver.com", principal.getAccount().getEmail());
+        assertTrue(SessionSizeMetrics.serializedSize(context) < 2_000);
+
+        DistributionSummary summary = meterRegistry.get("session.security-context.size").summary();
+        long before = summary.count();
+        MockHttpSession session = new MockHttpSession();
+        String key = HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY;
+        session.setAttribute(key, context);
+        sessionSizeMetrics.attributeAdded(new HttpSessionBindingEvent(session, key, context));
+
+        assertEquals(before + 1, summary.count());
+    }
+}
@@ -0,0 +1,59 @@
+package study.studygroup.account;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long TICK = 1000;
+
+    @Test
+    @DisplayName("만료 시각이 된 키만 나온다")
+    public void advance() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 8, 3, 0);
+        assertTrue(wheel.schedule("a", 2_500));
+        assertTrue(wheel.schedule("b", 5_000));
+        List<String> expired = new ArrayList<>();
+
+        assertEquals(0, wheel.advance(2_999, expired::add));
+        assertEquals(1, wheel.advance(3_000, expired::add));
+        assertEquals(List.of("a"), expired);
+
+        assertEquals(1, wheel.advance(10_000, expired::add));
+        assertEquals(List.of("a", "b"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("위 단계의 키는 아래 단계로 내려가서 제때 나온다")
+    public void advance_cascade() {
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK, 8, 3, 0);
+        List<Long> deadlines = List.of(7_000L, 8_000L, 9_000L, 63_000L, 64_000L, 65_000L, 300_000L, 511_000L);
+        for (Long deadline : deadlines) {
+            assertTrue(wheel.schedule(deadline, deadline));
+        }
+
+        for (long now = TICK; now <= 512_000; now += TICK) {
+            long tick = now;
+            wheel.advance(now, deadline -> assertEquals(tick, deadline));
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("지난 시각이나 휠 범위 밖의 시각은 넣지 않는다")
+    public void schedule_outOfRange() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 8, 3, 10_000);
+
+        assertFalse(wheel.schedule("past", 9_000));
+        assertFalse(wheel.schedule("now", 10_000));
+        assertFalse(wheel.schedule("far", 10_000 + 512_000));
+        assertTrue(wheel.schedule("last", 10_000 + 511_000));
+        assertEquals(1, wheel.size());
+    }
+}
@@ -0,0 +1,83 @@
+package study.studygroup.account;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.web.authentication.rememberme.JdbcTokenRepositoryImpl;
+import org.springframework.security.web.authentication.rememberme.PersistentRememberMeToken;
+import org.springframework.security.web.authentication.rememberme.PersistentTokenRepository;
+import study.studygroup.config.AppProperties;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * remember-me 자동 로그인 처리량. 자동 로그인 한 번은 series 로 토큰을 읽고 새 토큰 값으로 갱신하는 것이다.
+ * 예전 JdbcTokenRepositoryImpl 과 {@link CoalescingTokenRepository} 를 비교하며, 후자는 자동 로그인 {@value #LOGINS_PER_FLUSH} 번마다
+ * 한 번 flush 한다고 본다(flush 간격 동안 들어온 요청 수). 인메모리 H2 를 쓰므로 실제 DB 의 왕복 비용은 더 크다.
+ * 테스트 클래스 경로에서 main 을 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenRepositoryBenchmark {
+
+    private static final int SESSIONS = 1_000;
+    private static final int LOGINS_PER_FLUSH = 100;
+
+    private JdbcTokenRepositoryImpl jdbcTokenRepository;
+    private CoalescingTokenRepository coalescingTokenRepository;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:remember-me;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop table if exists persistent_logins");
+        jdbcTemplate.execute("create table persistent_logins (username varchar(64) not null, series varchar(64) primary key, " +
+                "token varchar(64) not null, last_used timestamp not null)");
+
+        jdbcTokenRepository = new JdbcTokenRepositoryImpl();
+        jdbcTokenRepository.setDataSource(dataSource);
+        coalescingTokenRepository = new CoalescingTokenRepository(jdbcTemplate, new AppProperties());
+        for (int i = 0; i < SESSIONS; i++) {
+            jdbcTokenRepository.createNewToken(new PersistentRememberMeToken("user" + i, "series" + i, "token", new Date()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOGINS_PER_FLUSH)
+    public Object jdbc() {
+        return autoLogins(jdbcTokenRepository);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOGINS_PER_FLUSH)
+    public Object coalescing() {
+        Object last = autoLogins(coalescingTokenRepository);
+        coalescingTokenRepository.flush();
+        return last;
+    }
+
+    private Object autoLogins(PersistentTokenRepository tokenRepository) {
+        PersistentRememberMeToken last = null;
+        for (int i = 0; i < LOGINS_PER_FLUSH; i++) {
+            String series = "series" + (next++ % SESSIONS);
+            last = tokenRepository.getTokenForSeries(series);
+            tokenRepository.updateToken(series, "token" + next, new Date());
+        }
+        return last;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenRepositoryBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
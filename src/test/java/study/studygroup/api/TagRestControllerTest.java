@@ -0,0 +1,82 @@
+package study.studygroup.api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import study.studygroup.WithAccount;
+import study.studygroup.account.AccountRepository;
+import study.studygroup.domain.Tag;
+import study.studygroup.tag.TagRepository;
+import study.studygroup.tag.TagService;
+import study.studygroup.tag.TagSuggestService;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class TagRestControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired TagRepository tagRepository;
+    @Autowired TagService tagService;
+    @Autowired TagSuggestService tagSuggestService;
+    @Autowired AccountRepository accountRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void beforeEach() {
+        Tag spring = tagRepository.save(Tag.builder().title("Spring").build());
+        tagRepository.save(Tag.builder().title("spring-boot").build());
+        Tag springData = tagRepository.save(Tag.builder().title("spring-data").build());
+        tagRepository.save(Tag.builder().title("java").build());
+        tagRepository.flush();
+        useTag(spring, 2);
+        useTag(springData, 1);
+        tagSuggestService.rebuild();
+    }
+
+    private void useTag(Tag tag, int times) {
+        for (int i = 0; i < times; i++) {
+            Long studyId = jdbcTemplate.queryForObject("select nextval('hibernate_sequence')", Long.class);
+            jdbcTemplate.update("insert into study (id, path, title, published, closed, recruiting, use_banner, member_count) " +
+                    "values (?, ?, ?, false, false, false, false, 0)", studyId, "tag-" + studyId, "tag-" + studyId);
+            jdbcTemplate.update("insert into study_tags (study_id, tags_id) values (?, ?)", studyId, tag.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("태그 자동 완성 - 접두어가 같은 태그를 많이 쓰인 순서로")
+    @WithAccount("hoseok")
+    void suggest() throws Exception {
+        mockMvc.perform(get("/api/tags/suggest").param("prefix", "SPR"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("max-age=60")))
+                .andExpect(jsonPath("$", contains("Spring", "spring-data", "spring-boot")));
+
+        mockMvc.perform(get("/api/tags/suggest").param("prefix", "spring-").param("limit", "1"))
+                .andExpect(jsonPath("$", contains("spring-data")));
+
+        mockMvc.perform(get("/api/tags/suggest").param("prefix", "kotlin"))
+                .andExpect(jsonPath("$", empty()));
+    }
+
+    @Test
+    @DisplayName("태그 자동 완성 - 새로 만든 태그는 커밋하기 전에는 나오지 않는다")
+    @WithAccount("hoseok")
+    void suggest_newTag() throws Exception {
+        tagService.findOrCreateNew("spring-cloud");
+
+        // 커밋한 뒤에 나오는 것은 TagServiceTest 에서 본다.
+        mockMvc.perform(get("/api/tags/suggest").param("prefix", "spring-c"))
+                .andExpect(jsonPath("$", empty()));
+    }
+}
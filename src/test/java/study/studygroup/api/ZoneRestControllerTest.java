@@ -0,0 +1,59 @@
+package study.studygroup.api;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import study.studygroup.WithAccount;
+import study.studygroup.zone.ZoneRegistry;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ZoneRestControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ZoneRegistry zoneRegistry;
+
+    @Test
+    @DisplayName("지역 whitelist - 버전이 붙은 URL 은 오래 캐시한다")
+    void whitelist() throws Exception {
+        mockMvc.perform(get(zoneRegistry.getWhitelistUrl()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("max-age=31536000")))
+                .andExpect(jsonPath("$.length()").value(zoneRegistry.getZones().size()))
+                .andExpect(jsonPath("$[?(@.value == 'Seoul(서울특별시)/none')].searchBy", contains("서울특별시 ㅅㅇㅌㅂㅅ")));
+    }
+
+    @Test
+    @DisplayName("지역 whitelist - 예전 버전은 지금 버전으로 보낸다")
+    void whitelist_oldVersion() throws Exception {
+        mockMvc.perform(get("/api/zones/whitelist/old"))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrl(zoneRegistry.getWhitelistUrl()));
+    }
+
+    @Test
+    @DisplayName("지역 자동 완성 - 영문, 한글, 초성")
+    @WithAccount("hoseok")
+    void suggest() throws Exception {
+        mockMvc.perform(get("/api/zones/suggest").param("prefix", "SEOU"))
+                .andExpect(jsonPath("$", contains("Seoul(서울특별시)/none")));
+
+        mockMvc.perform(get("/api/zones/suggest").param("prefix", "ㅅㅇㅌ"))
+                .andExpect(jsonPath("$", contains("Seoul(서울특별시)/none")));
+
+        mockMvc.perform(get("/api/zones/suggest").param("prefix", "서ㅇ"))
+                .andExpect(jsonPath("$", hasItem("Seoul(서울특별시)/none")));
+
+        mockMvc.perform(get("/api/zones/suggest").param("prefix", "ㅅ").param("limit", "2"))
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+}
@@ -0,0 +1,131 @@
+package study.studygroup.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.studygroup.account.AccountRepository;
+import study.studygroup.domain.Account;
+import study.studygroup.domain.Event;
+import study.studygroup.domain.Study;
+import study.studygroup.study.StudyRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 선착순 모임에 신청이 한꺼번에 몰렸을 때 자리를 넘겨 주지 않는지 확인한다.
+ * 신청마다 따로 커밋해야 하므로 테스트 트랜잭션으로 감싸지 않고 직접 정리한다.
+ */
+@Slf4j
+@SpringBootTest
+class EnrollmentServiceConcurrencyTest {
+
+    private static final int ENROLLERS = 500;
+    private static final int LIMIT = 50;
+
+    @Autowired EnrollmentService enrollmentService;
+    @Autowired EventRepository eventRepository;
+    @Autowired StudyRepository studyRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("delete from enrollment");
+        jdbcTemplate.update("delete from event");
+        studyRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("선착순 모임 - 동시에 신청해도 정원만큼만 확정")
+    public void concurrentEnrollment() throws Exception {
+        Event event = createEvent();
+        List<Long> accountIds = createAccounts();
+
+        ExecutorService executor = Executors.newFixedThreadPool(ENROLLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long accountId : accountIds) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return enrollmentService.enroll(event.getId(), accountId);
+            }));
+        }
+        // 같은 계정이 신청 버튼을 여러 번 눌러도 신청은 하나만 생긴다.
+        for (Long accountId : accountIds.subList(0, 20)) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return enrollmentService.enroll(event.getId(), accountId);
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+        executor.shutdown();
+        log.info("{} enrollment requests from {} threads in {} ms ({} requests/s)", futures.size(), ENROLLERS,
+                elapsedMillis, futures.size() * 1000L / Math.max(1, elapsedMillis));
+
+        assertEquals(ENROLLERS, count("select count(*) from enrollment where event_id = ?", event.getId()));
+        assertEquals(LIMIT, count("select count(*) from enrollment where event_id = ? and accepted = true", event.getId()));
+        assertEquals(LIMIT, count("select accepted_count from event where id = ?", event.getId()));
+        assertEquals(ENROLLERS - LIMIT, count("select waiting_count from event where id = ?", event.getId()));
+
+        List<Long> acceptedAccounts = jdbcTemplate.queryForList("select account_id from enrollment " +
+                "where event_id = ? and accepted = true", Long.class, event.getId());
+        enrollmentService.cancel(event.getId(), acceptedAccounts.get(0));
+        assertEquals(LIMIT, count("select count(*) from enrollment where event_id = ? and accepted = true", event.getId()));
+        assertEquals(LIMIT, count("select accepted_count from event where id = ?", event.getId()));
+        assertEquals(ENROLLERS - LIMIT - 1, count("select waiting_count from event where id = ?", event.getId()));
+    }
+
+    private long count(String sql, Long eventId) {
+        return jdbcTemplate.queryForObject(sql, Long.class, eventId);
+    }
+
+    private Event createEvent() {
+        Account manager = accountRepository.save(Account.builder().nickname("manager").email("manager@naver.com").build());
+        Study study = Study.builder().path("fcfs").title("선착순").build();
+        study.setManagers(new HashSet<>(List.of(manager)));
+        studyRepository.save(study);
+
+        LocalDateTime now = LocalDateTime.now();
+        Event event = new Event();
+        event.setStudy(study);
+        event.setCreatedBy(manager);
+        event.setTitle("인기 모임");
+        event.setEventType(EventType.FCFS);
+        event.setLimitOfEnrollments(LIMIT);
+        event.setEndEnrollmentDateTime(now.plusDays(1));
+        event.setStartDateTime(now.plusDays(2));
+        event.setEndDateTime(now.plusDays(3));
+        return eventRepository.save(event);
+    }
+
+    private List<Long> createAccounts() {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < ENROLLERS; i++) {
+            accounts.add(Account.builder().nickname("enroller" + i).email("enroller" + i + "@naver.com").build());
+        }
+        List<Long> accountIds = new ArrayList<>();
+        accountRepository.saveAll(accounts).forEach(account -> accountIds.add(account.getId()));
+        return accountIds;
+    }
+}
@@ -5,16 +5,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import study.studygroup.WithAccount;
 import study.studygroup.domain.Account;
+import study.studygroup.domain.Enrollment;
 import study.studygroup.domain.Event;
 import study.studygroup.domain.Study;
 import study.studygroup.event.form.EventForm;
 import study.studygroup.study.StudyControllerTest;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -28,6 +32,8 @@ class EventControllerTest extends StudyControllerTest {
 
     @Autowired EventService eventService;
     @Autowired EventRepository eventRepository;
+    @Autowired EnrollmentRepository enrollmentRepository;
+    @Autowired EntityManager entityManager;
 
 
     @Test
@@ -89,6 +95,7 @@ class EventControllerTest extends StudyControllerTest {
                 .andExpect(view().name("event/view"))
                 .andExpect(model().attributeExists("account"))
                 .andExpect(model().attributeExists("event"))
+                .andExpect(model().attributeExists("eventViewState"))
                 .andExpect(model().attributeExists("study"));
     }
 
@@ -106,6 +113,256 @@ class EventControllerTest extends StudyControllerTest {
                 .andExpect(model().attributeExists("oldEvents"));
     }
 
+    @Test
+    @DisplayName("선착순 모임 참가 신청 - 자리가 있으면 바로 확정")
+    @WithAccount("hoseok")
+    public void newEnrollment_accepted() throws Exception {
+        Study study = createPublishedStudy();
+        Event event = createOpenEvent(study, 2);
+
+        mockMvc.perform(post("/study/" + study.getPath() + "/events/" + event.getId() + "/enroll")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/study/" + study.getPath() + "/events/" + event.getId()));
+
+        Account hoseok = accountRepository.findByNickname("hoseok");
+        Enrollment enrollment = enrollmentRepository.findByEventIdAndAccountId(event.getId(), hoseok.getId());
+        assertTrue(enrollment.isAccepted());
+
+        MvcResult result = mockMvc.perform(get("/study/" + study.getPath() + "/events/" + event.getId()))
+                .andExpect(status().isOk())
+                .andReturn();
+        EventViewState viewState = (EventViewState) result.getModelAndView().getModel().get("eventViewState");
+        assertFalse(viewState.isEnrollable());
+        assertTrue(viewState.isDisenrollable());
+        assertEquals(EventViewState.EnrollmentStatus.ACCEPTED, viewState.getStatusByAccountId().get(hoseok.getId()));
+        assertEquals(1, viewState.getNumberOfRemainSpots());
+    }
+
+    @Test
+    @DisplayName("선착순 모임 참가 신청 - 자리가 없으면 대기")
+    @WithAccount("hoseok")
+    public void newEnrollment_waiting() throws Exception {
+        Study study = createPublishedStudy();
+        Event event = createOpenEvent(study, 1);
+        Account paul = accountRepository.save(Account.builder().nickname("paul").email("paul@naver.com").build());
+        assertTrue(eventService.newEnrollment(event.getId(), paul.getId()).isAccepted());
+
+        mockMvc.perform(post("/study/" + study.getPath() + "/events/" + event.getId() + "/enroll")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection());
+
+        Account hoseok = accountRepository.findByNickname("hoseok");
+        assertFalse(enrollmentRepository.findByEventIdAndAccountId(event.getId(), hoseok.getId()).isAccepted());
+    }
+
+    @Test
+    @DisplayName("선착순 모임 참가 신청 취소 - 대기자가 자리를 이어 받음")
+    @WithAccount("hoseok")
+    public void cancelEnrollment_acceptsWaiting() throws Exception {
+        Study study = createPublishedStudy();
+        Event event = createOpenEvent(study, 1);
+        Account hoseok = accountRepository.findByNickname("hoseok");
+        Account paul = accountRepository.save(Account.builder().nickname("paul").email("paul@naver.com").build());
+        eventService.newEnrollment(event.getId(), hoseok.getId());
+        assertFalse(eventService.newEnrollment(event.getId(), paul.getId()).isAccepted());
+
+        mockMvc.perform(post("/study/" + study.getPath() + "/events/" + event.getId() + "/disenroll")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection());
+
+        assertNull(enrollmentRepository.findByEventIdAndAccountId(event.getId(), hoseok.getId()));
+        assertTrue(enrollmentRepository.findByEventIdAndAccountId(event.getId(), paul.getId()).isAccepted());
+        entityManager.refresh(event);
+        assertEquals(1, event.getAcceptedCount());
+        assertEquals(0, event.getWaitingCount());
+        assertEquals(0, event.numberOfRemainSpots());
+    }
+
+    @Test
+    @DisplayName("모임 참가 신청 - 다른 스터디의 모임에는 신청할 수 없다")
+    @WithAccount("hoseok")
+    public void newEnrollment_otherStudy() throws Exception {
+        Study study = createPublishedStudy();
+        Study other = createAnotherStudy();
+        Event event = createOpenEvent(other, 2);
+
+        mockMvc.perform(post("/study/" + study.getPath() + "/events/" + event.getId() + "/enroll")
+                        .with(csrf()))
+                .andExpect(status().isNotFound());
+
+        Account hoseok = accountRepository.findByNickname("hoseok");
+        assertNull(enrollmentRepository.findByEventIdAndAccountId(event.getId(), hoseok.getId()));
+    }
+
+    @Test
+    @DisplayName("모임 참가 신청 - 공개하지 않은 스터디의 모임에는 신청할 수 없다")
+    @WithAccount("hoseok")
+    public void newEnrollment_unpublishedStudy() throws Exception {
+        Study study = createNewStudy();
+        Event event = createOpenEvent(study, 2);
+
+        mockMvc.perform(post("/study/" + study.getPath() + "/events/" + event.getId() + "/enroll")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attributeExists("message"));
+
+        Account hoseok = accountRepository.findByNickname("hoseok");
+        assertNull(enrollmentRepository.findByEventIdAndAccountId(event.getId(), hoseok.getId()));
+    }
+
+    @Test
+    @DisplayName("모임 참가 신청 - 신청 마감이 지난 모임은 메시지와 함께 돌려보낸다")
+    @WithAccount("hoseok")
+    public void newEnrollment_closed() throws Exception {
+        Study study = createPublishedStudy();
+        Event event = createOpenEvent(study, 2);
+        event.setEndEnrollmentDateTime(LocalDateTime.now().minusHours(1));
+
+        mockMvc.perform(post("/study/" + study.getPath() + "/events/" + event.getId() + "/enroll")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/study/" + study.getPath() + "/events/" + event.getId()))
+                .andExpect(flash().attribute("message", "참가 신청을 받고 있는 모임이 아닙니다."));
+
+        Account hoseok = accountRepository.findByNickname("hoseok");
+        assertNull(enrollmentRepository.findByEventIdAndAccountId(event.getId(), hoseok.getId()));
+    }
+
+    @Test
+    @DisplayName("관리자 확인 모임 - 참가 신청 수락과 취소")
+    @WithAccount("hoseok")
+    public void acceptAndRejectEnrollment() throws Exception {
+        Study study = createNewStudy();
+        Event event = createOpenEvent(study, 1);
+        event.setEventType(EventType.CONFIRMATIVE);
+        Account paul = accountRepository.save(Account.builder().nickname("paul").email("paul@naver.com").build());
+        Enrollment enrollment = eventService.newEnrollment(event.getId(), paul.getId());
+        assertFalse(enrollment.isAccepted());
+
+        String enrollmentUrl = "/study/" + study.getPath() + "/events/" + event.getId() + "/enrollments/" + enrollment.getId();
+        mockMvc.perform(post(enrollmentUrl + "/accept")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection());
+        entityManager.refresh(event);
+        assertTrue(enrollment.isAccepted());
+        assertEquals(1, event.getAcceptedCount());
+        assertEquals(0, event.getWaitingCount());
+
+        mockMvc.perform(post(enrollmentUrl + "/reject")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection());
+        entityManager.refresh(event);
+        assertFalse(enrollment.isAccepted());
+        assertEquals(0, event.getAcceptedCount());
+        assertEquals(1, event.getWaitingCount());
+    }
+
+    @Test
+    @DisplayName("관리자 확인 모임 - 다른 스터디의 모임 신청은 수락할 수 없다")
+    @WithAccount("hoseok")
+    public void acceptEnrollment_otherStudy() throws Exception {
+        Study study = createNewStudy();
+        Study other = createAnotherStudy();
+        Event event = createOpenEvent(other, 1);
+        event.setEventType(EventType.CONFIRMATIVE);
+        Account paul = accountRepository.findByNickname("paul");
+        Enrollment enrollment = eventService.newEnrollment(event.getId(), paul.getId());
+
+        mockMvc.perform(post("/study/" + study.getPath() + "/events/" + event.getId() + "/enrollments/" + enrollment.getId() + "/accept")
+                        .with(csrf()))
+                .andExpect(status().isNotFound());
+        assertFalse(enrollment.isAccepted());
+
+        mockMvc.perform(get("/study/" + study.getPath() + "/events/" + event.getId() + "/enrollments/" + enrollment.getId() + "/accept"))
+                .andExpect(status().isMethodNotAllowed());
+    }
+
+    @Test
+    @DisplayName("모임 목록 - 지난 모임은 키셋 방식으로 이어서 조회")
+    @WithAccount("hoseok")
+    public void pastEvents() throws Exception {
+        Study study = createNewStudy();
+        createOpenEvent(study, 2);
+        LocalDateTime end = LocalDateTime.now().minusDays(1).withNano(0);
+        for (int i = 0; i < EventService.PAST_PAGE_SIZE + 2; i++) {
+            Event past = createOpenEvent(study, 2);
+            past.setStartDateTime(end.minusHours(i + 1));
+            past.setEndDateTime(end.minusMinutes(i % 2 == 0 ? i : i - 1));
+            past.setEndEnrollmentDateTime(end.minusDays(1));
+        }
+
+        MvcResult result = mockMvc.perform(get("/study/" + study.getPath() + "/events"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("study/events"))
+                .andExpect(model().attribute("numberOfNewEvents", 1L))
+                .andExpect(model().attribute("numberOfOldEvents", (long) EventService.PAST_PAGE_SIZE + 2))
+                .andReturn();
+        EventSlice newEvents = (EventSlice) result.getModelAndView().getModel().get("newEvents");
+        EventSlice oldEvents = (EventSlice) result.getModelAndView().getModel().get("oldEvents");
+        assertEquals(1, newEvents.getEvents().size());
+        assertEquals(EventService.PAST_PAGE_SIZE, oldEvents.getEvents().size());
+        assertTrue(oldEvents.isHasNext());
+
+        EventSummary last = oldEvents.getEvents().get(oldEvents.getEvents().size() - 1);
+        mockMvc.perform(get("/study/" + study.getPath() + "/events/past")
+                        .param("endDateTime", last.getEndDateTime().toString())
+                        .param("id", last.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.length()").value(2))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    @DisplayName("모임 목록 - 새 모임도 키셋 방식으로 이어서 조회")
+    @WithAccount("hoseok")
+    public void upcomingEvents() throws Exception {
+        Study study = createNewStudy();
+        LocalDateTime start = LocalDateTime.now().plusDays(2).withNano(0);
+        for (int i = 0; i < EventService.UPCOMING_PAGE_SIZE + 3; i++) {
+            Event upcoming = createOpenEvent(study, 2);
+            upcoming.setStartDateTime(start.plusHours(i % 2 == 0 ? i : i - 1));
+        }
+
+        MvcResult result = mockMvc.perform(get("/study/" + study.getPath() + "/events"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("numberOfNewEvents", (long) EventService.UPCOMING_PAGE_SIZE + 3))
+                .andExpect(content().string(containsString("more-new-events")))
+                .andReturn();
+        EventSlice newEvents = (EventSlice) result.getModelAndView().getModel().get("newEvents");
+        assertEquals(EventService.UPCOMING_PAGE_SIZE, newEvents.getEvents().size());
+        assertTrue(newEvents.isHasNext());
+
+        EventSummary last = newEvents.getEvents().get(newEvents.getEvents().size() - 1);
+        mockMvc.perform(get("/study/" + study.getPath() + "/events/upcoming")
+                        .param("startDateTime", last.getStartDateTime().toString())
+                        .param("id", last.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.length()").value(3))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    private Study createPublishedStudy() {
+        Study study = createNewStudy();
+        study.publish();
+        return study;
+    }
+
+    private Event createOpenEvent(Study study, int limitOfEnrollments) {
+        LocalDateTime now = LocalDateTime.now();
+        Event event = modelMapper.map(EventForm.builder()
+                .title("open")
+                .description("aaaaaaaa")
+                .startDateTime(now.plusDays(2))
+                .endDateTime(now.plusDays(3))
+                .endEnrollmentDateTime(now.plusDays(1))
+                .eventType(EventType.FCFS)
+                .limitOfEnrollments(limitOfEnrollments)
+                .build(), Event.class);
+        event.setStudy(study);
+        return eventRepository.save(event);
+    }
+
     private EventForm getEventForm() {
         return EventForm.builder()
                 .title("new")
@@ -0,0 +1,53 @@
+package study.studygroup.image;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ImageControllerTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 4, 5, 6, 7};
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ImageService imageService;
+
+    @Test
+    @DisplayName("이미지 보기 - 해시를 ETag 로, 1년 immutable 캐시")
+    public void image() throws Exception {
+        String hash = imageService.saveImage(PNG);
+
+        mockMvc.perform(get("/images/" + hash))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(PNG))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + hash + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"));
+
+        mockMvc.perform(get("/images/" + hash).header(HttpHeaders.IF_NONE_MATCH, "\"" + hash + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("같은 내용은 한 번만 저장")
+    public void image_deduplicated() throws Exception {
+        assertEquals(imageService.saveImage(PNG), imageService.saveImage(PNG.clone()));
+    }
+
+    @Test
+    @DisplayName("없는 이미지")
+    public void image_notFound() throws Exception {
+        mockMvc.perform(get("/images/" + "0".repeat(64)))
+                .andExpect(status().isNotFound());
+    }
+}
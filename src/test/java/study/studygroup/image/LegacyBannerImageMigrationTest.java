@@ -0,0 +1,77 @@
+package study.studygroup.image;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 엔티티에는 예전 image 컬럼이 없으므로 테스트 동안만 컬럼을 만들어 둔다.
+ */
+@SpringBootTest
+class LegacyBannerImageMigrationTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 8, 9, 10};
+    private static final String DATA_URL = "data:image/png;base64," + Base64.getEncoder().encodeToString(PNG);
+
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired LegacyBannerImageMigration migration;
+    @Autowired BlobStore blobStore;
+
+    @BeforeEach
+    void beforeEach() {
+        jdbcTemplate.execute("alter table study add column image clob");
+    }
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("delete from study where path like 'legacy-%'");
+        jdbcTemplate.execute("alter table study drop column image");
+    }
+
+    @Test
+    @DisplayName("옮기는 단계에서는 예전 컬럼을 비우지 않는다")
+    public void migrate_keepsLegacyColumn() {
+        long id = insertStudy("legacy-1", DATA_URL, null);
+
+        assertTrue(migration.hasLegacyColumn());
+        assertEquals(1, migration.migrate());
+
+        String hash = jdbcTemplate.queryForObject("select image_hash from study where id = ?", String.class, id);
+        assertTrue(blobStore.find(hash).isPresent());
+        assertEquals(DATA_URL, imageOf(id));
+        assertEquals(0, migration.migrate());
+    }
+
+    @Test
+    @DisplayName("저장소에 있는 것을 확인한 배너만 예전 컬럼을 비운다")
+    public void clearMigrated() {
+        long migrated = insertStudy("legacy-1", DATA_URL, null);
+        long missing = insertStudy("legacy-2", DATA_URL, "0".repeat(64));
+        migration.migrate();
+
+        assertEquals(1, migration.clearMigrated());
+
+        assertNull(imageOf(migrated));
+        assertEquals(DATA_URL, imageOf(missing));
+    }
+
+    private long insertStudy(String path, String image, String imageHash) {
+        long id = jdbcTemplate.queryForObject("select nextval('hibernate_sequence')", Long.class);
+        jdbcTemplate.update("insert into study (id, path, title, image, image_hash, recruiting, published, closed, " +
+                "use_banner, member_count) values (?, ?, ?, ?, ?, false, false, false, true, 0)",
+                id, path, path, image, imageHash);
+        return id;
+    }
+
+    private String imageOf(long id) {
+        return jdbcTemplate.queryForObject("select image from study where id = ?", String.class, id);
+    }
+}
@@ -0,0 +1,137 @@
+package study.studygroup.mail;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 네트워크 없이 메일 발송 경로를 테스트하기 위한 최소한의 SMTP 서버.
+ * EHLO/MAIL/RCPT/DATA/RSET/NOOP/QUIT 만 알아듣고, 받은 메일은 본문 그대로 {@link #getMessages()} 에 쌓는다.
+ */
+@Slf4j
+public class FakeSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private volatile int rejectNextMessages;
+    private volatile int dropNextMessages;
+
+    public FakeSmtpServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        executor.execute(this::accept);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public List<String> getMessages() {
+        return messages;
+    }
+
+    public int getConnections() {
+        return connections.get();
+    }
+
+    /**
+     * 다음 count 개의 메일은 DATA 끝에서 554 로 거절한다.
+     */
+    public void rejectNextMessages(int count) {
+        this.rejectNextMessages = count;
+    }
+
+    /**
+     * 다음 count 개의 메일은 DATA 를 다 받은 뒤 답하지 않고 연결을 끊는다.
+     */
+    public void dropNextMessages(int count) {
+        this.dropNextMessages = count;
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                executor.execute(() -> handle(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    log.warn("fake smtp accept failed", e);
+                }
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             OutputStream out = socket.getOutputStream()) {
+            reply(out, "220 localhost fake smtp");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO":
+                    case "HELO":
+                        reply(out, "250 localhost");
+                        break;
+                    case "DATA":
+                        reply(out, "354 end data with <CR><LF>.<CR><LF>");
+                        String message = readData(in);
+                        if (dropNextMessages > 0) {
+                            dropNextMessages--;
+                            return;
+                        }
+                        if (rejectNextMessages > 0) {
+                            rejectNextMessages--;
+                            reply(out, "554 rejected");
+                        } else {
+                            messages.add(message);
+                            reply(out, "250 ok");
+                        }
+                        break;
+                    case "QUIT":
+                        reply(out, "221 bye");
+                        return;
+                    default:
+                        reply(out, "250 ok");
+                }
+            }
+        } catch (IOException e) {
+            log.debug("fake smtp connection closed", e);
+        }
+    }
+
+    private String readData(BufferedReader in) throws IOException {
+        StringBuilder message = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null && !line.equals(".")) {
+            message.append(line.startsWith("..") ? line.substring(1) : line).append("\r\n");
+        }
+        return message.toString();
+    }
+
+    private void reply(OutputStream out, String line) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+}
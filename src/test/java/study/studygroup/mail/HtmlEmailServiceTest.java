@@ -0,0 +1,110 @@
+package study.studygroup.mail;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import javax.mail.internet.MimeMessage;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+class HtmlEmailServiceTest {
+
+    private static final int POOL_SIZE = 2;
+
+    private FakeSmtpServer smtpServer;
+    private JavaMailSenderImpl mailSender;
+    private SmtpConnectionPool smtpConnectionPool;
+    private HtmlEmailService htmlEmailService;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        smtpServer = new FakeSmtpServer();
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpServer.getPort());
+        mailSender.setDefaultEncoding("UTF-8");
+        smtpConnectionPool = new SmtpConnectionPool(mailSender, POOL_SIZE);
+        htmlEmailService = new HtmlEmailService(mailSender, smtpConnectionPool);
+    }
+
+    @AfterEach
+    void afterEach() throws Exception {
+        smtpConnectionPool.close();
+        smtpServer.close();
+    }
+
+    @Test
+    @DisplayName("여러 메일을 연결 하나로 보냄 - 메일마다 연결하는 것과 처리량 비교")
+    public void sendEmails() throws Exception {
+        int count = 300;
+        List<EmailMessage> emailMessages = emailMessages(count);
+
+        long start = System.nanoTime();
+        for (EmailMessage emailMessage : emailMessages) {
+            MimeMessage mimeMessage = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, false, "UTF-8");
+            helper.setTo(emailMessage.getTo());
+            helper.setSubject(emailMessage.getSubject());
+            helper.setText(emailMessage.getMessage(), true);
+            mailSender.send(mimeMessage);
+        }
+        long perMessage = System.nanoTime() - start;
+        int connectionsPerMessage = smtpServer.getConnections();
+
+        start = System.nanoTime();
+        htmlEmailService.sendEmails(emailMessages);
+        htmlEmailService.sendEmails(emailMessages);
+        long pooled = (System.nanoTime() - start) / 2;
+
+        assertEquals(count * 3, smtpServer.getMessages().size());
+        assertEquals(count, connectionsPerMessage);
+        assertEquals(count + 1, smtpServer.getConnections());
+        log.info("{} emails: connection per message {} ms, pooled connection {} ms",
+                count, perMessage / 1_000_000, pooled / 1_000_000);
+    }
+
+    @Test
+    @DisplayName("보내다 연결이 끊긴 메일은 다시 연결해서 보내 성공")
+    public void sendEmails_retry() {
+        smtpServer.dropNextMessages(1);
+
+        htmlEmailService.sendEmails(emailMessages(3));
+
+        assertEquals(3, smtpServer.getMessages().size());
+        assertEquals(2, smtpServer.getConnections());
+    }
+
+    @Test
+    @DisplayName("서버가 거절한 메일은 다시 보내지 않고 MailSendException 에 담고 나머지는 보냄")
+    public void sendEmails_failed() {
+        smtpServer.rejectNextMessages(1);
+        List<EmailMessage> emailMessages = emailMessages(3);
+
+        MailSendException exception = assertThrows(MailSendException.class,
+                () -> htmlEmailService.sendEmails(emailMessages));
+
+        assertEquals(1, exception.getFailedMessages().size());
+        assertSame(emailMessages.get(0), exception.getFailedMessages().keySet().iterator().next());
+        assertEquals(2, smtpServer.getMessages().size());
+    }
+
+    private List<EmailMessage> emailMessages(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> EmailMessage.builder()
+                        .to("user" + i + "@email.com")
+                        .subject("스터디올래, 새 스터디 알림")
+                        .message("<p>새 스터디 " + i + "</p>")
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
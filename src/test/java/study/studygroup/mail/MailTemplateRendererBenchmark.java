@@ -0,0 +1,95 @@
+package study.studygroup.mail;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import study.studygroup.config.AppProperties;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 메일 한 통을 렌더링하는 데 드는 시간. 캐시하지 않는 TemplateEngine 으로 매번 새 Context 를 만드는 예전 방식과,
+ * {@link MailTemplateRenderer#renderAll} 로 한 번에 렌더링하는 방식을 비교한다.
+ * 테스트 클래스 경로에서 main 을 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MailTemplateRendererBenchmark {
+
+    private static final int RECIPIENTS = 100;
+
+    private MailTemplateRenderer renderer;
+    private TemplateEngine uncachedEngine;
+    private List<Map<String, Object>> variables;
+
+    @Setup
+    public void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setHost("http://localhost:8080");
+        renderer = new MailTemplateRenderer(appProperties);
+        renderer.warmUp();
+
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setCacheable(false);
+        uncachedEngine = new SpringTemplateEngine();
+        uncachedEngine.setTemplateResolver(templateResolver);
+
+        variables = IntStream.range(0, RECIPIENTS)
+                .mapToObj(i -> Map.<String, Object>of(
+                        "nickname", "user" + i,
+                        "message", "새 스터디가 생겼습니다",
+                        "link", "/study/study-" + i,
+                        "linkName", "스터디 보기"))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public Object perMessageUncached() {
+        String last = null;
+        for (Map<String, Object> variable : variables) {
+            Context context = new Context();
+            context.setVariables(variable);
+            context.setVariable("host", "http://localhost:8080");
+            last = uncachedEngine.process(MailTemplate.SIMPLE_LINK.getName(), context);
+        }
+        return last;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public Object perMessageCached() {
+        String last = null;
+        for (Map<String, Object> variable : variables) {
+            last = renderer.render(MailTemplate.SIMPLE_LINK, variable);
+        }
+        return last;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public Object bulk() {
+        return renderer.renderAll(MailTemplate.SIMPLE_LINK, variables);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MailTemplateRendererBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,41 @@
+package study.studygroup.mail;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import study.studygroup.config.AppProperties;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MailTemplateRendererTest {
+
+    @Test
+    @DisplayName("받는 사람마다 같은 템플릿을 다른 변수로 렌더링")
+    public void renderAll() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setHost("http://localhost:8080");
+        MailTemplateRenderer renderer = new MailTemplateRenderer(appProperties);
+        renderer.warmUp();
+
+        List<Map<String, Object>> variables = IntStream.range(0, 3)
+                .mapToObj(i -> Map.<String, Object>of(
+                        "nickname", "user" + i,
+                        "message", "새 스터디가 생겼습니다",
+                        "link", "/study/study-" + i,
+                        "linkName", "스터디 보기"))
+                .collect(Collectors.toList());
+
+        List<String> messages = renderer.renderAll(MailTemplate.SIMPLE_LINK, variables);
+
+        assertEquals(3, messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            assertTrue(messages.get(i).contains("user" + i + "</span>님"));
+            assertTrue(messages.get(i).contains("href=\"http://localhost:8080/study/study-" + i + "\""));
+            assertFalse(messages.get(i).contains("user" + (i + 1) + "</span>"));
+        }
+    }
+}
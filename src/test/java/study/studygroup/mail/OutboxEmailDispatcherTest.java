@@ -0,0 +1,154 @@
+package study.studygroup.mail;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.studygroup.config.AppProperties;
+import study.studygroup.domain.OutboxEmail;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@SpringBootTest
+class OutboxEmailDispatcherTest {
+
+    private static final LocalDateTime FUTURE = LocalDateTime.now().plusDays(1);
+
+    @Autowired OutboxEmailService outboxEmailService;
+    @Autowired OutboxEmailRepository outboxEmailRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired AppProperties appProperties;
+    @Autowired MeterRegistry meterRegistry;
+
+    @AfterEach
+    void afterEach() {
+        outboxEmailRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("롤백된 트랜잭션의 메일은 outbox 에 남지 않음")
+    public void rollback() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxEmailService.sendEmail(emailMessage(0));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxEmailRepository.count());
+    }
+
+    @Test
+    @DisplayName("outbox 메일을 배치로 SMTP 서버에 보냄")
+    public void dispatch() throws Exception {
+        int count = appProperties.getMailOutboxBatchSize() * 2 + 1;
+        for (int i = 0; i < count; i++) {
+            saveEmail(emailMessage(i));
+        }
+
+        try (FakeSmtpServer smtpServer = new FakeSmtpServer()) {
+            OutboxEmailDispatcher dispatcher = dispatcher(htmlEmailService(smtpServer));
+            long start = System.nanoTime();
+            int dispatched = 0;
+            for (int batch; (batch = dispatcher.dispatch(FUTURE)) > 0; ) {
+                dispatched += batch;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            assertEquals(count, dispatched);
+            assertEquals(count, smtpServer.getMessages().size());
+            assertEquals(count, outboxEmailRepository.countByStatus(OutboxEmailStatus.SENT));
+            assertTrue(outboxEmailRepository.findAll().stream().allMatch(email -> email.getMessage() == null));
+            log.info("sent {} emails through outbox in {} ms", count, elapsed / 1_000_000);
+        }
+    }
+
+    @Test
+    @DisplayName("실패한 메일은 뒤로 미뤄 다시 보내고, 최대 횟수를 넘으면 포기")
+    public void dispatch_retry() {
+        OutboxEmail email = saveEmail(emailMessage(0));
+        OutboxEmailDispatcher dispatcher = dispatcher(emailMessage -> {
+            throw new RuntimeException("smtp down");
+        });
+
+        assertEquals(1, dispatcher.dispatch(FUTURE));
+        email = outboxEmailRepository.findById(email.getId()).orElseThrow();
+        assertEquals(OutboxEmailStatus.PENDING, email.getStatus());
+        assertEquals(1, email.getAttempts());
+        assertEquals("smtp down", email.getLastError());
+        assertEquals(FUTURE.plusSeconds(30), email.getNextAttemptAt());
+        assertEquals(0, dispatcher.dispatch(FUTURE));
+
+        LocalDateTime now = FUTURE;
+        for (int i = 1; i < appProperties.getMailOutboxMaxAttempts(); i++) {
+            now = now.plusHours(1);
+            assertEquals(1, dispatcher.dispatch(now));
+        }
+        email = outboxEmailRepository.findById(email.getId()).orElseThrow();
+        assertEquals(OutboxEmailStatus.FAILED, email.getStatus());
+        assertEquals(0, dispatcher.dispatch(now.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("보존 기간이 지난 보낸 메일과 포기한 메일만 지움")
+    public void purgeFinished() {
+        LocalDateTime before = LocalDateTime.now().minusDays(7);
+        OutboxEmail oldSent = saveEmail(emailMessage(0), OutboxEmailStatus.SENT, before.minusDays(1));
+        OutboxEmail oldFailed = saveEmail(emailMessage(1), OutboxEmailStatus.FAILED, before.minusDays(1));
+        OutboxEmail oldPending = saveEmail(emailMessage(2), OutboxEmailStatus.PENDING, before.minusDays(1));
+        OutboxEmail recentSent = saveEmail(emailMessage(3), OutboxEmailStatus.SENT, before.plusDays(1));
+
+        assertEquals(2, dispatcher(emailMessage -> {}).purgeFinished(before));
+
+        assertFalse(outboxEmailRepository.existsById(oldSent.getId()));
+        assertFalse(outboxEmailRepository.existsById(oldFailed.getId()));
+        assertTrue(outboxEmailRepository.existsById(oldPending.getId()));
+        assertTrue(outboxEmailRepository.existsById(recentSent.getId()));
+    }
+
+    /**
+     * 다른 테스트 컨텍스트의 스케줄러가 집어가지 않도록 보낼 시각을 하루 뒤로 잡아 저장한다.
+     */
+    private OutboxEmail saveEmail(EmailMessage emailMessage) {
+        OutboxEmail email = new OutboxEmail(emailMessage);
+        email.setNextAttemptAt(FUTURE);
+        return outboxEmailRepository.save(email);
+    }
+
+    private OutboxEmail saveEmail(EmailMessage emailMessage, OutboxEmailStatus status, LocalDateTime createdAt) {
+        OutboxEmail email = new OutboxEmail(emailMessage);
+        email.setNextAttemptAt(FUTURE);
+        email.setStatus(status);
+        email.setCreatedAt(createdAt);
+        return outboxEmailRepository.save(email);
+    }
+
+    private OutboxEmailDispatcher dispatcher(EmailService transport) {
+        return new OutboxEmailDispatcher(outboxEmailRepository, transport, transactionManager,
+                appProperties, meterRegistry);
+    }
+
+    private HtmlEmailService htmlEmailService(FakeSmtpServer smtpServer) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpServer.getPort());
+        mailSender.setDefaultEncoding("UTF-8");
+        return new HtmlEmailService(mailSender, new SmtpConnectionPool(mailSender, appProperties.getMailPoolSize()));
+    }
+
+    private EmailMessage emailMessage(int i) {
+        return EmailMessage.builder()
+                .to("user" + i + "@email.com")
+                .subject("스터디올래, 회원 가입 인증")
+                .message("<p>인증 링크 " + i + "</p>")
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package study.studygroup.notification;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import study.studygroup.WithAccount;
+import study.studygroup.account.AccountRepository;
+import study.studygroup.domain.Account;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 캐시 무효화가 커밋 이후에 일어나므로 테스트 트랜잭션으로 감싸지 않고 직접 정리한다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class NotificationControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired AccountRepository accountRepository;
+    @Autowired NotificationRepository notificationRepository;
+    @Autowired NotificationService notificationService;
+
+    @AfterEach
+    void afterEach() {
+        notificationRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("새 알림 목록 - 조회한 알림은 읽음 처리")
+    @WithAccount("hoseok")
+    public void newNotifications() throws Exception {
+        Account hoseok = accountRepository.findByNickname("hoseok");
+        notificationService.createNotifications(List.of(hoseok.getId()), NotificationType.STUDY_UPDATED,
+                "스프링 스터디", "/study/spring", "모임 정보를 수정했으니 확인하세요.");
+
+        mockMvc.perform(get("/notifications"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("notification/list"))
+                .andExpect(model().attribute("isNew", true))
+                .andExpect(model().attribute("numberOfNotChecked", 1L))
+                .andExpect(model().attribute("watchingStudyNotifications", hasSize(1)))
+                .andExpect(model().attribute("hasNotification", false));
+
+        assertEquals(0, notificationService.getUnreadCount(hoseok.getId()));
+        assertEquals(1, notificationService.getReadCount(hoseok.getId()));
+    }
+
+    @Test
+    @DisplayName("알림 표시 - 읽지 않은 알림 수는 캐시에서 읽고 새 알림이 생기면 갱신")
+    @WithAccount("hoseok")
+    public void hasNotification() throws Exception {
+        Account hoseok = accountRepository.findByNickname("hoseok");
+        mockMvc.perform(get("/"))
+                .andExpect(model().attribute("hasNotification", false));
+
+        notificationService.createNotifications(List.of(hoseok.getId()), NotificationType.STUDY_CREATED,
+                "스프링 스터디", "/study/spring", "새 스터디가 생겼습니다.");
+
+        mockMvc.perform(get("/"))
+                .andExpect(model().attribute("hasNotification", true));
+    }
+
+    @Test
+    @DisplayName("읽은 알림 삭제")
+    @WithAccount("hoseok")
+    public void deleteNotifications() throws Exception {
+        Account hoseok = accountRepository.findByNickname("hoseok");
+        notificationService.createNotifications(List.of(hoseok.getId()), NotificationType.EVENT_ENROLLMENT,
+                "스프링 스터디", "/study/spring", "모임 참가 신청이 확정되었습니다.");
+        mockMvc.perform(get("/notifications"));
+
+        mockMvc.perform(get("/notifications/old"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("isNew", false))
+                .andExpect(model().attribute("eventEnrollmentNotifications", hasSize(1)));
+
+        mockMvc.perform(delete("/notifications").with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/notifications"));
+
+        assertEquals(0, notificationService.getReadCount(hoseok.getId()));
+    }
+}
@@ -0,0 +1,185 @@
+package study.studygroup.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+import study.studygroup.WithAccount;
+import study.studygroup.domain.Study;
+import study.studygroup.domain.Tag;
+import study.studygroup.domain.Zone;
+import study.studygroup.study.StudyRepository;
+import study.studygroup.tag.TagRepository;
+import study.studygroup.zone.ZoneRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class SearchControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired StudyRepository studyRepository;
+    @Autowired TagRepository tagRepository;
+    @Autowired StudySearchService studySearchService;
+    @Autowired ZoneRepository zoneRepository;
+
+    private final List<Long> indexedStudyIds = new ArrayList<>();
+
+    @AfterEach
+    void afterEach() {
+        indexedStudyIds.forEach(studySearchService::remove);
+    }
+
+    @Test
+    @DisplayName("스터디 검색 - 한글 부분 일치")
+    @WithAccount("hoseok")
+    public void searchStudy() throws Exception {
+        Tag tag = tagRepository.save(Tag.builder().title("java").build());
+        Study spring = createPublishedStudy("spring-study", "스프링부트 스터디", "스프링 같이 공부해요");
+        spring.getTags().add(tag);
+        index(spring);
+        index(createPublishedStudy("algorithm-study", "알고리즘 스터디", "매주 문제를 풉니다"));
+
+        MvcResult result = mockMvc.perform(get("/search/study").param("keyword", "스프링"))
+                .andExpect(status().isOk())
+                .andExpect(view().name(SearchController.SEARCH_VIEW_NAME))
+                .andExpect(model().attributeExists("studyPage"))
+                .andExpect(model().attribute("sortProperty", SearchController.RELEVANCE))
+                .andReturn();
+
+        Page<?> studyPage = (Page<?>) result.getModelAndView().getModel().get("studyPage");
+        assertEquals(1, studyPage.getTotalElements());
+        assertEquals(spring, studyPage.getContent().get(0));
+
+        assertEquals(List.of(spring.getId()), studySearchService.search("JAVA", studyPage.getPageable())
+                .map(Study::getId).getContent());
+    }
+
+    @Test
+    @DisplayName("스터디 검색 - 제목 일치가 본문 일치보다 먼저")
+    @WithAccount("hoseok")
+    public void searchStudy_ranking() throws Exception {
+        Study inDescription = createPublishedStudy("description-study", "주말 스터디", "자바 기초를 공부합니다");
+        Study inTitle = createPublishedStudy("title-study", "자바 스터디", "주말에 모입니다");
+        index(inDescription);
+        index(inTitle);
+
+        MvcResult result = mockMvc.perform(get("/search/study").param("keyword", "자바"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        Page<?> studyPage = (Page<?>) result.getModelAndView().getModel().get("studyPage");
+        assertEquals(List.of(inTitle, inDescription), studyPage.getContent());
+    }
+
+    @Test
+    @DisplayName("스터디 검색 - 비공개 스터디는 찾지 않음")
+    public void searchStudy_unpublished() throws Exception {
+        Study study = new Study();
+        study.setPath("draft-study");
+        study.setTitle("스프링 초안");
+        study.setShortDescription("초안");
+        study.setFullDescription("초안");
+        index(studyRepository.save(study));
+
+        mockMvc.perform(get("/search/study").param("keyword", "스프링"))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeDoesNotExist("account"))
+                .andExpect(model().attribute("keyword", "스프링"));
+
+        assertTrue(studySearchService.search("초안", PageRequest.of(0, 9)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("태그로 스터디 찾기 - 최근 공개된 스터디부터")
+    public void searchTag() throws Exception {
+        Tag tag = tagRepository.save(Tag.builder().title("facet-java").build());
+        Study older = createPublishedStudy("older-study", "예전 스터디", "자바");
+        older.setPublishedDateTime(older.getPublishedDateTime().minusDays(1));
+        older.getTags().add(tag);
+        Study newer = createPublishedStudy("newer-study", "새 스터디", "자바");
+        newer.getTags().add(tag);
+        index(older);
+        index(newer);
+        index(createPublishedStudy("other-study", "다른 스터디", "자바"));
+
+        MvcResult result = mockMvc.perform(get("/search/tag/facet-java"))
+                .andExpect(status().isOk())
+                .andExpect(view().name(SearchController.SEARCH_VIEW_NAME))
+                .andExpect(model().attribute("keyword", "facet-java"))
+                .andExpect(model().attribute("searchUrl", "/search/tag/facet-java"))
+                .andExpect(model().attribute("sortProperty", SearchController.PUBLISHED_DATE_TIME))
+                .andReturn();
+
+        Page<?> studyPage = (Page<?>) result.getModelAndView().getModel().get("studyPage");
+        assertEquals(List.of(newer, older), studyPage.getContent());
+    }
+
+    @Test
+    @DisplayName("태그 + 지역 + 모집 중 조건으로 스터디 찾기")
+    public void searchFacets() throws Exception {
+        Tag tag = tagRepository.save(Tag.builder().title("facet-spring").build());
+        Zone zone = zoneRepository.findAll().get(0);
+
+        Study recruiting = createPublishedStudy("recruiting-study", "모집 중", "스프링");
+        recruiting.getTags().add(tag);
+        recruiting.getZones().add(zone);
+        recruiting.startRecruit();
+        Study notRecruiting = createPublishedStudy("waiting-study", "모집 전", "스프링");
+        notRecruiting.getTags().add(tag);
+        notRecruiting.getZones().add(zone);
+        Study tagOnly = createPublishedStudy("tag-only-study", "태그만", "스프링");
+        tagOnly.getTags().add(tag);
+        index(recruiting);
+        index(notRecruiting);
+        index(tagOnly);
+
+        mockMvc.perform(get("/search/zone/" + zone.getId()))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("keyword", zone.getLocalNameOfCity()));
+
+        MvcResult result = mockMvc.perform(get("/search/facets")
+                .param("tag", "facet-spring")
+                .param("zone", zone.getId().toString())
+                .param("recruiting", "true"))
+                .andExpect(status().isOk())
+                .andReturn();
+        Page<?> studyPage = (Page<?>) result.getModelAndView().getModel().get("studyPage");
+        assertEquals(List.of(recruiting), studyPage.getContent());
+
+        assertEquals(3, studySearchService.searchByFacets(new FacetQuery(Set.of("facet-spring"), Set.of(zone.getId()),
+                false, false), PageRequest.of(0, 9)).getTotalElements());
+        assertEquals(2, studySearchService.searchByFacets(new FacetQuery(Set.of("facet-spring"), Set.of(zone.getId()),
+                true, false), PageRequest.of(0, 9)).getTotalElements());
+    }
+
+    private Study createPublishedStudy(String path, String title, String description) {
+        Study study = new Study();
+        study.setPath(path);
+        study.setTitle(title);
+        study.setShortDescription(description);
+        study.setFullDescription("<p>" + description + "</p>");
+        study.publish();
+        return studyRepository.save(study);
+    }
+
+    private void index(Study study) {
+        studySearchService.index(StudyDocument.from(study));
+        indexedStudyIds.add(study.getId());
+    }
+}
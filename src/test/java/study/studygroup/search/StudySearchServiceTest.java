@@ -0,0 +1,55 @@
+package study.studygroup.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import study.studygroup.study.StudyRepository;
+import study.studygroup.study.event.StudyChangedEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StudySearchServiceTest {
+
+    private final StudyRepository studyRepository = mock(StudyRepository.class);
+    private final StudyDocumentLoader studyDocumentLoader = mock(StudyDocumentLoader.class);
+    private final StudySearchService studySearchService =
+            new StudySearchService(studyRepository, studyDocumentLoader, Runnable::run);
+
+    @Test
+    @DisplayName("색인을 다시 만드는 동안 바뀐 스터디는 먼저 읽은 스냅샷에 덮이지 않음")
+    public void rebuildIndex_replaysChanges() {
+        when(studyRepository.findPublishedStudyIds()).thenAnswer(invocation -> {
+            studySearchService.onStudyChanged(new StudyChangedEvent(1L));
+            return List.of(1L, 2L);
+        });
+        when(studyDocumentLoader.loadAll(List.of(1L, 2L)))
+                .thenReturn(List.of(document(1L, "예전 제목"), document(2L, "그대로")));
+        when(studyDocumentLoader.load(1L)).thenReturn(document(1L, "바뀐 제목"));
+
+        studySearchService.rebuildIndex();
+
+        assertEquals("바뀐 제목", studySearchService.getIndexedDocument(1L).getTitle());
+        assertEquals("그대로", studySearchService.getIndexedDocument(2L).getTitle());
+    }
+
+    @Test
+    @DisplayName("다시 만든 뒤에 바뀐 스터디는 바로 색인")
+    public void onStudyChanged_afterRebuild() {
+        when(studyRepository.findPublishedStudyIds()).thenReturn(List.of());
+        when(studyDocumentLoader.load(1L)).thenReturn(document(1L, "새 스터디"));
+        studySearchService.rebuildIndex();
+
+        studySearchService.onStudyChanged(new StudyChangedEvent(1L));
+
+        assertEquals("새 스터디", studySearchService.getIndexedDocument(1L).getTitle());
+    }
+
+    private StudyDocument document(Long id, String title) {
+        return new StudyDocument(id, title, "짧은 소개", "긴 소개", List.of(), List.of(), List.of(),
+                true, false, true, LocalDateTime.now(), 0);
+    }
+}
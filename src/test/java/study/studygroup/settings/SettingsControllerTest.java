@@ -16,19 +16,23 @@ import org.springframework.transaction.annotation.Transactional;
 import study.studygroup.WithAccount;
 import study.studygroup.account.AccountRepository;
 import study.studygroup.account.AccountService;
+import study.studygroup.account.AccountSnapshot;
 import study.studygroup.account.SignUpForm;
+import study.studygroup.account.UserAccount;
 import study.studygroup.domain.Account;
 import study.studygroup.domain.Tag;
 import study.studygroup.domain.Zone;
 import study.studygroup.settings.form.TagForm;
 import study.studygroup.settings.form.ZoneForm;
 import study.studygroup.tag.TagRepository;
+import study.studygroup.zone.ZoneRegistry;
 import study.studygroup.zone.ZoneRepository;
 
 import javax.swing.text.View;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.authenticated;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -45,6 +49,7 @@ class SettingsControllerTest {
     @Autowired ObjectMapper objectMapper;
     @Autowired TagRepository tagRepository;
     @Autowired ZoneRepository zoneRepository;
+    @Autowired ZoneRegistry zoneRegistry;
 
 
     @AfterEach
@@ -61,7 +66,7 @@ class SettingsControllerTest {
                 .andExpect(view().name(SettingsController.SETTING_ZONES_VIEW_NAME))
                 .andExpect(model().attributeExists("account"))
                 .andExpect(model().attributeExists("zones"))
-                .andExpect(model().attributeExists("whitelist"));
+                .andExpect(model().attribute("whitelistUrl", zoneRegistry.getWhitelistUrl()));
     }
 
     @Test
@@ -117,7 +122,7 @@ class SettingsControllerTest {
                 .andExpect(view().name(SettingsController.SETTING_TAGS_VIEW_NAME))
                 .andExpect(model().attributeExists("account"))
                 .andExpect(model().attributeExists("tags"))
-                .andExpect(model().attributeExists("whitelist"));
+                .andExpect(model().attributeDoesNotExist("whitelist"));
     }
 
     @Test
@@ -152,7 +157,7 @@ class SettingsControllerTest {
         Account account = accountRepository.findByNickname("hoseok");
         Tag tag = tagRepository.save(Tag.builder().title(tagForm.getTagTitle()).build());
 
-        accountService.addTag(account, tag);
+        accountService.addTag(account.getId(), tag);
         assertTrue(account.getTags().contains(tag) );
 
         mockMvc.perform(post(SettingsController.SETTING_TAGS_URL+"/remove")
@@ -184,6 +189,22 @@ class SettingsControllerTest {
     }
 
 
+    @DisplayName("프로필 이미지 수정 - 세션의 프로필 이미지 주소도 바뀐다")
+    @Test
+    @WithAccount("hoseok")
+    public void updateProfile_image() throws Exception {
+        mockMvc.perform(post(SettingsController.SETTING_PROFILE_URL)
+                .param("profileImage", "data:image/png;base64,AQID")
+                .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(authenticated().withAuthentication(authentication -> {
+                    AccountSnapshot principal = ((UserAccount) authentication.getPrincipal()).getAccount();
+                    Account hoseok = accountRepository.findByNickname("hoseok");
+                    assertNotNull(principal.getProfileImageUrl());
+                    assertEquals(AccountSnapshot.from(hoseok).getProfileImageUrl(), principal.getProfileImageUrl());
+                }));
+    }
+
     @DisplayName("프로필 수정 실패")
     @Test
     @WithAccount("hoseok")
@@ -2,6 +2,7 @@ package study.studygroup.study;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.modelmapper.ModelMapper;
@@ -14,12 +15,15 @@ import study.studygroup.WithAccount;
 import study.studygroup.account.AccountRepository;
 import study.studygroup.domain.Account;
 import study.studygroup.domain.Study;
+import study.studygroup.study.event.StudyChangedEvent;
+import study.studygroup.study.event.StudyMembershipChangedEvent;
 import study.studygroup.study.form.StudyForm;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -37,6 +41,13 @@ public class StudyControllerTest {
     @Autowired protected StudyRepository studyRepository;
     @Autowired protected ModelMapper modelMapper;
     @Autowired protected ObjectMapper objectMapper;
+    @Autowired protected StudyViewService studyViewService;
+    @Autowired protected StudyMembershipService studyMembershipService;
+
+    @AfterEach
+    void afterEach() {
+        studyViewService.invalidateAll();
+    }
 
 
 
@@ -82,6 +93,71 @@ public class StudyControllerTest {
 
 
 
+    @Test
+    @DisplayName("스터디 VIEW - 변경 전까지 캐시된 화면 모델 재사용")
+    @WithAccount("hoseok")
+    public void viewStudy_cachedUntilChanged() throws Exception {
+
+        Study study = createNewStudy();
+
+        Object first = mockMvc.perform(get("/study/test-path"))
+                .andExpect(status().isOk())
+                .andReturn().getModelAndView().getModel().get("study");
+        Object second = mockMvc.perform(get("/study/test-path"))
+                .andExpect(status().isOk())
+                .andReturn().getModelAndView().getModel().get("study");
+        assertSame(first, second);
+
+        study.setTitle("바뀐 제목");
+        studyViewService.onStudyChanged(new StudyChangedEvent(study.getId(), study.getPath()));
+
+        StudyView changed = (StudyView) mockMvc.perform(get("/study/test-path"))
+                .andExpect(status().isOk())
+                .andReturn().getModelAndView().getModel().get("study");
+        assertNotSame(first, changed);
+        assertEquals("바뀐 제목", changed.getTitle());
+    }
+
+    @Test
+    @DisplayName("스터디 구성원 - 가입 여부와 구성원 목록")
+    @WithAccount("hoseok")
+    public void getMembers() throws Exception {
+
+        Study study = createAnotherStudy();
+        Account account = accountRepository.findByNickname("hoseok");
+        study.addMember(account);
+        studyRepository.flush();
+        studyMembershipService.onMembershipChanged(new StudyMembershipChangedEvent(study.getId()));
+
+        mockMvc.perform(get("/study/" + study.getPath() + "/members"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("study/members"))
+                .andExpect(model().attributeExists("study"))
+                .andExpect(model().attribute("membership", hasProperty("member", is(true))))
+                .andExpect(model().attribute("membership", hasProperty("manager", is(false))))
+                .andExpect(model().attribute("members", hasProperty("members", hasSize(1))))
+                .andExpect(model().attribute("members", hasProperty("hasNext", is(false))));
+    }
+
+    @Test
+    @DisplayName("대시보드 - 관리중인 스터디와 참여중인 스터디")
+    @WithAccount("hoseok")
+    public void dashboard() throws Exception {
+
+        Study managed = createNewStudy();
+        Study joined = createAnotherStudy();
+        joined.addMember(accountRepository.findByNickname("hoseok"));
+        studyRepository.flush();
+        studyMembershipService.onMembershipChanged(new StudyMembershipChangedEvent(managed.getId()));
+        studyMembershipService.onMembershipChanged(new StudyMembershipChangedEvent(joined.getId()));
+
+        mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("index-after-login"))
+                .andExpect(model().attribute("studyManagerOf", contains(hasProperty("path", is(managed.getPath())))))
+                .andExpect(model().attribute("studyMemberOf", contains(hasProperty("path", is(joined.getPath())))));
+    }
+
     @Test
     @DisplayName("스터디 생성 폼")
     @WithAccount("hoseok")
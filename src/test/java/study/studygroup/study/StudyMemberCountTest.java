@@ -0,0 +1,139 @@
+package study.studygroup.study;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.studygroup.account.AccountRepository;
+import study.studygroup.domain.Account;
+import study.studygroup.domain.Study;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 가입/탈퇴가 한꺼번에 몰려도 구성원 수가 조인 테이블과 맞는지, 어긋난 값은 보정 작업이 고치는지 확인한다.
+ * 요청마다 따로 커밋해야 하므로 테스트 트랜잭션으로 감싸지 않고 직접 정리한다.
+ */
+@SpringBootTest
+class StudyMemberCountTest {
+
+    private static final int JOINERS = 100;
+    private static final int LEAVERS = 30;
+
+    @Autowired StudyService studyService;
+    @Autowired StudyMemberCountReconciler reconciler;
+    @Autowired StudyRepository studyRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("delete from study_members");
+        jdbcTemplate.update("delete from study_managers");
+        studyRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("동시에 가입/탈퇴해도 구성원 수는 조인 테이블의 행 수와 같다")
+    public void concurrentJoinAndLeave() throws Exception {
+        Study study = studyRepository.save(Study.builder().path("popular").title("인기 스터디").build());
+        List<Account> accounts = createAccounts(JOINERS);
+
+        List<Callable<Void>> joins = new ArrayList<>();
+        accounts.forEach(account -> joins.add(() -> {
+            studyService.addMember(study, account.getId());
+            return null;
+        }));
+        // 같은 계정이 가입 버튼을 여러 번 눌러도 구성원은 하나만 생긴다.
+        accounts.subList(0, 20).forEach(account -> joins.add(() -> {
+            studyService.addMember(study, account.getId());
+            return null;
+        }));
+        runConcurrently(joins);
+
+        assertEquals(JOINERS, count("select count(*) from study_members where study_id = ?", study.getId()));
+        assertEquals(JOINERS, count("select member_count from study where id = ?", study.getId()));
+
+        List<Callable<Void>> leaves = new ArrayList<>();
+        accounts.subList(0, LEAVERS).forEach(account -> leaves.add(() -> {
+            studyService.removeMember(study, account.getId());
+            return null;
+        }));
+        accounts.subList(0, 10).forEach(account -> leaves.add(() -> {
+            studyService.removeMember(study, account.getId());
+            return null;
+        }));
+        runConcurrently(leaves);
+
+        assertEquals(JOINERS - LEAVERS, count("select count(*) from study_members where study_id = ?", study.getId()));
+        assertEquals(JOINERS - LEAVERS, count("select member_count from study where id = ?", study.getId()));
+    }
+
+    @Test
+    @DisplayName("어긋난 구성원 수는 보정 작업이 조인 테이블 기준으로 고친다")
+    public void reconcile() {
+        List<Account> accounts = createAccounts(3);
+        Study drifted = studyRepository.save(Study.builder().path("drifted").title("어긋난 스터디").build());
+        Study missing = studyRepository.save(Study.builder().path("missing").title("비어 있는 스터디").build());
+        accounts.forEach(account -> studyService.addMember(drifted, account.getId()));
+        accounts.forEach(account -> jdbcTemplate.update("insert into study_members (study_id, members_id) values (?, ?)",
+                missing.getId(), account.getId()));
+        jdbcTemplate.update("update study set member_count = 999 where id = ?", drifted.getId());
+
+        reconciler.reconcileAll();
+
+        assertEquals(3, count("select member_count from study where id = ?", drifted.getId()));
+        assertEquals(3, count("select member_count from study where id = ?", missing.getId()));
+    }
+
+    /**
+     * 커밋 뒤 검색 색인을 다시 읽는 리스너가 연결을 하나 더 쓰므로 스레드 수는 커넥션 풀(10)보다 작게 둔다.
+     */
+    private void runConcurrently(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (Callable<Void> task : tasks) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        for (Future<Void> future : futures) {
+            try {
+                future.get(60, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                // 같은 계정의 가입 두 건이 정확히 겹치면 늦은 쪽은 기본 키 위반으로 롤백된다.
+                assertTrue(e.getCause() instanceof DataIntegrityViolationException, e.getCause().toString());
+            }
+        }
+        executor.shutdown();
+    }
+
+    private long count(String sql, Long studyId) {
+        return jdbcTemplate.queryForObject(sql, Long.class, studyId);
+    }
+
+    private List<Account> createAccounts(int size) {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            accounts.add(Account.builder().nickname("joiner" + i).email("joiner" + i + "@naver.com").build());
+        }
+        return accountRepository.saveAll(accounts);
+    }
+}
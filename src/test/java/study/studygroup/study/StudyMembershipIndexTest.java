@@ -0,0 +1,26 @@
+package study.studygroup.study;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudyMembershipIndexTest {
+
+    @Test
+    @DisplayName("늦게 도착한 이전 읽기는 나중 읽기를 덮어쓰지 않는다")
+    public void put_ignoresStaleVersion() {
+        StudyMembershipIndex index = new StudyMembershipIndex();
+
+        assertTrue(index.put(1L, RoaringBitmap.bitmapOf(10), RoaringBitmap.bitmapOf(10, 20), 2));
+        assertFalse(index.put(1L, RoaringBitmap.bitmapOf(10), RoaringBitmap.bitmapOf(10), 1));
+
+        assertTrue(index.isMember(1L, 20L));
+        assertEquals(RoaringBitmap.bitmapOf(1), index.getJoinedStudyIds(20L));
+
+        assertTrue(index.put(1L, new RoaringBitmap(), new RoaringBitmap(), 3));
+        assertFalse(index.isManager(1L, 10L));
+        assertTrue(index.getManagedStudyIds(10L).isEmpty());
+    }
+}
@@ -0,0 +1,235 @@
+package study.studygroup.study;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.annotation.Transactional;
+import study.studygroup.account.AccountRepository;
+import study.studygroup.domain.Account;
+import study.studygroup.domain.Study;
+import study.studygroup.domain.Tag;
+import study.studygroup.domain.Zone;
+import study.studygroup.tag.TagRepository;
+import study.studygroup.zone.ZoneRepository;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class StudyRepositoryTest {
+
+    @Autowired StudyRepository studyRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired TagRepository tagRepository;
+    @Autowired ZoneRepository zoneRepository;
+    @Autowired EntityManager entityManager;
+
+    @BeforeEach
+    void beforeEach() {
+        Study study = new Study();
+        study.setPath("loader-path");
+        study.setTitle("loader");
+        study.setShortDescription("short");
+        study.setFullDescription("full");
+        for (int i = 0; i < 4; i++) {
+            study.getTags().add(tagRepository.save(Tag.builder().title("loader-tag-" + i).build()));
+        }
+        for (int i = 0; i < 3; i++) {
+            study.getZones().add(zoneRepository.save(Zone.builder().city("loader-city-" + i).localNameOfCity("도시" + i).build()));
+        }
+        study.addManager(accountRepository.save(Account.builder().nickname("loader-manager").email("loader-manager@naver.com").build()));
+        for (int i = 0; i < 2; i++) {
+            study.addMember(accountRepository.save(Account.builder().nickname("loader-member-" + i).email("loader-member-" + i + "@naver.com").build()));
+        }
+        studyRepository.save(study);
+        entityManager.flush();
+        entityManager.clear();
+        QueryCounter.reset();
+    }
+
+    @DisplayName("스터디와 컬렉션 3개를 읽어도 컬렉션 크기만큼의 행만 읽는다")
+    @Test
+    void findByPath() {
+        Study study = studyRepository.findByPath("loader-path");
+        int statements = QueryCounter.statements.get();
+        int rows = QueryCounter.rows.get();
+
+        assertEquals(4, study.getTags().size());
+        assertEquals(3, study.getZones().size());
+        assertEquals(1, study.getManagers().size());
+        // 스터디 1 + 컬렉션마다 1 (fetch join 이었다면 4 x 3 x 1 = 12 행), 구성원은 읽지 않는다.
+        assertEquals(4, statements);
+        assertEquals(1 + 4 + 3 + 1, rows);
+    }
+
+    @DisplayName("태그와 관리자만 읽기")
+    @Test
+    void findStudyWithTagByPath() {
+        Study study = studyRepository.findStudyWithTagByPath("loader-path");
+        int statements = QueryCounter.statements.get();
+        int rows = QueryCounter.rows.get();
+
+        assertEquals(4, study.getTags().size());
+        assertEquals(1, study.getManagers().size());
+        assertEquals(3, statements);
+        assertEquals(1 + 4 + 1, rows);
+    }
+
+    @DisplayName("지역과 관리자만 읽기")
+    @Test
+    void findStudyWithZoneByPath() {
+        Study study = studyRepository.findStudyWithZoneByPath("loader-path");
+        int statements = QueryCounter.statements.get();
+        int rows = QueryCounter.rows.get();
+
+        assertEquals(3, study.getZones().size());
+        assertEquals(1, study.getManagers().size());
+        assertEquals(3, statements);
+        assertEquals(1 + 3 + 1, rows);
+    }
+
+    @DisplayName("관리자만 읽기")
+    @Test
+    void findStudyWithManagersByPath() {
+        Study study = studyRepository.findStudyWithManagersByPath("loader-path");
+        int statements = QueryCounter.statements.get();
+        int rows = QueryCounter.rows.get();
+
+        assertEquals(1, study.getManagers().size());
+        assertEquals(2, statements);
+        assertEquals(1 + 1, rows);
+    }
+
+    @DisplayName("구성원 여부는 구성원 목록을 읽지 않고 존재 여부만 확인한다")
+    @Test
+    void existsMember() {
+        Long studyId = studyRepository.findStudyOnlyByPath("loader-path").getId();
+        Long memberId = accountRepository.findByNickname("loader-member-0").getId();
+        Long managerId = accountRepository.findByNickname("loader-manager").getId();
+        QueryCounter.reset();
+
+        assertTrue(studyRepository.existsByIdAndMembersId(studyId, memberId));
+        assertFalse(studyRepository.existsByIdAndMembersId(studyId, managerId));
+        assertTrue(studyRepository.existsByIdAndManagersId(studyId, managerId));
+        assertFalse(studyRepository.existsByIdAndManagersId(studyId, memberId));
+        assertEquals(4, QueryCounter.statements.get());
+        assertEquals(2, QueryCounter.rows.get());
+    }
+
+    @DisplayName("구성원 카드는 id 순서로 이어서 읽는다")
+    @Test
+    void findMembers() {
+        Long studyId = studyRepository.findStudyOnlyByPath("loader-path").getId();
+
+        List<StudyMember> first = studyRepository.findMembers(studyId, 0L, PageRequest.of(0, 1));
+        List<StudyMember> second = studyRepository.findMembers(studyId, first.get(0).getId(), PageRequest.of(0, 1));
+        List<StudyMember> last = studyRepository.findMembers(studyId, second.get(0).getId(), PageRequest.of(0, 1));
+
+        assertEquals("loader-member-0", first.get(0).getNickname());
+        assertEquals("loader-member-1", second.get(0).getNickname());
+        assertTrue(last.isEmpty());
+    }
+
+    @DisplayName("없는 경로")
+    @Test
+    void findByPath_notFound() {
+        assertNull(studyRepository.findByPath("no-such-path"));
+        assertEquals(1, QueryCounter.statements.get());
+        assertEquals(0, QueryCounter.rows.get());
+    }
+
+    /**
+     * JDBC 수준에서 실행한 SELECT 문과 읽은 행 수를 센다.
+     */
+    static class QueryCounter {
+
+        static final AtomicInteger statements = new AtomicInteger();
+        static final AtomicInteger rows = new AtomicInteger();
+
+        static void reset() {
+            statements.set(0);
+            rows.set(0);
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> T proxy(T target, Class<T> type, Handler handler) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+                return handler.handle(method.getName(), result);
+            });
+        }
+
+        static Connection connection(Connection connection) {
+            return proxy(connection, Connection.class, (name, result) ->
+                    name.equals("prepareStatement") ? statement((PreparedStatement) result) : result);
+        }
+
+        static PreparedStatement statement(PreparedStatement statement) {
+            return proxy(statement, PreparedStatement.class, (name, result) -> {
+                if (name.equals("executeQuery")) {
+                    statements.incrementAndGet();
+                    return resultSet((ResultSet) result);
+                }
+                return result;
+            });
+        }
+
+        static ResultSet resultSet(ResultSet resultSet) {
+            return proxy(resultSet, ResultSet.class, (name, result) -> {
+                if (name.equals("next") && Boolean.TRUE.equals(result)) {
+                    rows.incrementAndGet();
+                }
+                return result;
+            });
+        }
+
+        interface Handler {
+            Object handle(String methodName, Object result);
+        }
+    }
+
+    @TestConfiguration
+    static class QueryCounterConfig {
+
+        @Bean
+        static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource((DataSource) bean) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return QueryCounter.connection(super.getConnection());
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 import study.studygroup.WithAccount;
@@ -22,11 +23,13 @@ import study.studygroup.settings.form.TagForm;
 import study.studygroup.settings.form.ZoneForm;
 import study.studygroup.study.form.StudyForm;
 import study.studygroup.tag.TagRepository;
+import study.studygroup.zone.ZoneRegistry;
 import study.studygroup.zone.ZoneRepository;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
@@ -44,6 +47,7 @@ public class StudySettingsControllerTest {
     @Autowired protected ObjectMapper objectMapper;
     @Autowired protected TagRepository tagRepository;
     @Autowired protected ZoneRepository zoneRepository;
+    @Autowired protected ZoneRegistry zoneRegistry;
 
     public String path = "test-study";
 
@@ -200,7 +204,7 @@ public class StudySettingsControllerTest {
                 .andExpect(view().name("study/settings/zones"))
                 .andExpect(model().attributeExists("account"))
                 .andExpect(model().attributeExists("zones"))
-                .andExpect(model().attributeExists("whitelist"))
+                .andExpect(model().attribute("whitelistUrl", zoneRegistry.getWhitelistUrl()))
                 .andExpect(model().attributeExists("study"));
     }
 
@@ -257,7 +261,7 @@ public class StudySettingsControllerTest {
                 .andExpect(view().name("study/settings/tags"))
                 .andExpect(model().attributeExists("account"))
                 .andExpect(model().attributeExists("tags"))
-                .andExpect(model().attributeExists("whitelist"))
+                .andExpect(model().attributeDoesNotExist("whitelist"))
                 .andExpect(model().attributeExists("study"));
     }
 
@@ -359,8 +363,9 @@ public class StudySettingsControllerTest {
     @WithAccount("hoseok")
     public void updateStudySettingsBanner() throws Exception {
 
-        mockMvc.perform(post("/study/"+ path +"/settings/banner")
-                .param("image", "aaaaa")
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 1, 2, 3};
+        mockMvc.perform(multipart("/study/"+ path +"/settings/banner")
+                .file(new MockMultipartFile("image", "banner.png", "image/png", png))
                 .with(csrf())
         )
                 .andExpect(status().is3xxRedirection())
@@ -368,7 +373,24 @@ public class StudySettingsControllerTest {
                 .andExpect(flash().attributeExists("message"));
 
         Study study = studyRepository.findByPath(path);
-        assertEquals(study.getImage(), "aaaaa");
+        assertTrue(study.getImageHash().matches("[0-9a-f]{64}"));
+        assertEquals(study.getImage(), "/images/" + study.getImageHash());
+    }
+
+    @Test
+    @DisplayName("스터디 배너 업데이트 - 이미지가 아닌 파일")
+    @WithAccount("hoseok")
+    public void updateStudySettingsBanner_notImage() throws Exception {
+
+        mockMvc.perform(multipart("/study/"+ path +"/settings/banner")
+                .file(new MockMultipartFile("image", "banner.png", "image/png", "aaaaa".getBytes()))
+                .with(csrf())
+        )
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attributeExists("message"));
+
+        Study study = studyRepository.findByPath(path);
+        assertNull(study.getImageHash());
 
     }
 
@@ -0,0 +1,120 @@
+package study.studygroup.study.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.studygroup.account.AccountInterestService;
+import study.studygroup.account.AccountRepository;
+import study.studygroup.account.AccountService;
+import study.studygroup.account.SignUpForm;
+import study.studygroup.domain.Account;
+import study.studygroup.domain.Notification;
+import study.studygroup.domain.Study;
+import study.studygroup.domain.Tag;
+import study.studygroup.domain.Zone;
+import study.studygroup.notification.NotificationRepository;
+import study.studygroup.notification.NotificationType;
+import study.studygroup.study.StudyRepository;
+import study.studygroup.study.StudyService;
+import study.studygroup.study.form.StudyForm;
+import study.studygroup.tag.TagRepository;
+import study.studygroup.zone.ZoneRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 알림은 커밋 이후 비동기로 나가므로 테스트 트랜잭션으로 감싸지 않고 직접 정리한다.
+ */
+@SpringBootTest
+class StudyEventListenerTest {
+
+    @Autowired AccountService accountService;
+    @Autowired AccountRepository accountRepository;
+    @Autowired AccountInterestService accountInterestService;
+    @Autowired StudyService studyService;
+    @Autowired StudyRepository studyRepository;
+    @Autowired TagRepository tagRepository;
+    @Autowired ZoneRepository zoneRepository;
+    @Autowired NotificationRepository notificationRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void afterEach() {
+        notificationRepository.deleteAll();
+        studyRepository.deleteAll();
+        accountRepository.deleteAll();
+        tagRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("스터디 공개 - 관심 태그와 지역이 모두 겹치는 계정에게만 알림")
+    public void notifyInterestedAccountsOnPublish() throws Exception {
+        Tag spring = tagRepository.save(Tag.builder().title("spring").build());
+        List<Zone> zones = zoneRepository.findAll();
+        Zone seoul = zones.get(0);
+        Zone busan = zones.get(1);
+
+        Account hoseok = createAccount("hoseok", spring, seoul);
+        Account keesun = createAccount("keesun", spring, busan);
+        Account manager = createAccount("manager", null, null);
+
+        assertArrayEquals(new int[]{hoseok.getId().intValue()},
+                accountInterestService.findInterestedAccountIds(List.of(spring.getId()), List.of(seoul.getId())).toArray());
+
+        Long studyId = transactionTemplate.execute(status -> {
+            Study study = studyService.createStudy(manager.getId(), studyForm("spring-boot"));
+            study.getTags().add(spring);
+            study.getZones().add(seoul);
+            studyService.publish(manager.getId(), study);
+            return study.getId();
+        });
+
+        List<Notification> notifications = awaitNotifications(hoseok.getId());
+        assertEquals(1, notifications.size());
+        assertEquals(NotificationType.STUDY_CREATED, notifications.get(0).getNotificationType());
+        assertEquals("/study/spring-boot", notifications.get(0).getLink());
+        assertTrue(notificationRepository.findByAccountIdAndCheckedOrderByCreatedDateTimeDesc(keesun.getId(), false).isEmpty());
+        assertNotNull(studyId);
+    }
+
+    private Account createAccount(String nickname, Tag tag, Zone zone) {
+        SignUpForm signUpForm = new SignUpForm();
+        signUpForm.setEmail(nickname + "@naver.com");
+        signUpForm.setNickname(nickname);
+        signUpForm.setPassword("12341234");
+        Account account = accountService.processNewAccount(signUpForm);
+        if (tag != null) {
+            accountService.addTag(account.getId(), tag);
+        }
+        if (zone != null) {
+            accountService.addZone(account.getId(), zone);
+        }
+        return account;
+    }
+
+    private StudyForm studyForm(String path) {
+        StudyForm studyForm = new StudyForm();
+        studyForm.setPath(path);
+        studyForm.setTitle("스프링부트 스터디");
+        studyForm.setShortDescription("스프링부트를 같이 공부해요");
+        studyForm.setFullDescription("매주 한 번 모입니다");
+        return studyForm;
+    }
+
+    private List<Notification> awaitNotifications(Long accountId) throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            List<Notification> notifications =
+                    notificationRepository.findByAccountIdAndCheckedOrderByCreatedDateTimeDesc(accountId, false);
+            if (!notifications.isEmpty()) {
+                return notifications;
+            }
+            Thread.sleep(100);
+        }
+        return List.of();
+    }
+}
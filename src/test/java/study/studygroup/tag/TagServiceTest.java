@@ -0,0 +1,85 @@
+package study.studygroup.tag;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.studygroup.domain.Tag;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 태그를 만드는 트랜잭션이 각자 커밋해야 하므로 테스트 트랜잭션으로 감싸지 않는다.
+ */
+@SpringBootTest
+class TagServiceTest {
+
+    @Autowired TagService tagService;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired TagSuggestService tagSuggestService;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("같은 태그를 동시에 만들어도 태그는 하나만 생긴다")
+    public void findOrCreateNew_concurrently() throws Exception {
+        String title = "동시성-" + System.nanoTime();
+        // 앞뒤 공백이나 NFD 로 들어온 제목도 같은 태그다.
+        List<String> inputs = List.of(title, " " + title + " ", Normalizer.normalize(title, Normalizer.Form.NFD));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Tag>> futures = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            String input = inputs.get(i % inputs.size());
+            futures.add(executor.submit(() -> {
+                start.await();
+                return tagService.findOrCreateNew(input);
+            }));
+        }
+        start.countDown();
+
+        List<Tag> tags = new ArrayList<>();
+        for (Future<Tag> future : futures) {
+            tags.add(future.get(60, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        Set<Long> ids = tags.stream().map(Tag::getId).collect(Collectors.toSet());
+        assertEquals(1, ids.size());
+        assertTrue(tags.stream().allMatch(tag -> title.equals(tag.getTitle())));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from tag where title = ?", Long.class, title));
+
+        // 커밋한 태그는 메모리에서 찾으므로 행을 지운 뒤에도 같은 id 가 나온다.
+        Long id = ids.iterator().next();
+        jdbcTemplate.update("delete from tag where id = ?", id);
+        assertEquals(id, tagService.findByTitle(title).getId());
+    }
+
+    @Test
+    @DisplayName("되돌린 트랜잭션에서 만든 태그는 자동 완성에 나오지 않는다")
+    public void findOrCreateNew_rolledBack() {
+        String title = "되돌림-" + System.nanoTime();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            tagService.findOrCreateNew(title);
+            status.setRollbackOnly();
+        });
+        assertFalse(tagSuggestService.suggest(title, 10).contains(title));
+
+        transactionTemplate.executeWithoutResult(status -> tagService.findOrCreateNew(title));
+        assertTrue(tagSuggestService.suggest(title, 10).contains(title));
+    }
+}